@@ -0,0 +1,23 @@
+package com.scholarspace.courseservice.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * Pool used to run the independent queries of aggregation endpoints in parallel.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor aggregationExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(16);
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("aggregation-");
+        executor.initialize();
+        return executor;
+    }
+}
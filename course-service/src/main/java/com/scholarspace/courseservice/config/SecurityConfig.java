@@ -42,6 +42,10 @@ public class SecurityConfig {
                 // Allow actuator health checks
                 .requestMatchers("/actuator/health").permitAll()
                 
+                // Cache evictions from other replicas, which send the shared eviction key instead of a token;
+                // the gateway does not route /internal
+                .requestMatchers(HttpMethod.POST, "/internal/cache/evict").permitAll()
+                
                 // Allow OPTIONS requests (CORS preflight)
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                 
@@ -51,6 +55,13 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.DELETE, "/api/courses/**").hasAuthority("ROLE_ADMIN")
                 .requestMatchers("/api/courses/*/activate", "/api/courses/*/deactivate").hasAuthority("ROLE_ADMIN")
                 
+                // Gradebook exports - department-wide for Admin only; course exports also for the course's instructors, checked in the controller
+                .requestMatchers(HttpMethod.GET, "/api/courses/department/*/gradebook").hasAuthority("ROLE_ADMIN")
+                .requestMatchers(HttpMethod.GET, "/api/courses/*/gradebook").hasAnyAuthority("ROLE_ADMIN", "ROLE_INSTRUCTOR")
+                
+                // Course viewing by instructor - Admin and Instructor access; must precede the generic GET rule below
+                .requestMatchers("/api/courses/instructor/**").hasAnyAuthority("ROLE_ADMIN", "ROLE_INSTRUCTOR")
+                
                 // Course viewing - Allow all authenticated users
                 .requestMatchers(HttpMethod.GET, "/api/courses/**").authenticated()
                 
@@ -58,9 +69,6 @@ public class SecurityConfig {
                 .requestMatchers("/api/instructors/*/courses/**").hasAuthority("ROLE_ADMIN")
                 .requestMatchers("/api/*/instructors/**").hasAuthority("ROLE_ADMIN")
                 
-                // Course viewing by instructor - Admin and Instructor access
-                .requestMatchers("/api/courses/instructor/**").hasAnyAuthority("ROLE_ADMIN", "ROLE_INSTRUCTOR")
-                
                 // Course content management - Instructors only
                 .requestMatchers(HttpMethod.POST, "/api/course-contents").hasAuthority("ROLE_INSTRUCTOR")
                 .requestMatchers(HttpMethod.PUT, "/api/course-contents/**").hasAuthority("ROLE_INSTRUCTOR")
@@ -87,6 +95,17 @@ public class SecurityConfig {
                 // Submission viewing - Students and Instructors
                 .requestMatchers(HttpMethod.GET, "/api/submissions/**").hasAnyAuthority("ROLE_STUDENT", "ROLE_INSTRUCTOR")
                 
+                // Attendance - Instructors record sessions, students check themselves in
+                .requestMatchers(HttpMethod.POST, "/api/attendance/course/*/sessions").hasAnyAuthority("ROLE_INSTRUCTOR", "ROLE_ADMIN")
+                .requestMatchers(HttpMethod.POST, "/api/attendance/course/*/check-in").hasAuthority("ROLE_STUDENT")
+                // A student's own records are open to that student, checked in the controller; course-wide views are for staff
+                .requestMatchers(HttpMethod.GET, "/api/attendance/student/*", "/api/attendance/course/*/student/*",
+                        "/api/attendance/course/*/rates/student/*").authenticated()
+                .requestMatchers(HttpMethod.GET, "/api/attendance/**").hasAnyAuthority("ROLE_INSTRUCTOR", "ROLE_ADMIN")
+                
+                // Student home aggregation - Students and Admin
+                .requestMatchers(HttpMethod.GET, "/api/students/*/home").hasAnyAuthority("ROLE_STUDENT", "ROLE_ADMIN")
+                
                 // Dashboard stats - Admin only
                 .requestMatchers("/api/dashboard/**").hasAuthority("ROLE_ADMIN")
                 
@@ -0,0 +1,171 @@
+package com.scholarspace.courseservice.controllers;
+
+import com.scholarspace.courseservice.dto.AttendanceRate;
+import com.scholarspace.courseservice.dto.AttendanceSessionRequest;
+import com.scholarspace.courseservice.dto.AttendanceView;
+import com.scholarspace.courseservice.dto.SessionTurnout;
+import com.scholarspace.courseservice.models.AttendanceRecord;
+import com.scholarspace.courseservice.security.CurrentUser;
+import com.scholarspace.courseservice.services.AttendanceAnalyticsService;
+import com.scholarspace.courseservice.services.AttendanceService;
+import com.scholarspace.courseservice.services.ServiceBusyException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/attendance")
+@RequiredArgsConstructor
+@Tag(name = "Attendance", description = "APIs for recording class attendance. Instructors record whole sessions and students check themselves in.")
+public class AttendanceController {
+
+    private final AttendanceService attendanceService;
+    private final AttendanceAnalyticsService attendanceAnalyticsService;
+
+    @PostMapping("/course/{courseId}/sessions")
+    @Operation(
+        summary = "Record a session",
+        description = "Records the attendance status of a whole roster for one session date in a single request. Existing records for those students on that date are replaced. The caller is recorded as the instructor who took attendance."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Session recorded successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid roster or course")
+    })
+    public ResponseEntity<?> recordSession(
+            @Parameter(description = "Course ID", example = "1")
+            @PathVariable Long courseId,
+            @RequestBody AttendanceSessionRequest request,
+            Authentication authentication) {
+        Long recordedBy = CurrentUser.userId(authentication);
+        if (recordedBy == null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Token has no user ID"));
+        }
+        try {
+            int recorded = attendanceService.recordSession(courseId, recordedBy, request);
+            return ResponseEntity.ok(Map.of("recorded", recorded));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/course/{courseId}/check-in")
+    @Operation(
+        summary = "Check in to today's session",
+        description = "Marks the calling student present for today's session. The check-in is accepted immediately and written with the next batch."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Check-in accepted"),
+        @ApiResponse(responseCode = "400", description = "Student is not enrolled in the course"),
+        @ApiResponse(responseCode = "503", description = "Check-in buffer is full, retry shortly")
+    })
+    public ResponseEntity<?> checkIn(
+            @Parameter(description = "Course ID", example = "1")
+            @PathVariable Long courseId,
+            Authentication authentication) {
+        Long studentId = CurrentUser.userId(authentication);
+        if (studentId == null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Token has no user ID"));
+        }
+        try {
+            attendanceService.checkIn(courseId, studentId);
+            return ResponseEntity.accepted().body(Map.of("message", "Check-in received"));
+        } catch (ServiceBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(Map.of("error", e.getMessage()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/course/{courseId}")
+    @Operation(summary = "Get session attendance", description = "Lists the attendance records of a course for one session date.")
+    public ResponseEntity<List<AttendanceView>> getSessionAttendance(
+            @PathVariable Long courseId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(toViews(attendanceService.getSessionAttendance(courseId, date)));
+    }
+
+    @GetMapping("/course/{courseId}/student/{studentId}")
+    @Operation(summary = "Get student attendance in a course", description = "Lists a student's attendance records in one course, most recent first. Students can read only their own.")
+    public ResponseEntity<?> getStudentCourseAttendance(
+            @PathVariable Long courseId,
+            @PathVariable Long studentId,
+            Authentication authentication) {
+        if (!canReadStudent(authentication, studentId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Access denied"));
+        }
+        return ResponseEntity.ok(toViews(attendanceService.getStudentAttendance(courseId, studentId)));
+    }
+
+    @GetMapping("/student/{studentId}")
+    @Operation(summary = "Get student attendance", description = "Lists a student's attendance records across all courses, most recent first. Students can read only their own.")
+    public ResponseEntity<?> getStudentAttendance(@PathVariable Long studentId, Authentication authentication) {
+        if (!canReadStudent(authentication, studentId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Access denied"));
+        }
+        return ResponseEntity.ok(toViews(attendanceService.getStudentAttendance(studentId)));
+    }
+
+    @GetMapping("/course/{courseId}/rates")
+    @Operation(summary = "Get attendance rates", description = "Per-student attendance rates for a course. Excused sessions do not count against the rate.")
+    public ResponseEntity<List<AttendanceRate>> getAttendanceRates(@PathVariable Long courseId) {
+        return ResponseEntity.ok(attendanceAnalyticsService.getStudentRates(courseId));
+    }
+
+    @GetMapping("/course/{courseId}/rates/student/{studentId}")
+    @Operation(summary = "Get a student's attendance rate", description = "Attendance counts and rate of one student in a course. Students can read only their own.")
+    public ResponseEntity<?> getStudentAttendanceRate(
+            @PathVariable Long courseId,
+            @PathVariable Long studentId,
+            Authentication authentication) {
+        if (!canReadStudent(authentication, studentId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Access denied"));
+        }
+        return ResponseEntity.ok(attendanceAnalyticsService.getStudentRate(courseId, studentId));
+    }
+
+    @GetMapping("/course/{courseId}/turnout")
+    @Operation(summary = "Get session turnout", description = "Present, absent and excused counts for every recorded session of a course, oldest first.")
+    public ResponseEntity<List<SessionTurnout>> getSessionTurnout(@PathVariable Long courseId) {
+        return ResponseEntity.ok(attendanceAnalyticsService.getSessionTurnout(courseId));
+    }
+
+    @GetMapping("/course/{courseId}/at-risk")
+    @Operation(summary = "Get at-risk students", description = "Students whose attendance rate is below the threshold, once they have at least minSessions counted sessions.")
+    public ResponseEntity<?> getAtRiskStudents(
+            @PathVariable Long courseId,
+            @Parameter(description = "Attendance rate below which a student is at risk", example = "0.75")
+            @RequestParam(defaultValue = "0.75") double threshold,
+            @Parameter(description = "Minimum number of present or absent sessions before a student is judged", example = "3")
+            @RequestParam(defaultValue = "3") int minSessions) {
+        if (threshold < 0 || threshold > 1 || minSessions < 0) {
+            return ResponseEntity.badRequest().body(Map.of("error", "threshold must be between 0 and 1 and minSessions non-negative"));
+        }
+        return ResponseEntity.ok(attendanceAnalyticsService.getAtRiskStudents(courseId, threshold, minSessions));
+    }
+
+    /**
+     * Instructors and admins can read any student's attendance; a student only their own.
+     */
+    private boolean canReadStudent(Authentication authentication, Long studentId) {
+        return CurrentUser.isInstructor(authentication) || CurrentUser.isSelfOrAdmin(authentication, studentId);
+    }
+
+    private List<AttendanceView> toViews(List<AttendanceRecord> records) {
+        return records.stream().map(AttendanceView::from).toList();
+    }
+}
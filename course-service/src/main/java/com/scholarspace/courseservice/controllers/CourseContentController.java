@@ -1,5 +1,6 @@
 package com.scholarspace.courseservice.controllers;
 
+import com.scholarspace.courseservice.dto.CourseContentView;
 import com.scholarspace.courseservice.models.CourseContent;
 import com.scholarspace.courseservice.models.ContentType;
 import com.scholarspace.courseservice.services.CourseContentService;
@@ -19,6 +20,7 @@ import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/course-contents")
@@ -71,20 +73,23 @@ public class CourseContentController {
         description = "Retrieves all content for a specific course."
     )
     @ApiResponse(responseCode = "200", description = "Course contents retrieved successfully")
-    public ResponseEntity<List<CourseContent>> getCourseContentsByCourse(
+    public ResponseEntity<List<CourseContentView>> getCourseContentsByCourse(
         @Parameter(description = "Course ID", example = "1")
-        @PathVariable Long courseId) {
-        return ResponseEntity.ok(courseContentService.getCourseContentsByCourse(courseId));
+        @PathVariable Long courseId,
+        @Parameter(description = "Related objects to embed, e.g. course")
+        @RequestParam(required = false) Set<String> expand) {
+        return ResponseEntity.ok(toViews(courseContentService.getCourseContentsByCourse(courseId), expand));
     }
 
     @GetMapping("/course/{courseId}/type/{contentType}")
-    public ResponseEntity<List<CourseContent>> getCourseContentsByType(
+    public ResponseEntity<List<CourseContentView>> getCourseContentsByType(
             @PathVariable Long courseId,
-            @PathVariable String contentType) {
+            @PathVariable String contentType,
+            @RequestParam(required = false) Set<String> expand) {
         
         try {
             ContentType type = ContentType.valueOf(contentType.toUpperCase());
-            return ResponseEntity.ok(courseContentService.getCourseContentsByType(courseId, type));
+            return ResponseEntity.ok(toViews(courseContentService.getCourseContentsByType(courseId, type), expand));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
@@ -143,6 +148,12 @@ public class CourseContentController {
         }
     }
 
+    private List<CourseContentView> toViews(List<CourseContent> contents, Set<String> expand) {
+        return contents.stream()
+                .map(content -> CourseContentView.from(content, expand))
+                .toList();
+    }
+
     private Long getUserIdFromAuth(Authentication authentication) {
         // Extract user ID from JWT token - this would need to be implemented
         // based on how user ID is stored in the JWT claims
@@ -3,6 +3,9 @@ package com.scholarspace.courseservice.controllers;
 import com.scholarspace.courseservice.models.Course;
 import com.scholarspace.courseservice.repositories.CourseRepository;
 import com.scholarspace.courseservice.services.CourseService;
+import com.scholarspace.courseservice.services.ExportService;
+import com.scholarspace.courseservice.services.PrerequisiteGraph;
+import com.scholarspace.courseservice.services.ServiceBusyException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,10 +14,15 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -27,6 +35,8 @@ public class CourseController {
     
     private final CourseRepository courseRepo;
     private final CourseService courseService;
+    private final ExportService exportService;
+    private final PrerequisiteGraph prerequisiteGraph;
 
     @GetMapping
     @Operation(
@@ -45,6 +55,18 @@ public class CourseController {
         return courseRepo.findAll();
     }
 
+    @GetMapping(params = "stream=true")
+    @Operation(
+        summary = "Stream all courses",
+        description = "Exports all courses as a JSON array written row by row from a database cursor, for large catalogs."
+    )
+    @ApiResponse(responseCode = "200", description = "Courses streamed successfully")
+    public void streamAllCourses(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        exportService.writeAllCourses(response.getOutputStream());
+    }
+
     @PostMapping
     @Operation(
         summary = "Create a new course",
@@ -72,6 +94,10 @@ public class CourseController {
         @ApiResponse(
             responseCode = "403", 
             description = "Access denied - Admin role required"
+        ),
+        @ApiResponse(
+            responseCode = "503", 
+            description = "Departments cannot be validated yet, retry after the given delay"
         )
     })
     public ResponseEntity<?> createCourse(
@@ -117,18 +143,64 @@ public class CourseController {
             );
             
             course.setActive(isActive);
-            courseRepo.save(course);
+            course = courseService.updateCourse(course);
             
             return ResponseEntity.ok(course);
         } catch (NumberFormatException e) {
             return ResponseEntity.badRequest().body(Map.of("error", "Invalid number format: " + e.getMessage()));
         } catch (NullPointerException e) {
             return ResponseEntity.badRequest().body(Map.of("error", "Missing required field: " + e.getMessage()));
+        } catch (ServiceBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(Map.of("error", e.getMessage()));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
 
+    @GetMapping("/search")
+    @Operation(
+        summary = "Search courses",
+        description = "Full-text search over course code, title and description, ranked by relevance. Partial words match as prefixes and every word must match."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Search results, most relevant first"),
+        @ApiResponse(responseCode = "400", description = "Invalid query")
+    })
+    public ResponseEntity<?> searchCourses(
+        @Parameter(description = "Search text", example = "intro programming")
+        @RequestParam String q,
+        @Parameter(description = "Include inactive courses")
+        @RequestParam(defaultValue = "false") boolean includeInactive,
+        @Parameter(description = "Maximum number of results")
+        @RequestParam(defaultValue = "20") int limit) {
+        if (q.isBlank() || limit < 1) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Query must not be blank and limit must be positive"));
+        }
+        return ResponseEntity.ok(courseService.searchCourses(q, includeInactive, Math.min(limit, 100)));
+    }
+
+    @GetMapping("/autocomplete")
+    @Operation(
+        summary = "Autocomplete courses",
+        description = "Suggests active courses whose code or title words start with the typed prefix, most actively enrolled first."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Suggestions, most popular first"),
+        @ApiResponse(responseCode = "400", description = "Invalid prefix or limit")
+    })
+    public ResponseEntity<?> autocompleteCourses(
+        @Parameter(description = "Typed prefix of a course code or title", example = "cs1")
+        @RequestParam String prefix,
+        @Parameter(description = "Maximum number of suggestions (up to 20)")
+        @RequestParam(defaultValue = "10") int limit) {
+        if (prefix.isBlank() || limit < 1) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Prefix must not be blank and limit must be positive"));
+        }
+        return ResponseEntity.ok(courseService.suggestCourses(prefix, limit));
+    }
+
     @GetMapping("/active")
     @Operation(
         summary = "Get active courses",
@@ -262,7 +334,7 @@ public class CourseController {
                 course.setDepartmentId(departmentId);
             }
 
-            Course updatedCourse = courseRepo.save(course);
+            Course updatedCourse = courseService.updateCourse(course);
             return ResponseEntity.ok(updatedCourse);
         } catch (NumberFormatException e) {
             return ResponseEntity.badRequest().body(Map.of("error", "Invalid number format: " + e.getMessage()));
@@ -271,6 +343,55 @@ public class CourseController {
         }
     }
 
+    @GetMapping("/{id}/prerequisites")
+    @Operation(
+        summary = "Get course prerequisites",
+        description = "Returns the course's direct prerequisites and every course in its prerequisite chain."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Prerequisites retrieved successfully"),
+        @ApiResponse(responseCode = "404", description = "Course not found")
+    })
+    public ResponseEntity<?> getPrerequisites(
+        @Parameter(description = "Course ID", example = "1")
+        @PathVariable Long id) {
+        if (!courseRepo.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(Map.of(
+                "courseId", id,
+                "prerequisites", prerequisiteGraph.getDirectPrerequisites(id),
+                "allPrerequisites", prerequisiteGraph.getAllPrerequisites(id)));
+    }
+
+    @PutMapping("/{id}/prerequisites")
+    @Operation(
+        summary = "Set course prerequisites",
+        description = "Replaces the course's direct prerequisites. Changes that would make the prerequisite chain circular are rejected."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Prerequisites updated successfully"),
+        @ApiResponse(responseCode = "400", description = "Unknown prerequisite or circular chain")
+    })
+    public ResponseEntity<?> updatePrerequisites(
+        @Parameter(description = "Course ID", example = "1")
+        @PathVariable Long id,
+        @RequestBody Map<String, List<Long>> body) {
+        List<Long> prerequisiteIds = body.get("prerequisiteIds");
+        if (prerequisiteIds == null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "prerequisiteIds is required"));
+        }
+        try {
+            courseService.updatePrerequisites(id, prerequisiteIds);
+            return ResponseEntity.ok(Map.of(
+                    "courseId", id,
+                    "prerequisites", prerequisiteGraph.getDirectPrerequisites(id),
+                    "allPrerequisites", prerequisiteGraph.getAllPrerequisites(id)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @PutMapping("/{id}/activate")
     @Operation(
         summary = "Activate course",
@@ -1,20 +1,26 @@
 package com.scholarspace.courseservice.controllers;
 
+import com.scholarspace.courseservice.dto.EnrollmentView;
 import com.scholarspace.courseservice.models.Enrollment;
 import com.scholarspace.courseservice.models.EnrollmentStatus;
 import com.scholarspace.courseservice.services.EnrollmentService;
+import com.scholarspace.courseservice.services.ExportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/enrollments")
@@ -23,6 +29,7 @@ import java.util.Optional;
 public class EnrollmentController {
     
     private final EnrollmentService enrollmentService;
+    private final ExportService exportService;
 
     @PostMapping
     @Operation(
@@ -54,23 +61,45 @@ public class EnrollmentController {
     }
 
     @GetMapping("/course/{courseId}")
-    public ResponseEntity<List<Enrollment>> getEnrollmentsByCourse(@PathVariable Long courseId) {
-        return ResponseEntity.ok(enrollmentService.getEnrollmentsByCourse(courseId));
+    public ResponseEntity<List<EnrollmentView>> getEnrollmentsByCourse(
+            @PathVariable Long courseId,
+            @RequestParam(required = false) Set<String> expand) {
+        return ResponseEntity.ok(toViews(enrollmentService.getEnrollmentsByCourse(courseId), expand));
+    }
+
+    @GetMapping(value = "/course/{courseId}", params = "stream=true")
+    @Operation(
+        summary = "Stream enrollments by course",
+        description = "Exports the course's enrollments as a JSON array written row by row from a database cursor."
+    )
+    public void streamEnrollmentsByCourse(
+            @PathVariable Long courseId,
+            @RequestParam(required = false) Set<String> expand,
+            HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        exportService.writeEnrollmentsByCourse(courseId, expand, response.getOutputStream());
     }
 
     @GetMapping("/student/{studentId}")
-    public ResponseEntity<List<Enrollment>> getEnrollmentsByStudent(@PathVariable Long studentId) {
-        return ResponseEntity.ok(enrollmentService.getEnrollmentsByStudent(studentId));
+    public ResponseEntity<List<EnrollmentView>> getEnrollmentsByStudent(
+            @PathVariable Long studentId,
+            @RequestParam(required = false) Set<String> expand) {
+        return ResponseEntity.ok(toViews(enrollmentService.getEnrollmentsByStudent(studentId), expand));
     }
 
     @GetMapping("/course/{courseId}/active")
-    public ResponseEntity<List<Enrollment>> getActiveEnrollmentsByCourse(@PathVariable Long courseId) {
-        return ResponseEntity.ok(enrollmentService.getActiveEnrollmentsByCourse(courseId));
+    public ResponseEntity<List<EnrollmentView>> getActiveEnrollmentsByCourse(
+            @PathVariable Long courseId,
+            @RequestParam(required = false) Set<String> expand) {
+        return ResponseEntity.ok(toViews(enrollmentService.getActiveEnrollmentsByCourse(courseId), expand));
     }
 
     @GetMapping("/student/{studentId}/active")
-    public ResponseEntity<List<Enrollment>> getActiveEnrollmentsByStudent(@PathVariable Long studentId) {
-        return ResponseEntity.ok(enrollmentService.getActiveEnrollmentsByStudent(studentId));
+    public ResponseEntity<List<EnrollmentView>> getActiveEnrollmentsByStudent(
+            @PathVariable Long studentId,
+            @RequestParam(required = false) Set<String> expand) {
+        return ResponseEntity.ok(toViews(enrollmentService.getActiveEnrollmentsByStudent(studentId), expand));
     }
 
     @GetMapping("/pending")
@@ -79,8 +108,9 @@ public class EnrollmentController {
         description = "Retrieves all enrollment requests that are pending approval. Only administrators can access this."
     )
     @ApiResponse(responseCode = "200", description = "Pending enrollments retrieved successfully")
-    public ResponseEntity<List<Enrollment>> getPendingEnrollments() {
-        return ResponseEntity.ok(enrollmentService.getEnrollmentsByStatus(EnrollmentStatus.PENDING));
+    public ResponseEntity<List<EnrollmentView>> getPendingEnrollments(
+            @RequestParam(required = false) Set<String> expand) {
+        return ResponseEntity.ok(toViews(enrollmentService.getEnrollmentsByStatus(EnrollmentStatus.PENDING), expand));
     }
 
     @PutMapping("/{id}/status")
@@ -140,4 +170,10 @@ public class EnrollmentController {
         enrollmentService.completeEnrollment(id, grade);
         return ResponseEntity.ok(Map.of("message", "Enrollment completed successfully"));
     }
+
+    private List<EnrollmentView> toViews(List<Enrollment> enrollments, Set<String> expand) {
+        return enrollments.stream()
+                .map(enrollment -> EnrollmentView.from(enrollment, expand))
+                .toList();
+    }
 }
\ No newline at end of file
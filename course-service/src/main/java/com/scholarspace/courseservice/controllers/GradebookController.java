@@ -0,0 +1,77 @@
+package com.scholarspace.courseservice.controllers;
+
+import com.scholarspace.courseservice.security.CurrentUser;
+import com.scholarspace.courseservice.services.GradebookExportService;
+import com.scholarspace.courseservice.services.InstructorAssignmentService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/courses")
+@RequiredArgsConstructor
+@Tag(name = "Gradebook Export", description = "CSV gradebook exports for registrars and instructors.")
+public class GradebookController {
+
+    private static final String CSV_CONTENT_TYPE = "text/csv";
+
+    private final GradebookExportService gradebookExportService;
+    private final InstructorAssignmentService instructorAssignmentService;
+
+    @GetMapping("/{courseId}/gradebook")
+    @Operation(
+        summary = "Export course gradebook",
+        description = "Streams a CSV with one row per active or completed enrollment, one column per assignment grade and the final enrollment grade. Instructors can export only the courses they are assigned to."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Gradebook streamed successfully"),
+        @ApiResponse(responseCode = "403", description = "Instructor is not assigned to the course"),
+        @ApiResponse(responseCode = "404", description = "Course not found")
+    })
+    public void exportCourseGradebook(
+            @Parameter(description = "Course ID", example = "1")
+            @PathVariable Long courseId,
+            Authentication authentication,
+            HttpServletResponse response) throws IOException {
+        if (!CurrentUser.isAdmin(authentication)
+                && !instructorAssignmentService.isInstructorAssignedToCourse(CurrentUser.userId(authentication), courseId)) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, "Access denied");
+            return;
+        }
+        if (!gradebookExportService.courseExists(courseId)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "Course not found");
+            return;
+        }
+        prepareCsv(response, "gradebook-course-" + courseId + ".csv");
+        gradebookExportService.writeCourseGradebook(courseId, response.getWriter());
+    }
+
+    @GetMapping("/department/{departmentId}/gradebook")
+    @Operation(
+        summary = "Export department gradebook",
+        description = "Streams the gradebooks of every course in the department as one CSV, one section per course, each with its own header row. Admin only."
+    )
+    @ApiResponse(responseCode = "200", description = "Gradebook streamed successfully")
+    public void exportDepartmentGradebook(
+            @Parameter(description = "Department ID", example = "1")
+            @PathVariable Long departmentId,
+            HttpServletResponse response) throws IOException {
+        prepareCsv(response, "gradebook-department-" + departmentId + ".csv");
+        gradebookExportService.writeDepartmentGradebook(departmentId, response.getWriter());
+    }
+
+    private void prepareCsv(HttpServletResponse response, String filename) {
+        response.setContentType(CSV_CONTENT_TYPE);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
+    }
+}
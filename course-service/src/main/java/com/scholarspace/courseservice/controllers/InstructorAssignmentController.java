@@ -2,10 +2,16 @@ package com.scholarspace.courseservice.controllers;
 
 import com.scholarspace.courseservice.models.CourseInstructor;
 import com.scholarspace.courseservice.models.InstructorRole;
+import com.scholarspace.courseservice.security.CurrentUser;
 import com.scholarspace.courseservice.services.InstructorAssignmentService;
+import com.scholarspace.courseservice.services.InstructorWorkbenchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -18,6 +24,7 @@ import java.util.Map;
 public class InstructorAssignmentController {
 
     private final InstructorAssignmentService instructorAssignmentService;
+    private final InstructorWorkbenchService instructorWorkbenchService;
 
     @PostMapping("/{courseId}/instructors/{instructorId}")
     public ResponseEntity<?> assignInstructorToCourse(
@@ -63,6 +70,24 @@ public class InstructorAssignmentController {
         return ResponseEntity.ok(instructorAssignmentService.getCoursesByInstructor(instructorId));
     }
 
+    @GetMapping("/courses/instructor/{instructorId}/workbench")
+    @Operation(
+        summary = "Get instructor workbench",
+        description = "Returns every course assigned to the instructor with active and pending enrollment counts, ungraded submission count and the next assignment due date."
+    )
+    @ApiResponse(responseCode = "200", description = "Workbench retrieved successfully")
+    @ApiResponse(responseCode = "403", description = "Another instructor's workbench")
+    public ResponseEntity<?> getInstructorWorkbench(@PathVariable Long instructorId, Authentication authentication) {
+        if (!CurrentUser.isSelfOrAdmin(authentication, instructorId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Access denied"));
+        }
+        try {
+            return ResponseEntity.ok(instructorWorkbenchService.getWorkbench(instructorId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @PostMapping("/instructors/{instructorId}/courses/{courseId}")
     public ResponseEntity<?> assignInstructorToCourseAlt(
             @PathVariable Long instructorId,
@@ -0,0 +1,57 @@
+package com.scholarspace.courseservice.controllers;
+
+import com.scholarspace.courseservice.security.CurrentUser;
+import com.scholarspace.courseservice.services.StudentHomeService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/students")
+@RequiredArgsConstructor
+@Tag(name = "Student Home", description = "Aggregated views that let the student pages load in a single request.")
+public class StudentHomeController {
+
+    private final StudentHomeService studentHomeService;
+
+    @GetMapping("/{studentId}/home")
+    @Operation(
+        summary = "Get student home",
+        description = "Returns the student's active enrollments with their courses, the most recent course content and upcoming assignment due dates in one response. Students can only load their own home."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Student home retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Student home could not be loaded"),
+        @ApiResponse(responseCode = "403", description = "Access denied - not the caller's own home")
+    })
+    public ResponseEntity<?> getStudentHome(
+            @Parameter(description = "Student ID", example = "1")
+            @PathVariable Long studentId,
+            @Parameter(description = "Maximum number of recent content items")
+            @RequestParam(defaultValue = "10") int recentLimit,
+            @Parameter(description = "Maximum number of upcoming assignments")
+            @RequestParam(defaultValue = "20") int upcomingLimit,
+            Authentication authentication) {
+        if (!CurrentUser.isSelfOrAdmin(authentication, studentId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Access denied"));
+        }
+        if (recentLimit < 1 || upcomingLimit < 1) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Limits must be positive"));
+        }
+        try {
+            return ResponseEntity.ok(studentHomeService.getStudentHome(
+                    studentId, Math.min(recentLimit, 100), Math.min(upcomingLimit, 100)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
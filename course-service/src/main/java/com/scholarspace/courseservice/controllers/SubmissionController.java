@@ -1,5 +1,6 @@
 package com.scholarspace.courseservice.controllers;
 
+import com.scholarspace.courseservice.dto.SubmissionView;
 import com.scholarspace.courseservice.models.Submission;
 import com.scholarspace.courseservice.services.SubmissionService;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -12,6 +13,7 @@ import org.springframework.web.multipart.MultipartFile;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/submissions")
@@ -37,18 +39,24 @@ public class SubmissionController {
     }
 
     @GetMapping("/assignment/{contentId}")
-    public ResponseEntity<List<Submission>> getSubmissionsByAssignment(@PathVariable Long contentId) {
-        return ResponseEntity.ok(submissionService.getSubmissionsByAssignment(contentId));
+    public ResponseEntity<List<SubmissionView>> getSubmissionsByAssignment(
+            @PathVariable Long contentId,
+            @RequestParam(required = false) Set<String> expand) {
+        return ResponseEntity.ok(toViews(submissionService.getSubmissionsByAssignment(contentId), expand));
     }
 
     @GetMapping("/student/{studentId}")
-    public ResponseEntity<List<Submission>> getSubmissionsByStudent(@PathVariable Long studentId) {
-        return ResponseEntity.ok(submissionService.getSubmissionsByStudent(studentId));
+    public ResponseEntity<List<SubmissionView>> getSubmissionsByStudent(
+            @PathVariable Long studentId,
+            @RequestParam(required = false) Set<String> expand) {
+        return ResponseEntity.ok(toViews(submissionService.getSubmissionsByStudent(studentId), expand));
     }
 
     @GetMapping("/course/{courseId}")
-    public ResponseEntity<List<Submission>> getSubmissionsByCourse(@PathVariable Long courseId) {
-        return ResponseEntity.ok(submissionService.getSubmissionsByCourse(courseId));
+    public ResponseEntity<List<SubmissionView>> getSubmissionsByCourse(
+            @PathVariable Long courseId,
+            @RequestParam(required = false) Set<String> expand) {
+        return ResponseEntity.ok(toViews(submissionService.getSubmissionsByCourse(courseId), expand));
     }
 
     @GetMapping("/{submissionId}")
@@ -59,8 +67,9 @@ public class SubmissionController {
     }
 
     @GetMapping("/ungraded")
-    public ResponseEntity<List<Submission>> getUngradedSubmissions() {
-        return ResponseEntity.ok(submissionService.getUngradedSubmissions());
+    public ResponseEntity<List<SubmissionView>> getUngradedSubmissions(
+            @RequestParam(required = false) Set<String> expand) {
+        return ResponseEntity.ok(toViews(submissionService.getUngradedSubmissions(), expand));
     }
 
     @PutMapping("/{submissionId}/grade")
@@ -81,6 +90,12 @@ public class SubmissionController {
         }
     }
 
+    private List<SubmissionView> toViews(List<Submission> submissions, Set<String> expand) {
+        return submissions.stream()
+                .map(submission -> SubmissionView.from(submission, expand))
+                .toList();
+    }
+
     private Long getUserIdFromAuth(Authentication authentication) {
         // Extract user ID from JWT token - placeholder implementation
         return 1L;
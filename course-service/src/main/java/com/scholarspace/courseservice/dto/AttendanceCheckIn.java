@@ -0,0 +1,10 @@
+package com.scholarspace.courseservice.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Student self check-in waiting to be written to {@code attendance_records}.
+ */
+public record AttendanceCheckIn(Long courseId, Long studentId, LocalDate sessionDate, LocalDateTime checkedInAt) {
+}
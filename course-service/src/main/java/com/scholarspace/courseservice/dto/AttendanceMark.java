@@ -0,0 +1,11 @@
+package com.scholarspace.courseservice.dto;
+
+import com.scholarspace.courseservice.models.AttendanceStatus;
+
+import java.time.LocalDate;
+
+/**
+ * One student's status for one session, as loaded into the attendance bitmaps.
+ */
+public record AttendanceMark(Long studentId, LocalDate sessionDate, AttendanceStatus status) {
+}
@@ -0,0 +1,8 @@
+package com.scholarspace.courseservice.dto;
+
+/**
+ * A student's attendance in one course. Excused sessions do not count against the
+ * rate; {@code rate} is null until the student has a present or absent session.
+ */
+public record AttendanceRate(Long studentId, int present, int absent, int excused, Double rate) {
+}
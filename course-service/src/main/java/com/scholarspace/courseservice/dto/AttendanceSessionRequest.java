@@ -0,0 +1,16 @@
+package com.scholarspace.courseservice.dto;
+
+import com.scholarspace.courseservice.models.AttendanceStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Statuses of a whole roster for one class session, recorded in a single request.
+ * The recording instructor is taken from the caller's token.
+ */
+public record AttendanceSessionRequest(LocalDate sessionDate, List<Entry> records) {
+
+    public record Entry(Long studentId, AttendanceStatus status) {
+    }
+}
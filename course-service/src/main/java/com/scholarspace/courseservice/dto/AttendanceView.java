@@ -0,0 +1,31 @@
+package com.scholarspace.courseservice.dto;
+
+import com.scholarspace.courseservice.models.AttendanceRecord;
+import com.scholarspace.courseservice.models.AttendanceStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * List representation of an attendance record; the course is referenced by id.
+ */
+public record AttendanceView(
+        Long attendanceId,
+        Long courseId,
+        Long studentId,
+        LocalDate sessionDate,
+        AttendanceStatus status,
+        Long recordedBy,
+        LocalDateTime createdAt) {
+
+    public static AttendanceView from(AttendanceRecord record) {
+        return new AttendanceView(
+                record.getAttendanceId(),
+                record.getCourse().getId(),
+                record.getStudentId(),
+                record.getSessionDate(),
+                record.getStatus(),
+                record.getRecordedBy(),
+                record.getCreatedAt());
+    }
+}
@@ -0,0 +1,18 @@
+package com.scholarspace.courseservice.dto;
+
+import com.scholarspace.courseservice.models.ContentType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Column projection of a course content row; selected directly by JPQL constructor
+ * expressions so the owning course entity is never loaded.
+ */
+public record ContentSummary(
+        Long contentId,
+        Long courseId,
+        String title,
+        ContentType contentType,
+        LocalDateTime publishedAt,
+        LocalDateTime dueDate) {
+}
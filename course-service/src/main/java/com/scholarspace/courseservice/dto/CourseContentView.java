@@ -0,0 +1,41 @@
+package com.scholarspace.courseservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.scholarspace.courseservice.models.ContentType;
+import com.scholarspace.courseservice.models.CourseContent;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * List representation of course content. The course is referenced by id and only
+ * embedded when the caller asks for {@code ?expand=course}.
+ */
+public record CourseContentView(
+        Long contentId,
+        Long courseId,
+        String title,
+        String description,
+        ContentType contentType,
+        String filePath,
+        String fileType,
+        LocalDateTime publishedAt,
+        LocalDateTime dueDate,
+        Long createdBy,
+        @JsonInclude(JsonInclude.Include.NON_NULL) CourseSummary course) {
+
+    public static CourseContentView from(CourseContent content, Set<String> expand) {
+        return new CourseContentView(
+                content.getContentId(),
+                content.getCourse().getId(),
+                content.getTitle(),
+                content.getDescription(),
+                content.getContentType(),
+                content.getFilePath(),
+                content.getFileType(),
+                content.getPublishedAt(),
+                content.getDueDate(),
+                content.getCreatedBy(),
+                Expand.has(expand, Expand.COURSE) ? CourseSummary.from(content.getCourse()) : null);
+    }
+}
@@ -0,0 +1,7 @@
+package com.scholarspace.courseservice.dto;
+
+/**
+ * Row of a per-course {@code COUNT(...) GROUP BY course} aggregate.
+ */
+public record CourseCount(Long courseId, Long count) {
+}
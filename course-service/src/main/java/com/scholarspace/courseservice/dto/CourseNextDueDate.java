@@ -0,0 +1,9 @@
+package com.scholarspace.courseservice.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row of a per-course {@code MIN(due_date)} aggregate.
+ */
+public record CourseNextDueDate(Long courseId, LocalDateTime nextDueDate) {
+}
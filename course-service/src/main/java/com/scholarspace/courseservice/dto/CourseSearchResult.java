@@ -0,0 +1,7 @@
+package com.scholarspace.courseservice.dto;
+
+/**
+ * Course search hit with its BM25 relevance score; higher is more relevant.
+ */
+public record CourseSearchResult(CourseSummary course, double score) {
+}
@@ -0,0 +1,9 @@
+package com.scholarspace.courseservice.dto;
+
+import com.scholarspace.courseservice.models.EnrollmentStatus;
+
+/**
+ * Row of a per-course, per-status enrollment count aggregate.
+ */
+public record CourseStatusCount(Long courseId, EnrollmentStatus status, Long count) {
+}
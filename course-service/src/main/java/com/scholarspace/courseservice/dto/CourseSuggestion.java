@@ -0,0 +1,7 @@
+package com.scholarspace.courseservice.dto;
+
+/**
+ * Autocomplete suggestion for a course, with the active enrollment count it is ranked by.
+ */
+public record CourseSuggestion(Long id, String code, String title, long activeEnrollments) {
+}
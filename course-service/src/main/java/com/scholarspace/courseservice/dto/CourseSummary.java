@@ -0,0 +1,38 @@
+package com.scholarspace.courseservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.scholarspace.courseservice.models.Course;
+
+/**
+ * Flat view of a course for composite responses, without prerequisites or audit fields.
+ */
+public record CourseSummary(
+        Long id,
+        String code,
+        String title,
+        Integer creditHours,
+        String semester,
+        String academicYear,
+        Long departmentId,
+        boolean isActive) {
+
+    public static CourseSummary from(Course course) {
+        return new CourseSummary(
+                course.getId(),
+                course.getCode(),
+                course.getTitle(),
+                course.getCreditHours(),
+                course.getSemester(),
+                course.getAcademicYear(),
+                course.getDepartmentId(),
+                course.isActive());
+    }
+
+    /**
+     * Same as {@link #id()}; the Course entity serializes its id under both names and clients read either.
+     */
+    @JsonProperty("courseId")
+    public Long courseId() {
+        return id;
+    }
+}
@@ -0,0 +1,33 @@
+package com.scholarspace.courseservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.scholarspace.courseservice.models.Enrollment;
+import com.scholarspace.courseservice.models.EnrollmentStatus;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * List representation of an enrollment. The course is referenced by id and only
+ * embedded when the caller asks for {@code ?expand=course}.
+ */
+public record EnrollmentView(
+        Long enrollmentId,
+        Long courseId,
+        Long studentId,
+        LocalDateTime enrollmentDate,
+        EnrollmentStatus status,
+        String grade,
+        @JsonInclude(JsonInclude.Include.NON_NULL) CourseSummary course) {
+
+    public static EnrollmentView from(Enrollment enrollment, Set<String> expand) {
+        return new EnrollmentView(
+                enrollment.getEnrollmentId(),
+                enrollment.getCourse().getId(),
+                enrollment.getStudentId(),
+                enrollment.getEnrollmentDate(),
+                enrollment.getStatus(),
+                enrollment.getGrade(),
+                Expand.has(expand, Expand.COURSE) ? CourseSummary.from(enrollment.getCourse()) : null);
+    }
+}
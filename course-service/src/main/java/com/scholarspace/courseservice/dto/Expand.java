@@ -0,0 +1,19 @@
+package com.scholarspace.courseservice.dto;
+
+import java.util.Set;
+
+/**
+ * Values accepted by the {@code expand} request parameter of list endpoints.
+ */
+public final class Expand {
+
+    public static final String COURSE = "course";
+    public static final String ASSIGNMENT = "assignment";
+
+    private Expand() {
+    }
+
+    public static boolean has(Set<String> expand, String relation) {
+        return expand != null && expand.contains(relation);
+    }
+}
@@ -0,0 +1,7 @@
+package com.scholarspace.courseservice.dto;
+
+/**
+ * Assignment column of a gradebook export.
+ */
+public record GradebookColumn(Long contentId, Long courseId, String title) {
+}
@@ -0,0 +1,21 @@
+package com.scholarspace.courseservice.dto;
+
+import com.scholarspace.courseservice.models.InstructorRole;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Per-course counters for every course an instructor is assigned to.
+ */
+public record InstructorWorkbenchResponse(Long instructorId, List<CourseCounters> courses) {
+
+    public record CourseCounters(
+            CourseSummary course,
+            InstructorRole role,
+            long activeEnrollments,
+            long pendingEnrollments,
+            long ungradedSubmissions,
+            LocalDateTime nextDueDate) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.scholarspace.courseservice.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Attendance counts for one session of a course; excused students are left out of the turnout.
+ */
+public record SessionTurnout(LocalDate sessionDate, int present, int absent, int excused, Double turnout) {
+}
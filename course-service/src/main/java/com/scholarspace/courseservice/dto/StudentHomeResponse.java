@@ -0,0 +1,33 @@
+package com.scholarspace.courseservice.dto;
+
+import com.scholarspace.courseservice.models.EnrollmentStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Everything the student home page needs in a single response.
+ */
+public record StudentHomeResponse(
+        Long studentId,
+        List<EnrollmentItem> enrollments,
+        List<ContentSummary> recentContent,
+        List<UpcomingAssignment> upcomingAssignments) {
+
+    public record EnrollmentItem(
+            Long enrollmentId,
+            EnrollmentStatus status,
+            LocalDateTime enrollmentDate,
+            String grade,
+            CourseSummary course) {
+    }
+
+    public record UpcomingAssignment(
+            Long contentId,
+            Long courseId,
+            String courseCode,
+            String title,
+            LocalDateTime dueDate,
+            boolean submitted) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.scholarspace.courseservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.scholarspace.courseservice.models.CourseContent;
+import com.scholarspace.courseservice.models.Submission;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * List representation of a submission. The assignment and its course are referenced
+ * by id; {@code ?expand=assignment} and {@code ?expand=course} embed them.
+ */
+public record SubmissionView(
+        Long submissionId,
+        Long contentId,
+        Long courseId,
+        Long studentId,
+        LocalDateTime submissionDate,
+        String filePath,
+        Double grade,
+        String feedback,
+        Long gradedBy,
+        LocalDateTime gradedAt,
+        @JsonInclude(JsonInclude.Include.NON_NULL) ContentSummary assignment,
+        @JsonInclude(JsonInclude.Include.NON_NULL) CourseSummary course) {
+
+    public static SubmissionView from(Submission submission, Set<String> expand) {
+        CourseContent assignment = submission.getAssignment();
+        return new SubmissionView(
+                submission.getSubmissionId(),
+                assignment.getContentId(),
+                assignment.getCourse().getId(),
+                submission.getStudentId(),
+                submission.getSubmissionDate(),
+                submission.getFilePath(),
+                submission.getGrade(),
+                submission.getFeedback(),
+                submission.getGradedBy(),
+                submission.getGradedAt(),
+                Expand.has(expand, Expand.ASSIGNMENT)
+                        ? new ContentSummary(assignment.getContentId(), assignment.getCourse().getId(),
+                                assignment.getTitle(), assignment.getContentType(),
+                                assignment.getPublishedAt(), assignment.getDueDate())
+                        : null,
+                Expand.has(expand, Expand.COURSE) ? CourseSummary.from(assignment.getCourse()) : null);
+    }
+}
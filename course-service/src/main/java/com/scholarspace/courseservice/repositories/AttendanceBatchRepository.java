@@ -0,0 +1,73 @@
+package com.scholarspace.courseservice.repositories;
+
+import com.scholarspace.courseservice.dto.AttendanceCheckIn;
+import com.scholarspace.courseservice.dto.AttendanceSessionRequest;
+import com.scholarspace.courseservice.models.AttendanceStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC batch writes for attendance. AttendanceRecord uses IDENTITY ids, which keeps
+ * Hibernate from batching inserts, so bulk writes go through JdbcTemplate instead:
+ * one round trip per batch rather than one per row.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AttendanceBatchRepository {
+
+    private static final String INSERT_RECORD =
+            "INSERT INTO attendance_records (course_id, student_id, session_date, status, recorded_by, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    // A student already marked for the session (by an instructor or an earlier check-in) keeps that record
+    private static final String INSERT_CHECK_IN =
+            "INSERT INTO attendance_records (course_id, student_id, session_date, status, recorded_by, created_at) " +
+            "SELECT ?, ?, ?, ?, ?, ? WHERE NOT EXISTS (" +
+            "SELECT 1 FROM attendance_records WHERE course_id = ? AND student_id = ? AND session_date = ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertSessionRecords(Long courseId, LocalDate sessionDate, Long recordedBy,
+                                     List<AttendanceSessionRequest.Entry> entries) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.batchUpdate(INSERT_RECORD, entries, entries.size(), (ps, entry) -> {
+            ps.setLong(1, courseId);
+            ps.setLong(2, entry.studentId());
+            ps.setObject(3, sessionDate);
+            ps.setString(4, entry.status().name());
+            ps.setLong(5, recordedBy);
+            ps.setObject(6, now);
+        });
+    }
+
+    /**
+     * Returns, per check-in and in order, whether a row was inserted.
+     */
+    public boolean[] insertCheckIns(List<AttendanceCheckIn> checkIns) {
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_CHECK_IN, checkIns, checkIns.size(), (ps, checkIn) -> {
+            ps.setLong(1, checkIn.courseId());
+            ps.setLong(2, checkIn.studentId());
+            ps.setObject(3, checkIn.sessionDate());
+            ps.setString(4, AttendanceStatus.PRESENT.name());
+            ps.setLong(5, checkIn.studentId());
+            ps.setObject(6, checkIn.checkedInAt());
+            ps.setLong(7, checkIn.courseId());
+            ps.setLong(8, checkIn.studentId());
+            ps.setObject(9, checkIn.sessionDate());
+        });
+        boolean[] inserted = new boolean[checkIns.size()];
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                // Drivers that cannot report a count return SUCCESS_NO_INFO; treat it as inserted
+                inserted[index++] = count != 0;
+            }
+        }
+        return inserted;
+    }
+}
@@ -0,0 +1,38 @@
+package com.scholarspace.courseservice.repositories;
+
+import com.scholarspace.courseservice.dto.AttendanceMark;
+import com.scholarspace.courseservice.models.AttendanceRecord;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface AttendanceRecordRepository extends JpaRepository<AttendanceRecord, Long> {
+    
+    @EntityGraph(attributePaths = "course")
+    List<AttendanceRecord> findByCourse_IdAndSessionDateOrderByStudentId(Long courseId, LocalDate sessionDate);
+    
+    @EntityGraph(attributePaths = "course")
+    List<AttendanceRecord> findByCourse_IdAndStudentIdOrderBySessionDateDesc(Long courseId, Long studentId);
+    
+    @EntityGraph(attributePaths = "course")
+    List<AttendanceRecord> findByStudentIdOrderBySessionDateDesc(Long studentId);
+    
+    @Query("SELECT new com.scholarspace.courseservice.dto.AttendanceMark(a.studentId, a.sessionDate, a.status) " +
+           "FROM AttendanceRecord a WHERE a.course.id = :courseId")
+    List<AttendanceMark> findMarksByCourseId(@Param("courseId") Long courseId);
+    
+    @Modifying
+    @Query("DELETE FROM AttendanceRecord a WHERE a.course.id = :courseId AND a.sessionDate = :sessionDate " +
+           "AND a.studentId IN :studentIds")
+    int deleteSessionRecords(@Param("courseId") Long courseId,
+                             @Param("sessionDate") LocalDate sessionDate,
+                             @Param("studentIds") Collection<Long> studentIds);
+}
@@ -1,20 +1,58 @@
 package com.scholarspace.courseservice.repositories;
 
+import com.scholarspace.courseservice.dto.ContentSummary;
+import com.scholarspace.courseservice.dto.CourseNextDueDate;
+import com.scholarspace.courseservice.dto.GradebookColumn;
 import com.scholarspace.courseservice.models.CourseContent;
 import com.scholarspace.courseservice.models.ContentType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CourseContentRepository extends JpaRepository<CourseContent, Long> {
     
+    @EntityGraph(attributePaths = "course")
     List<CourseContent> findByCourse_Id(Long courseId);
     
+    @EntityGraph(attributePaths = "course")
     List<CourseContent> findByCourse_IdAndContentType(Long courseId, ContentType contentType);
     
+    @EntityGraph(attributePaths = "course")
     List<CourseContent> findByCreatedBy(Long createdBy);
     
+    @EntityGraph(attributePaths = "course")
     List<CourseContent> findByCourse_IdOrderByCreatedAtDesc(Long courseId);
-}
\ No newline at end of file
+    
+    @Query("SELECT new com.scholarspace.courseservice.dto.ContentSummary(c.contentId, c.course.id, c.title, c.contentType, c.publishedAt, c.dueDate) " +
+           "FROM CourseContent c WHERE c.course.id IN :courseIds ORDER BY c.publishedAt DESC")
+    List<ContentSummary> findRecentSummariesByCourseIds(@Param("courseIds") Collection<Long> courseIds, Pageable pageable);
+    
+    @Query("SELECT new com.scholarspace.courseservice.dto.ContentSummary(c.contentId, c.course.id, c.title, c.contentType, c.publishedAt, c.dueDate) " +
+           "FROM CourseContent c WHERE c.course.id IN :courseIds AND c.contentType = :contentType AND c.dueDate > :after " +
+           "ORDER BY c.dueDate ASC")
+    List<ContentSummary> findDueSummariesByCourseIds(@Param("courseIds") Collection<Long> courseIds,
+                                                     @Param("contentType") ContentType contentType,
+                                                     @Param("after") LocalDateTime after,
+                                                     Pageable pageable);
+    
+    @Query("SELECT new com.scholarspace.courseservice.dto.CourseNextDueDate(c.course.id, MIN(c.dueDate)) " +
+           "FROM CourseContent c WHERE c.course.id IN :courseIds AND c.contentType = :contentType AND c.dueDate > :after " +
+           "GROUP BY c.course.id")
+    List<CourseNextDueDate> findNextDueDateByCourseIds(@Param("courseIds") Collection<Long> courseIds,
+                                                       @Param("contentType") ContentType contentType,
+                                                       @Param("after") LocalDateTime after);
+    
+    @Query("SELECT new com.scholarspace.courseservice.dto.GradebookColumn(c.contentId, c.course.id, c.title) " +
+           "FROM CourseContent c WHERE c.course.id IN :courseIds AND c.contentType = :contentType " +
+           "ORDER BY c.course.id, c.dueDate, c.contentId")
+    List<GradebookColumn> findGradebookColumns(@Param("courseIds") Collection<Long> courseIds,
+                                               @Param("contentType") ContentType contentType);
+}
@@ -1,7 +1,10 @@
 package com.scholarspace.courseservice.repositories;
 
 import com.scholarspace.courseservice.models.CourseInstructor;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,11 +13,19 @@ import java.util.Optional;
 @Repository
 public interface CourseInstructorRepository extends JpaRepository<CourseInstructor, Long> {
     
+    @EntityGraph(attributePaths = "course")
     List<CourseInstructor> findByCourse_Id(Long courseId);
     
+    @EntityGraph(attributePaths = "course")
     List<CourseInstructor> findByInstructorId(Long instructorId);
     
+    @EntityGraph(attributePaths = "course")
     Optional<CourseInstructor> findByCourse_IdAndInstructorId(Long courseId, Long instructorId);
     
+    boolean existsByCourse_IdAndInstructorId(Long courseId, Long instructorId);
+    
     void deleteByCourse_IdAndInstructorId(Long courseId, Long instructorId);
+    
+    @Query("SELECT ci FROM CourseInstructor ci JOIN FETCH ci.course WHERE ci.instructorId = :instructorId")
+    List<CourseInstructor> findWithCourseByInstructorId(@Param("instructorId") Long instructorId);
 }
\ No newline at end of file
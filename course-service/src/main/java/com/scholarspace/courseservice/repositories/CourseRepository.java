@@ -1,25 +1,42 @@
 package com.scholarspace.courseservice.repositories;
 
 import com.scholarspace.courseservice.models.Course;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long> {
     
+    // Cached query results are dropped whenever courses change, here or on another replica
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Course> findByCode(String code);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Course> findByIsActiveTrue();
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Course> findByDepartmentId(Long departmentId);
     
+    // Forward-only cursor for exports; must be consumed inside a read-only transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT c FROM Course c ORDER BY c.id")
+    Stream<Course> streamAll();
+    
+    // (course_id, prerequisite_id) pairs for the in-memory prerequisite graph
+    @Query(value = "SELECT course_id, prerequisite_id FROM course_prerequisites", nativeQuery = true)
+    List<Object[]> findAllPrerequisiteEdges();
+    
     @Modifying
     @Transactional
     @Query(value = "DELETE FROM course_prerequisites WHERE prerequisite_id = :courseId", nativeQuery = true)
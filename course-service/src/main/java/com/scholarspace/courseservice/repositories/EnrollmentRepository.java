@@ -1,25 +1,102 @@
 package com.scholarspace.courseservice.repositories;
 
+import com.scholarspace.courseservice.dto.CourseCount;
+import com.scholarspace.courseservice.dto.CourseStatusCount;
 import com.scholarspace.courseservice.models.Enrollment;
 import com.scholarspace.courseservice.models.EnrollmentStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
     
+    // Enrollment.course is eagerly fetched; list methods load it in the same select
+    // through an entity graph instead of one extra select per course.
+    
+    @Override
+    @EntityGraph(attributePaths = "course")
+    List<Enrollment> findAll();
+    
+    @EntityGraph(attributePaths = "course")
     List<Enrollment> findByCourse_Id(Long courseId);
     
+    @EntityGraph(attributePaths = "course")
     List<Enrollment> findByStudentId(Long studentId);
     
+    @EntityGraph(attributePaths = "course")
     List<Enrollment> findByCourse_IdAndStatus(Long courseId, EnrollmentStatus status);
     
+    @EntityGraph(attributePaths = "course")
     List<Enrollment> findByStudentIdAndStatus(Long studentId, EnrollmentStatus status);
     
+    @EntityGraph(attributePaths = "course")
     List<Enrollment> findByStatus(EnrollmentStatus status);
     
+    @EntityGraph(attributePaths = "course")
     Optional<Enrollment> findByCourse_IdAndStudentId(Long courseId, Long studentId);
-}
\ No newline at end of file
+    
+    boolean existsByCourse_IdAndStudentIdAndStatus(Long courseId, Long studentId, EnrollmentStatus status);
+    
+    @Query("SELECT e.studentId FROM Enrollment e WHERE e.course.id = :courseId AND e.status = :status")
+    List<Long> findStudentIdsByCourseIdAndStatus(@Param("courseId") Long courseId, @Param("status") EnrollmentStatus status);
+    
+    @Query("SELECT new com.scholarspace.courseservice.dto.CourseCount(e.course.id, COUNT(e)) " +
+           "FROM Enrollment e WHERE e.status = :status GROUP BY e.course.id")
+    List<CourseCount> countByStatusGroupByCourse(@Param("status") EnrollmentStatus status);
+    
+    @Query("SELECT e.course.id FROM Enrollment e WHERE e.studentId = :studentId AND e.status = :status")
+    List<Long> findCourseIdsByStudentIdAndStatus(@Param("studentId") Long studentId,
+                                                 @Param("status") EnrollmentStatus status);
+    
+    // Forward-only cursor for exports; must be consumed inside a read-only transaction
+    @EntityGraph(attributePaths = "course")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT e FROM Enrollment e WHERE e.course.id = :courseId ORDER BY e.enrollmentId")
+    Stream<Enrollment> streamByCourseId(@Param("courseId") Long courseId);
+    
+    // Gradebook cursors: one row per (enrollment, submission) with columns
+    // course_id, student_id, status, final grade, content_id, submission grade.
+    // Enrollments without submissions come back once with null submission columns.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(value = "SELECT e.course_id, e.student_id, e.status, e.grade, s.content_id, s.grade " +
+                   "FROM enrollments e " +
+                   "LEFT JOIN (submissions s JOIN course_contents cc " +
+                   "ON cc.content_id = s.content_id AND cc.content_type = 'ASSIGNMENT') " +
+                   "ON cc.course_id = e.course_id AND s.student_id = e.student_id " +
+                   "WHERE e.course_id = :courseId AND e.status IN ('ACTIVE', 'COMPLETED') " +
+                   "ORDER BY e.student_id",
+           nativeQuery = true)
+    Stream<Object[]> streamGradebookRowsByCourseId(@Param("courseId") Long courseId);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(value = "SELECT e.course_id, e.student_id, e.status, e.grade, s.content_id, s.grade " +
+                   "FROM enrollments e " +
+                   "JOIN courses c ON c.course_id = e.course_id " +
+                   "LEFT JOIN (submissions s JOIN course_contents cc " +
+                   "ON cc.content_id = s.content_id AND cc.content_type = 'ASSIGNMENT') " +
+                   "ON cc.course_id = e.course_id AND s.student_id = e.student_id " +
+                   "WHERE c.department_id = :departmentId AND e.status IN ('ACTIVE', 'COMPLETED') " +
+                   "ORDER BY e.course_id, e.student_id",
+           nativeQuery = true)
+    Stream<Object[]> streamGradebookRowsByDepartmentId(@Param("departmentId") Long departmentId);
+    
+    @Query("SELECT e FROM Enrollment e JOIN FETCH e.course WHERE e.studentId = :studentId AND e.status = :status")
+    List<Enrollment> findWithCourseByStudentIdAndStatus(@Param("studentId") Long studentId,
+                                                        @Param("status") EnrollmentStatus status);
+    
+    @Query("SELECT new com.scholarspace.courseservice.dto.CourseStatusCount(e.course.id, e.status, COUNT(e)) " +
+           "FROM Enrollment e WHERE e.course.id IN :courseIds AND e.status IN :statuses GROUP BY e.course.id, e.status")
+    List<CourseStatusCount> countByCourseIdsAndStatuses(@Param("courseIds") Collection<Long> courseIds,
+                                                        @Param("statuses") Collection<EnrollmentStatus> statuses);
+}
@@ -1,22 +1,41 @@
 package com.scholarspace.courseservice.repositories;
 
+import com.scholarspace.courseservice.dto.CourseCount;
 import com.scholarspace.courseservice.models.Submission;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface SubmissionRepository extends JpaRepository<Submission, Long> {
     
+    @EntityGraph(attributePaths = {"assignment", "assignment.course"})
     List<Submission> findByAssignment_ContentId(Long contentId);
     
+    @EntityGraph(attributePaths = {"assignment", "assignment.course"})
     List<Submission> findByStudentId(Long studentId);
     
+    @EntityGraph(attributePaths = {"assignment", "assignment.course"})
     Optional<Submission> findByAssignment_ContentIdAndStudentId(Long contentId, Long studentId);
     
+    boolean existsByAssignment_ContentIdAndStudentId(Long contentId, Long studentId);
+    
+    @EntityGraph(attributePaths = {"assignment", "assignment.course"})
     List<Submission> findByAssignment_Course_Id(Long courseId);
     
+    @EntityGraph(attributePaths = {"assignment", "assignment.course"})
     List<Submission> findByGradedByIsNull();
-}
\ No newline at end of file
+    
+    @Query("SELECT s.assignment.contentId FROM Submission s WHERE s.studentId = :studentId AND s.assignment.course.id IN :courseIds")
+    List<Long> findSubmittedContentIds(@Param("studentId") Long studentId, @Param("courseIds") Collection<Long> courseIds);
+    
+    @Query("SELECT new com.scholarspace.courseservice.dto.CourseCount(s.assignment.course.id, COUNT(s)) " +
+           "FROM Submission s WHERE s.assignment.course.id IN :courseIds AND s.gradedBy IS NULL GROUP BY s.assignment.course.id")
+    List<CourseCount> countUngradedByCourseIds(@Param("courseIds") Collection<Long> courseIds);
+}
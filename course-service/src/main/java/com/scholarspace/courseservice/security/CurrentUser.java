@@ -0,0 +1,42 @@
+package com.scholarspace.courseservice.security;
+
+import org.springframework.security.core.Authentication;
+
+/**
+ * Reads the caller's identity from the authentication set up by {@link JwtFilter}.
+ */
+public final class CurrentUser {
+
+    private CurrentUser() {
+    }
+
+    /**
+     * The {@code userId} claim of the caller's token, or null if it has none.
+     */
+    public static Long userId(Authentication authentication) {
+        if (authentication != null && authentication.getDetails() instanceof Long userId) {
+            return userId;
+        }
+        return null;
+    }
+
+    public static boolean isAdmin(Authentication authentication) {
+        return hasRole(authentication, "ROLE_ADMIN");
+    }
+
+    public static boolean isInstructor(Authentication authentication) {
+        return hasRole(authentication, "ROLE_INSTRUCTOR");
+    }
+
+    /**
+     * Whether the caller is an admin or the user with the given id.
+     */
+    public static boolean isSelfOrAdmin(Authentication authentication, Long userId) {
+        return isAdmin(authentication) || (userId != null && userId.equals(userId(authentication)));
+    }
+
+    private static boolean hasRole(Authentication authentication, String role) {
+        return authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(authority -> role.equals(authority.getAuthority()));
+    }
+}
@@ -24,6 +24,7 @@ import java.util.Collections;
 public class JwtFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
+    private final TokenRevocationSync tokenRevocationSync;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -35,7 +36,8 @@ public class JwtFilter extends OncePerRequestFilter {
             String token = authHeader.substring(7);
             
             try {
-                if (jwtService.validateToken(token)) {
+                if (jwtService.validateToken(token) && !jwtService.extractClaim(token, claims -> tokenRevocationSync.isRevoked(
+                        claims.get("userId", Long.class), claims.getId(), claims.getIssuedAt()))) {
                     String username = jwtService.extractUsername(token);
                     String role = jwtService.extractRole(token);
                     
@@ -46,6 +48,8 @@ public class JwtFilter extends OncePerRequestFilter {
                         
                         UsernamePasswordAuthenticationToken authToken = 
                                 new UsernamePasswordAuthenticationToken(username, null, authorities);
+                        // Controllers read the caller's id from here, see CurrentUser
+                        authToken.setDetails(jwtService.extractUserId(token));
                         SecurityContextHolder.getContext().setAuthentication(authToken);
                         
                         log.debug("Authentication successful for user: {} with role: {}", username, role);
@@ -0,0 +1,129 @@
+package com.scholarspace.courseservice.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable set of revoked users and tokens, fronted by a Bloom filter so that the
+ * common case, a token nobody revoked, is answered from a few bit lookups. A user
+ * revocation rejects every token issued to the user up to the moment it was revoked;
+ * a token revocation rejects one token by its id. Entries are dropped once every token
+ * they could match has expired.
+ */
+public final class TokenRevocationSet {
+
+    public static final TokenRevocationSet EMPTY = new TokenRevocationSet(0, Map.of());
+
+    private static final int HASHES = 7;
+    private static final int BITS_PER_ENTRY = 10;  // About 1% false positives with 7 hashes
+
+    private final long version;
+    private final Map<String, Revocation> revocations;
+    private final long[] bits;
+    private final int bitCount;
+
+    private TokenRevocationSet(long version, Map<String, Revocation> revocations) {
+        this.version = version;
+        this.revocations = revocations;
+        this.bitCount = Math.max(64, revocations.size() * BITS_PER_ENTRY);
+        this.bits = new long[(bitCount + 63) / 64];
+        for (String key : revocations.keySet()) {
+            long hash = hash(key);
+            for (int i = 0; i < HASHES; i++) {
+                int bit = bitIndex(hash, i);
+                bits[bit >>> 6] |= 1L << bit;
+            }
+        }
+    }
+
+    /**
+     * The highest revocation version this set includes.
+     */
+    public long version() {
+        return version;
+    }
+
+    public int size() {
+        return revocations.size();
+    }
+
+    /**
+     * Whether a token with these claims has been revoked, either on its own or because its
+     * user was revoked after it was issued.
+     */
+    public boolean isRevoked(Long userId, String tokenId, Date issuedAt) {
+        if (userId != null) {
+            Revocation user = find(Revocation.USER + ":" + userId);
+            if (user != null && (issuedAt == null || issuedAt.getTime() <= user.revokedAt())) {
+                return true;
+            }
+        }
+        return tokenId != null && find(Revocation.TOKEN + ":" + tokenId) != null;
+    }
+
+    /**
+     * A new set with the given revocations added and expired ones removed.
+     */
+    public TokenRevocationSet with(long newVersion, Collection<Revocation> added) {
+        long now = System.currentTimeMillis();
+        Map<String, Revocation> merged = new HashMap<>(revocations.size() + added.size());
+        for (Map.Entry<String, Revocation> entry : revocations.entrySet()) {
+            if (entry.getValue().expiresAt() > now) {
+                merged.put(entry.getKey(), entry.getValue());
+            }
+        }
+        for (Revocation revocation : added) {
+            if (revocation.expiresAt() > now) {
+                merged.merge(revocation.type() + ":" + revocation.id(), revocation, Revocation::latest);
+            }
+        }
+        return new TokenRevocationSet(Math.max(version, newVersion), merged);
+    }
+
+    private Revocation find(String key) {
+        long hash = hash(key);
+        for (int i = 0; i < HASHES; i++) {
+            int bit = bitIndex(hash, i);
+            if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+                return null;
+            }
+        }
+        return revocations.get(key);
+    }
+
+    private int bitIndex(long hash, int i) {
+        // Double hashing: the two halves of one 64-bit hash stand in for k independent hashes
+        int combined = (int) hash + i * (int) (hash >>> 32);
+        return Math.floorMod(combined, bitCount);
+    }
+
+    private static long hash(String key) {
+        // FNV-1a followed by a 64-bit finalizer to spread short, similar keys
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * One revoked user or token. Times are epoch milliseconds.
+     */
+    public record Revocation(String type, String id, long revokedAt, long expiresAt) {
+
+        public static final String USER = "USER";
+        public static final String TOKEN = "TOKEN";
+
+        static Revocation latest(Revocation a, Revocation b) {
+            return new Revocation(a.type(), a.id(), Math.max(a.revokedAt(), b.revokedAt()),
+                    Math.max(a.expiresAt(), b.expiresAt()));
+        }
+    }
+}
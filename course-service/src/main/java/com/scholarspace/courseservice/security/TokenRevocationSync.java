@@ -0,0 +1,70 @@
+package com.scholarspace.courseservice.security;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local copy of the users and tokens revoked in user-service, so {@link JwtFilter} can
+ * reject them without a remote call. The copy is kept current by pulling the changes
+ * above the version already held. If user-service cannot be reached the last copy stays
+ * in use, so a revocation can take up to one poll interval, or longer during an outage,
+ * to take effect here. Until the first pull succeeds every token is treated as revoked,
+ * since an empty copy would accept tokens revoked before this instance started.
+ */
+@Component
+@Slf4j
+public class TokenRevocationSync {
+
+    private final RestTemplate restTemplate;
+    private final String revocationsUrl;
+    private volatile TokenRevocationSet revocations = TokenRevocationSet.EMPTY;
+    private volatile boolean synced;
+    private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "token-revocation-sync");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public TokenRevocationSync(RestTemplate restTemplate,
+                               @Value("${app.revocations.url:http://user-service/internal/revocations}") String revocationsUrl,
+                               @Value("${app.revocations.poll-seconds:10}") long pollSeconds) {
+        this.restTemplate = restTemplate;
+        this.revocationsUrl = revocationsUrl;
+        poller.scheduleWithFixedDelay(this::pullQuietly, 0, pollSeconds, TimeUnit.SECONDS);
+    }
+
+    public boolean isRevoked(Long userId, String tokenId, Date issuedAt) {
+        return !synced || revocations.isRevoked(userId, tokenId, issuedAt);
+    }
+
+    void pullQuietly() {
+        try {
+            TokenRevocationSet current = revocations;
+            Delta delta = restTemplate.getForObject(revocationsUrl + "?since={since}", Delta.class, current.version());
+            if (delta != null && delta.revocations() != null) {
+                revocations = current.with(delta.version(), delta.revocations());
+                synced = true;
+            }
+        } catch (RuntimeException e) {
+            // Expected until user-service is registered; keep the last copy
+            log.warn("Failed to pull token revocations: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        poller.shutdownNow();
+    }
+
+    record Delta(long version, List<TokenRevocationSet.Revocation> revocations) {
+    }
+}
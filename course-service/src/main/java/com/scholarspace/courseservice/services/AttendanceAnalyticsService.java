@@ -0,0 +1,132 @@
+package com.scholarspace.courseservice.services;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.scholarspace.courseservice.dto.AttendanceMark;
+import com.scholarspace.courseservice.dto.AttendanceRate;
+import com.scholarspace.courseservice.dto.SessionTurnout;
+import com.scholarspace.courseservice.models.AttendanceStatus;
+import com.scholarspace.courseservice.repositories.AttendanceRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Attendance rates answered from in-memory bitmaps instead of GROUP BY queries over
+ * {@code attendance_records}. A course is loaded on first use with one query and
+ * then kept current by {@link #mark} as this instance writes attendance. Loaded
+ * courses are bounded in number and reloaded after a TTL, which is how writes made
+ * through other replicas become visible.
+ */
+@Service
+@Slf4j
+public class AttendanceAnalyticsService {
+
+    private final AttendanceRecordRepository attendanceRecordRepository;
+    private final ConcurrentMap<Long, CourseAttendanceBitmap> courses;
+
+    public AttendanceAnalyticsService(AttendanceRecordRepository attendanceRecordRepository,
+                                      @Value("${app.attendance.analytics.max-courses:2000}") long maxCourses,
+                                      @Value("${app.attendance.analytics.ttl-seconds:300}") long ttlSeconds) {
+        this.attendanceRecordRepository = attendanceRecordRepository;
+        // Marks change a bitmap in place, so the TTL counts from the load
+        this.courses = Caffeine.newBuilder()
+                .maximumSize(maxCourses)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .<Long, CourseAttendanceBitmap>build()
+                .asMap();
+    }
+
+    public List<AttendanceRate> getStudentRates(Long courseId) {
+        return read(courseId, CourseAttendanceBitmap::rates);
+    }
+
+    public AttendanceRate getStudentRate(Long courseId, Long studentId) {
+        return read(courseId, bitmap -> bitmap.rate(studentId));
+    }
+
+    public List<SessionTurnout> getSessionTurnout(Long courseId) {
+        return read(courseId, CourseAttendanceBitmap::turnout);
+    }
+
+    /**
+     * Students whose rate is below {@code threshold}, counting only students with at
+     * least {@code minSessions} present or absent sessions.
+     */
+    public List<AttendanceRate> getAtRiskStudents(Long courseId, double threshold, int minSessions) {
+        return getStudentRates(courseId).stream()
+                .filter(rate -> rate.rate() != null
+                        && rate.present() + rate.absent() >= minSessions
+                        && rate.rate() < threshold)
+                .toList();
+    }
+
+    /**
+     * Applies a committed attendance write. Courses that have not been loaded yet are
+     * skipped; they read the write from the database when first queried.
+     */
+    public void mark(Long courseId, Long studentId, LocalDate sessionDate, AttendanceStatus status) {
+        CourseAttendanceBitmap bitmap = courses.get(courseId);
+        if (bitmap == null) {
+            return;
+        }
+        // Waits for a load in progress; marking is idempotent if the load already saw this write
+        bitmap.lock.writeLock().lock();
+        try {
+            bitmap.mark(studentId, sessionDate, status);
+        } finally {
+            bitmap.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops a course so that its next query reloads it from the database.
+     */
+    public void evict(Long courseId) {
+        courses.remove(courseId);
+    }
+
+    private <T> T read(Long courseId, Function<CourseAttendanceBitmap, T> query) {
+        CourseAttendanceBitmap bitmap = load(courseId);
+        bitmap.lock.readLock().lock();
+        try {
+            return query.apply(bitmap);
+        } finally {
+            bitmap.lock.readLock().unlock();
+        }
+    }
+
+    private CourseAttendanceBitmap load(Long courseId) {
+        CourseAttendanceBitmap existing = courses.get(courseId);
+        if (existing != null) {
+            return existing;
+        }
+        // Publish the bitmap write-locked so that readers and concurrent marks wait for the load
+        CourseAttendanceBitmap bitmap = new CourseAttendanceBitmap();
+        bitmap.lock.writeLock().lock();
+        try {
+            existing = courses.putIfAbsent(courseId, bitmap);
+            if (existing != null) {
+                return existing;
+            }
+            try {
+                List<AttendanceMark> marks = attendanceRecordRepository.findMarksByCourseId(courseId);
+                for (AttendanceMark mark : marks) {
+                    bitmap.mark(mark.studentId(), mark.sessionDate(), mark.status());
+                }
+                log.debug("Loaded {} attendance records for course {}", marks.size(), courseId);
+            } catch (RuntimeException e) {
+                courses.remove(courseId, bitmap);
+                throw e;
+            }
+            return bitmap;
+        } finally {
+            bitmap.lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.scholarspace.courseservice.services;
+
+import com.scholarspace.courseservice.dto.AttendanceCheckIn;
+import com.scholarspace.courseservice.models.AttendanceStatus;
+import com.scholarspace.courseservice.repositories.AttendanceBatchRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Collects student self check-ins in a fixed-size ring buffer and writes them to
+ * {@code attendance_records} in JDBC batches, one transaction per batch. A lecture
+ * checking in at once becomes a handful of batch inserts instead of one transaction
+ * per student.
+ */
+@Component
+@Slf4j
+public class AttendanceCheckInBuffer {
+
+    private final AttendanceBatchRepository attendanceBatchRepository;
+    private final AttendanceAnalyticsService attendanceAnalyticsService;
+    private final TransactionTemplate transactionTemplate;
+    private final ArrayBlockingQueue<AttendanceCheckIn> ring;
+    private final int batchSize;
+    // Check-ins currently buffered, so repeated taps by the same student are not queued twice
+    private final Set<Key> queued = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "attendance-check-in-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public AttendanceCheckInBuffer(AttendanceBatchRepository attendanceBatchRepository,
+                                   AttendanceAnalyticsService attendanceAnalyticsService,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${app.attendance.buffer-capacity:10000}") int capacity,
+                                   @Value("${app.attendance.batch-size:500}") int batchSize,
+                                   @Value("${app.attendance.flush-interval-ms:1000}") long flushIntervalMs) {
+        this.attendanceBatchRepository = attendanceBatchRepository;
+        this.attendanceAnalyticsService = attendanceAnalyticsService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ring = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queues a check-in. Returns without waiting for the database write.
+     *
+     * @throws ServiceBusyException when the buffer is full
+     */
+    public void add(AttendanceCheckIn checkIn) {
+        Key key = Key.of(checkIn);
+        if (!queued.add(key)) {
+            return;
+        }
+        if (!ring.offer(checkIn)) {
+            queued.remove(key);
+            throw new ServiceBusyException("Check-in is busy, please try again shortly", 1);
+        }
+        // A full batch is written right away instead of waiting for the next tick
+        if (ring.size() >= batchSize && flushScheduled.compareAndSet(false, true)) {
+            flusher.execute(() -> {
+                flushScheduled.set(false);
+                flush();
+            });
+        }
+    }
+
+    public int pending() {
+        return ring.size();
+    }
+
+    // Runs on the flusher thread, and once more from shutdown() after the flusher has stopped
+    private synchronized void flush() {
+        List<AttendanceCheckIn> batch = new ArrayList<>(batchSize);
+        while (ring.drainTo(batch, batchSize) > 0) {
+            if (!write(batch)) {
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Writes a batch in one transaction. If that fails the rows are written one at a time,
+     * so a row that can never be written, e.g. for a course deleted meanwhile, is dropped
+     * without holding back the others.
+     *
+     * @return false if the database could not be reached; the unwritten rows are requeued
+     */
+    private boolean write(List<AttendanceCheckIn> batch) {
+        try {
+            markPresent(batch, transactionTemplate.execute(status -> attendanceBatchRepository.insertCheckIns(batch)));
+            log.debug("Flushed {} attendance check-ins", batch.size());
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Failed to write {} attendance check-ins as a batch, retrying one by one: {}",
+                    batch.size(), e.getMessage());
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            List<AttendanceCheckIn> single = List.of(batch.get(i));
+            try {
+                markPresent(single, transactionTemplate.execute(status -> attendanceBatchRepository.insertCheckIns(single)));
+            } catch (DataIntegrityViolationException e) {
+                AttendanceCheckIn checkIn = single.get(0);
+                log.error("Dropping attendance check-in for student {} in course {} on {}: {}",
+                        checkIn.studentId(), checkIn.courseId(), checkIn.sessionDate(), e.getMessage());
+                queued.remove(Key.of(checkIn));
+            } catch (RuntimeException e) {
+                log.error("Failed to write attendance check-ins, keeping {} for the next flush: {}",
+                        batch.size() - i, e.getMessage());
+                requeue(batch.subList(i, batch.size()));
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void markPresent(List<AttendanceCheckIn> checkIns, boolean[] inserted) {
+        for (int i = 0; i < checkIns.size(); i++) {
+            AttendanceCheckIn checkIn = checkIns.get(i);
+            queued.remove(Key.of(checkIn));
+            if (inserted != null && inserted[i]) {
+                attendanceAnalyticsService.mark(checkIn.courseId(), checkIn.studentId(),
+                        checkIn.sessionDate(), AttendanceStatus.PRESENT);
+            }
+        }
+    }
+
+    private void requeue(List<AttendanceCheckIn> checkIns) {
+        for (AttendanceCheckIn checkIn : checkIns) {
+            if (!ring.offer(checkIn)) {
+                log.warn("Dropping attendance check-in for student {} in course {}: buffer full",
+                        checkIn.studentId(), checkIn.courseId());
+                queued.remove(Key.of(checkIn));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Write whatever is still buffered before the datasource goes away
+        flush();
+    }
+
+    private record Key(Long courseId, Long studentId, LocalDate sessionDate) {
+
+        static Key of(AttendanceCheckIn checkIn) {
+            return new Key(checkIn.courseId(), checkIn.studentId(), checkIn.sessionDate());
+        }
+    }
+}
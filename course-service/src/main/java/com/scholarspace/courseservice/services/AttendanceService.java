@@ -0,0 +1,104 @@
+package com.scholarspace.courseservice.services;
+
+import com.scholarspace.courseservice.dto.AttendanceCheckIn;
+import com.scholarspace.courseservice.dto.AttendanceSessionRequest;
+import com.scholarspace.courseservice.models.AttendanceRecord;
+import com.scholarspace.courseservice.models.EnrollmentStatus;
+import com.scholarspace.courseservice.repositories.AttendanceBatchRepository;
+import com.scholarspace.courseservice.repositories.AttendanceRecordRepository;
+import com.scholarspace.courseservice.repositories.CourseRepository;
+import com.scholarspace.courseservice.repositories.EnrollmentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AttendanceService {
+
+    private final AttendanceRecordRepository attendanceRecordRepository;
+    private final AttendanceBatchRepository attendanceBatchRepository;
+    private final AttendanceCheckInBuffer checkInBuffer;
+    private final AttendanceAnalyticsService attendanceAnalyticsService;
+    private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final EnrollmentService enrollmentService;
+
+    /**
+     * Records a whole roster for one session in a single transaction. Students already
+     * marked for that session, e.g. through self check-in, are overwritten.
+     */
+    @Transactional
+    public int recordSession(Long courseId, Long recordedBy, AttendanceSessionRequest request) {
+        if (!courseRepository.existsById(courseId)) {
+            throw new RuntimeException("Course not found");
+        }
+        if (request.sessionDate() == null) {
+            throw new RuntimeException("Session date is required");
+        }
+        List<AttendanceSessionRequest.Entry> entries = request.records();
+        if (entries == null || entries.isEmpty()) {
+            throw new RuntimeException("At least one attendance record is required");
+        }
+
+        Set<Long> enrolled = new HashSet<>(
+                enrollmentRepository.findStudentIdsByCourseIdAndStatus(courseId, EnrollmentStatus.ACTIVE));
+        Set<Long> studentIds = new HashSet<>();
+        for (AttendanceSessionRequest.Entry entry : entries) {
+            if (entry.studentId() == null || entry.status() == null) {
+                throw new RuntimeException("Each record needs a studentId and a status");
+            }
+            if (!enrolled.contains(entry.studentId())) {
+                throw new RuntimeException("Student " + entry.studentId() + " is not actively enrolled in this course");
+            }
+            if (!studentIds.add(entry.studentId())) {
+                throw new RuntimeException("Student " + entry.studentId() + " appears more than once");
+            }
+        }
+
+        attendanceRecordRepository.deleteSessionRecords(courseId, request.sessionDate(), studentIds);
+        attendanceBatchRepository.insertSessionRecords(courseId, request.sessionDate(), recordedBy, entries);
+        // A roster replaces records wholesale; reload the course rather than patch it mark by mark
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                attendanceAnalyticsService.evict(courseId);
+            }
+        });
+        log.debug("Recorded attendance for {} students in course {} on {}", entries.size(), courseId, request.sessionDate());
+        return entries.size();
+    }
+
+    /**
+     * Marks the student present for today's session. The write is buffered and lands
+     * in the database with the next batch flush.
+     */
+    public void checkIn(Long courseId, Long studentId) {
+        if (!enrollmentService.isStudentActivelyEnrolled(studentId, courseId)) {
+            throw new RuntimeException("Student is not actively enrolled in this course");
+        }
+        checkInBuffer.add(new AttendanceCheckIn(courseId, studentId, LocalDate.now(), LocalDateTime.now()));
+    }
+
+    public List<AttendanceRecord> getSessionAttendance(Long courseId, LocalDate sessionDate) {
+        return attendanceRecordRepository.findByCourse_IdAndSessionDateOrderByStudentId(courseId, sessionDate);
+    }
+
+    public List<AttendanceRecord> getStudentAttendance(Long courseId, Long studentId) {
+        return attendanceRecordRepository.findByCourse_IdAndStudentIdOrderBySessionDateDesc(courseId, studentId);
+    }
+
+    public List<AttendanceRecord> getStudentAttendance(Long studentId) {
+        return attendanceRecordRepository.findByStudentIdOrderBySessionDateDesc(studentId);
+    }
+}
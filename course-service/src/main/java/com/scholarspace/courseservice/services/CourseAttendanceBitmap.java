@@ -0,0 +1,108 @@
+package com.scholarspace.courseservice.services;
+
+import com.scholarspace.courseservice.dto.AttendanceRate;
+import com.scholarspace.courseservice.dto.SessionTurnout;
+import com.scholarspace.courseservice.models.AttendanceStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Attendance of one course as bitsets, one per status. Students and sessions get a
+ * position the first time they are seen. Each session keeps bitsets indexed by roster
+ * position, and each student keeps the transposed bitsets indexed by session
+ * position, so per-session turnout and per-student rates are both popcounts.
+ * Callers must hold {@link #lock}.
+ */
+final class CourseAttendanceBitmap {
+
+    private static final AttendanceStatus[] STATUSES = AttendanceStatus.values();
+
+    final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Integer> studentPositions = new HashMap<>();
+    private final List<Long> students = new ArrayList<>();
+    private final List<BitSet[]> byStudent = new ArrayList<>();
+
+    private final Map<LocalDate, Integer> sessionPositions = new HashMap<>();
+    private final List<LocalDate> sessions = new ArrayList<>();
+    private final List<BitSet[]> bySession = new ArrayList<>();
+
+    /**
+     * Sets the student's status for the session, replacing any earlier status.
+     */
+    void mark(Long studentId, LocalDate sessionDate, AttendanceStatus status) {
+        int student = position(studentId, studentPositions, students, byStudent);
+        int session = position(sessionDate, sessionPositions, sessions, bySession);
+        BitSet[] studentBits = byStudent.get(student);
+        BitSet[] sessionBits = bySession.get(session);
+        for (AttendanceStatus candidate : STATUSES) {
+            boolean value = candidate == status;
+            studentBits[candidate.ordinal()].set(session, value);
+            sessionBits[candidate.ordinal()].set(student, value);
+        }
+    }
+
+    AttendanceRate rate(Long studentId) {
+        Integer student = studentPositions.get(studentId);
+        if (student == null) {
+            return new AttendanceRate(studentId, 0, 0, 0, null);
+        }
+        BitSet[] bits = byStudent.get(student);
+        int present = count(bits, AttendanceStatus.PRESENT);
+        int absent = count(bits, AttendanceStatus.ABSENT);
+        return new AttendanceRate(studentId, present, absent, count(bits, AttendanceStatus.EXCUSED), ratio(present, absent));
+    }
+
+    List<AttendanceRate> rates() {
+        List<AttendanceRate> rates = new ArrayList<>(students.size());
+        for (Long studentId : students) {
+            rates.add(rate(studentId));
+        }
+        rates.sort(Comparator.comparing(AttendanceRate::studentId));
+        return rates;
+    }
+
+    List<SessionTurnout> turnout() {
+        List<SessionTurnout> turnout = new ArrayList<>(sessions.size());
+        for (int session = 0; session < sessions.size(); session++) {
+            BitSet[] bits = bySession.get(session);
+            int present = count(bits, AttendanceStatus.PRESENT);
+            int absent = count(bits, AttendanceStatus.ABSENT);
+            turnout.add(new SessionTurnout(sessions.get(session), present, absent,
+                    count(bits, AttendanceStatus.EXCUSED), ratio(present, absent)));
+        }
+        turnout.sort(Comparator.comparing(SessionTurnout::sessionDate));
+        return turnout;
+    }
+
+    private static <K> int position(K key, Map<K, Integer> positions, List<K> keys, List<BitSet[]> bits) {
+        Integer position = positions.get(key);
+        if (position == null) {
+            position = keys.size();
+            positions.put(key, position);
+            keys.add(key);
+            BitSet[] perStatus = new BitSet[STATUSES.length];
+            for (int i = 0; i < perStatus.length; i++) {
+                perStatus[i] = new BitSet();
+            }
+            bits.add(perStatus);
+        }
+        return position;
+    }
+
+    private static int count(BitSet[] bits, AttendanceStatus status) {
+        return bits[status.ordinal()].cardinality();
+    }
+
+    private static Double ratio(int present, int absent) {
+        int counted = present + absent;
+        return counted == 0 ? null : (double) present / counted;
+    }
+}
@@ -0,0 +1,257 @@
+package com.scholarspace.courseservice.services;
+
+import com.scholarspace.courseservice.dto.CourseCount;
+import com.scholarspace.courseservice.dto.CourseSuggestion;
+import com.scholarspace.courseservice.models.Course;
+import com.scholarspace.courseservice.models.EnrollmentStatus;
+import com.scholarspace.courseservice.repositories.CourseRepository;
+import com.scholarspace.courseservice.repositories.EnrollmentRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Type-ahead over the codes and title words of active courses. The index is an
+ * immutable sorted array of (key, course) entries searched with binary search; the
+ * top suggestions for every one- and two-character prefix are precomputed, since
+ * those ranges cover most of the catalog. Suggestions are ranked by active enrollment
+ * count.
+ *
+ * <p>Catalog changes schedule a rebuild, coalesced over a short delay, that swaps in a
+ * new snapshot; readers never lock. Enrollment counts are refreshed periodically.
+ */
+@Component
+@Slf4j
+public class CourseAutocompleteIndex {
+
+    public static final int MAX_LIMIT = 20;
+    private static final int PRECOMPUTED_PREFIX_LENGTH = 2;
+    private static final long REBUILD_DELAY_MS = 500;
+
+    private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean(false);
+    private final ScheduledExecutorService rebuilder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "course-autocomplete-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public CourseAutocompleteIndex(CourseRepository courseRepository,
+                                   EnrollmentRepository enrollmentRepository,
+                                   @Value("${app.autocomplete.refresh-minutes:5}") long refreshMinutes) {
+        this.courseRepository = courseRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        rebuilder.scheduleWithFixedDelay(this::rebuildQuietly, refreshMinutes, refreshMinutes, TimeUnit.MINUTES);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Course> courses = courseRepository.findByIsActiveTrue();
+        Map<Long, Long> popularity = new HashMap<>();
+        for (CourseCount count : enrollmentRepository.countByStatusGroupByCourse(EnrollmentStatus.ACTIVE)) {
+            popularity.put(count.courseId(), count.count());
+        }
+        snapshot = Snapshot.build(courses, popularity);
+        log.debug("Course autocomplete rebuilt with {} courses and {} keys",
+                courses.size(), snapshot.keys.length);
+    }
+
+    /**
+     * Schedules a rebuild after a catalog change. Changes arriving within the delay share one rebuild.
+     */
+    public void catalogChanged() {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            rebuilder.schedule(() -> {
+                rebuildScheduled.set(false);
+                rebuildQuietly();
+            }, REBUILD_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public List<CourseSuggestion> suggest(String input, int limit) {
+        // Typed words are used as-is; splitting "cs1" into "cs" and "1" would make "1" the prefix
+        List<String> words = Arrays.stream(input.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .toList();
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        return snapshot.suggest(words, Math.min(limit, MAX_LIMIT));
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Failed to rebuild course autocomplete: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    private static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(new CourseSuggestion[0], new String[0][], new String[0],
+                new int[0], Map.of());
+
+        // Courses ordered by rank: most active enrollments first, then by code
+        final CourseSuggestion[] courses;
+        final String[][] courseKeys;
+        // Sorted keys; entries[i] is the rank of the course keys[i] belongs to
+        final String[] keys;
+        final int[] entries;
+        final Map<String, int[]> topByShortPrefix;
+
+        Snapshot(CourseSuggestion[] courses, String[][] courseKeys, String[] keys, int[] entries,
+                 Map<String, int[]> topByShortPrefix) {
+            this.courses = courses;
+            this.courseKeys = courseKeys;
+            this.keys = keys;
+            this.entries = entries;
+            this.topByShortPrefix = topByShortPrefix;
+        }
+
+        List<CourseSuggestion> suggest(List<String> words, int limit) {
+            String prefix = words.get(words.size() - 1);
+            List<String> others = words.subList(0, words.size() - 1);
+
+            int[] precomputed = others.isEmpty() && prefix.length() <= PRECOMPUTED_PREFIX_LENGTH
+                    ? topByShortPrefix.get(prefix) : null;
+            if (precomputed != null) {
+                List<CourseSuggestion> result = new ArrayList<>(Math.min(limit, precomputed.length));
+                for (int i = 0; i < precomputed.length && result.size() < limit; i++) {
+                    result.add(courses[precomputed[i]]);
+                }
+                return result;
+            }
+
+            // Lower rank is better; keep the best `limit` ranks seen in the prefix range
+            PriorityQueue<Integer> best = new PriorityQueue<>(Comparator.reverseOrder());
+            BitSet seen = new BitSet(courses.length);
+            for (int i = lowerBound(prefix); i < keys.length && keys[i].startsWith(prefix); i++) {
+                int rank = entries[i];
+                if (seen.get(rank)) {
+                    continue;
+                }
+                seen.set(rank);
+                if (best.size() == limit && rank > best.peek()) {
+                    continue;
+                }
+                if (!matchesAll(rank, others)) {
+                    continue;
+                }
+                best.offer(rank);
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+            int[] ranks = best.stream().mapToInt(Integer::intValue).sorted().toArray();
+            List<CourseSuggestion> result = new ArrayList<>(ranks.length);
+            for (int rank : ranks) {
+                result.add(courses[rank]);
+            }
+            return result;
+        }
+
+        private boolean matchesAll(int rank, List<String> words) {
+            for (String word : words) {
+                boolean found = false;
+                for (String key : courseKeys[rank]) {
+                    if (key.startsWith(word)) {
+                        found = true;
+                        break;
+                    }
+                }
+                if (!found) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int lowerBound(String prefix) {
+            int index = Arrays.binarySearch(keys, prefix);
+            if (index >= 0) {
+                // Step back over duplicate keys from other courses
+                while (index > 0 && keys[index - 1].equals(prefix)) {
+                    index--;
+                }
+                return index;
+            }
+            return -index - 1;
+        }
+
+        static Snapshot build(List<Course> active, Map<Long, Long> popularity) {
+            List<CourseSuggestion> ranked = new ArrayList<>(active.size());
+            for (Course course : active) {
+                ranked.add(new CourseSuggestion(course.getId(), course.getCode(), course.getTitle(),
+                        popularity.getOrDefault(course.getId(), 0L)));
+            }
+            ranked.sort(Comparator.comparingLong(CourseSuggestion::activeEnrollments).reversed()
+                    .thenComparing(CourseSuggestion::code, Comparator.nullsLast(Comparator.naturalOrder())));
+            CourseSuggestion[] courses = ranked.toArray(new CourseSuggestion[0]);
+
+            String[][] courseKeys = new String[courses.length][];
+            List<long[]> pairs = new ArrayList<>();
+            List<String> keyList = new ArrayList<>();
+            for (int rank = 0; rank < courses.length; rank++) {
+                Set<String> keys = new LinkedHashSet<>();
+                String code = courses[rank].code();
+                if (code != null) {
+                    keys.add(code.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]", ""));
+                }
+                keys.addAll(CourseSearchIndex.tokenize(code));
+                keys.addAll(CourseSearchIndex.tokenize(courses[rank].title()));
+                keys.remove("");
+                courseKeys[rank] = keys.toArray(new String[0]);
+                for (String key : keys) {
+                    pairs.add(new long[] {keyList.size(), rank});
+                    keyList.add(key);
+                }
+            }
+            pairs.sort(Comparator.comparing((long[] pair) -> keyList.get((int) pair[0]))
+                    .thenComparingLong(pair -> pair[1]));
+            String[] keys = new String[pairs.size()];
+            int[] entries = new int[pairs.size()];
+            for (int i = 0; i < pairs.size(); i++) {
+                keys[i] = keyList.get((int) pairs.get(i)[0]);
+                entries[i] = (int) pairs.get(i)[1];
+            }
+
+            // Keep the best MAX_LIMIT ranks under every one- and two-character prefix
+            Map<String, Set<Integer>> collected = new HashMap<>();
+            for (int i = 0; i < keys.length; i++) {
+                for (int length = 1; length <= Math.min(PRECOMPUTED_PREFIX_LENGTH, keys[i].length()); length++) {
+                    collected.computeIfAbsent(keys[i].substring(0, length), p -> new LinkedHashSet<>()).add(entries[i]);
+                }
+            }
+            Map<String, int[]> topByShortPrefix = new HashMap<>(collected.size() * 2);
+            collected.forEach((prefix, ranks) -> topByShortPrefix.put(prefix,
+                    ranks.stream().mapToInt(Integer::intValue).sorted().limit(MAX_LIMIT).toArray()));
+            return new Snapshot(courses, courseKeys, keys, entries, topByShortPrefix);
+        }
+    }
+}
@@ -0,0 +1,353 @@
+package com.scholarspace.courseservice.services;
+
+import com.scholarspace.courseservice.dto.CourseSearchResult;
+import com.scholarspace.courseservice.dto.CourseSummary;
+import com.scholarspace.courseservice.models.Course;
+import com.scholarspace.courseservice.repositories.CourseRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over course code, title and description, ranked with BM25.
+ * Code matches weigh more than title matches, which weigh more than description
+ * matches. Every query term also matches terms it is a prefix of, so partial words
+ * work while typing. All query terms must match.
+ *
+ * <p>The index is built from the repository at startup and kept current by
+ * {@link CourseService} on create, update and delete. It is also rebuilt periodically
+ * to pick up changes made through other instances; changes made here while a rebuild
+ * reads the repository are replayed onto the new index before it is swapped in.
+ */
+@Component
+@Slf4j
+public class CourseSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int CODE_WEIGHT = 3;
+    private static final int TITLE_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    // Prefix expansions of a single query term considered, most frequent first
+    private static final int MAX_EXPANSIONS = 64;
+    private static final double PREFIX_DISCOUNT = 0.8;
+
+    private final CourseRepository courseRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private State state = new State();
+    // Changes made during a rebuild, by course id; null marks a removal. Guarded by lock.
+    private Map<Long, Document> changesDuringRebuild;
+    private volatile boolean loaded;
+    private final ScheduledExecutorService rebuilder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "course-search-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public CourseSearchIndex(CourseRepository courseRepository,
+                             @Value("${app.search.rebuild-minutes:5}") long rebuildMinutes) {
+        this.courseRepository = courseRepository;
+        rebuilder.scheduleWithFixedDelay(this::rebuildQuietly, rebuildMinutes, rebuildMinutes, TimeUnit.MINUTES);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        State rebuilt = new State();
+        try {
+            for (Course course : courseRepository.findAll()) {
+                rebuilt.put(Document.of(course));
+            }
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        int replayed;
+        lock.writeLock().lock();
+        try {
+            replayed = changesDuringRebuild.size();
+            changesDuringRebuild.forEach((courseId, document) -> {
+                if (document == null) {
+                    rebuilt.remove(courseId);
+                } else {
+                    rebuilt.put(document);
+                }
+            });
+            changesDuringRebuild = null;
+            state = rebuilt;
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("Course search index built with {} courses and {} terms ({} concurrent changes replayed)",
+                rebuilt.documents.size(), rebuilt.postings.size(), replayed);
+    }
+
+    public void index(Course course) {
+        Document document = Document.of(course);
+        lock.writeLock().lock();
+        try {
+            state.put(document);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.put(course.getId(), document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long courseId) {
+        lock.writeLock().lock();
+        try {
+            state.remove(courseId);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.put(courseId, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<CourseSearchResult> search(String query, boolean includeInactive, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    rebuild();
+                }
+            }
+        }
+
+        lock.readLock().lock();
+        try {
+            State current = state;
+            if (current.documents.isEmpty()) {
+                return List.of();
+            }
+            double averageLength = (double) current.totalLength / current.documents.size();
+            Map<Long, Double> scores = null;
+            for (String term : terms.stream().distinct().toList()) {
+                Map<Long, Double> termScores = scoreTerm(current, term, averageLength);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    // Keep only courses that matched every earlier term as well
+                    Map<Long, Double> combined = new HashMap<>();
+                    for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                        Double score = termScores.get(entry.getKey());
+                        if (score != null) {
+                            combined.put(entry.getKey(), entry.getValue() + score);
+                        }
+                    }
+                    scores = combined;
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            return topResults(current, scores, includeInactive, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Double> scoreTerm(State current, String term, double averageLength) {
+        Map<Long, Double> scores = new HashMap<>();
+        Map<Long, Integer> exact = current.postings.get(term);
+        if (exact != null) {
+            addBm25(current, scores, exact, averageLength, 1.0);
+        }
+        NavigableMap<String, Map<Long, Integer>> expansions = current.postings.subMap(term, false, term + Character.MAX_VALUE, false);
+        if (!expansions.isEmpty()) {
+            List<Map<Long, Integer>> candidates = new ArrayList<>(expansions.values());
+            if (candidates.size() > MAX_EXPANSIONS) {
+                candidates.sort(Comparator.comparingInt((Map<Long, Integer> p) -> p.size()).reversed());
+                candidates = candidates.subList(0, MAX_EXPANSIONS);
+            }
+            for (Map<Long, Integer> candidate : candidates) {
+                addBm25(current, scores, candidate, averageLength, PREFIX_DISCOUNT);
+            }
+        }
+        return scores;
+    }
+
+    // A course matching several expansions of the same term keeps its best one
+    private void addBm25(State current, Map<Long, Double> scores, Map<Long, Integer> posting,
+                         double averageLength, double boost) {
+        int documentCount = current.documents.size();
+        int documentFrequency = posting.size();
+        double idf = Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+        for (Map.Entry<Long, Integer> entry : posting.entrySet()) {
+            int tf = entry.getValue();
+            int length = current.documents.get(entry.getKey()).length;
+            double score = boost * idf * (tf * (K1 + 1)) / (tf + K1 * (1 - B + B * length / averageLength));
+            scores.merge(entry.getKey(), score, Math::max);
+        }
+    }
+
+    private List<CourseSearchResult> topResults(State current, Map<Long, Double> scores,
+                                                boolean includeInactive, int limit) {
+        PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(Map.Entry.comparingByValue());
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            if (!includeInactive && !current.documents.get(entry.getKey()).course.isActive()) {
+                continue;
+            }
+            top.offer(entry);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        List<CourseSearchResult> results = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            Map.Entry<Long, Double> entry = top.poll();
+            results.add(new CourseSearchResult(current.documents.get(entry.getKey()).course, entry.getValue()));
+        }
+        return results.reversed();
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Failed to rebuild course search index: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    /**
+     * Lower-cases and splits on anything that is not a letter or digit. Tokens mixing
+     * letters and digits, like course codes, are also split at the boundary, so
+     * "CS101" is indexed as "cs101", "cs" and "101".
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                addToken(tokens, lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static void addToken(List<String> tokens, String token) {
+        tokens.add(token);
+        int split = 0;
+        for (int i = 1; i < token.length(); i++) {
+            if (Character.isDigit(token.charAt(i)) != Character.isDigit(token.charAt(i - 1))) {
+                tokens.add(token.substring(split, i));
+                split = i;
+            }
+        }
+        if (split > 0) {
+            tokens.add(token.substring(split));
+        }
+    }
+
+    /**
+     * Documents, postings and total document length. Mutated only under the write lock,
+     * or before being published by a rebuild.
+     */
+    private static final class State {
+        final Map<Long, Document> documents = new HashMap<>();
+        final TreeMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+        long totalLength;
+
+        void put(Document document) {
+            remove(document.course.id());
+            documents.put(document.course.id(), document);
+            document.termFrequencies.forEach((term, tf) ->
+                    postings.computeIfAbsent(term, t -> new HashMap<>()).put(document.course.id(), tf));
+            totalLength += document.length;
+        }
+
+        void remove(Long courseId) {
+            Document previous = documents.remove(courseId);
+            if (previous == null) {
+                return;
+            }
+            for (String term : previous.termFrequencies.keySet()) {
+                Map<Long, Integer> posting = postings.get(term);
+                if (posting != null) {
+                    posting.remove(courseId);
+                    if (posting.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+            }
+            totalLength -= previous.length;
+        }
+    }
+
+    private static final class Document {
+        final CourseSummary course;
+        final Map<String, Integer> termFrequencies;
+        final int length;
+
+        private Document(CourseSummary course, Map<String, Integer> termFrequencies, int length) {
+            this.course = course;
+            this.termFrequencies = termFrequencies;
+            this.length = length;
+        }
+
+        static Document of(Course course) {
+            Map<String, Integer> frequencies = new HashMap<>();
+            int length = count(frequencies, course.getCode(), CODE_WEIGHT)
+                    + count(frequencies, course.getTitle(), TITLE_WEIGHT)
+                    + count(frequencies, course.getDescription(), DESCRIPTION_WEIGHT);
+            return new Document(CourseSummary.from(course), frequencies, length);
+        }
+
+        private static int count(Map<String, Integer> frequencies, String text, int weight) {
+            List<String> tokens = tokenize(text);
+            for (String token : tokens) {
+                frequencies.merge(token, weight, Integer::sum);
+            }
+            return tokens.size() * weight;
+        }
+    }
+}
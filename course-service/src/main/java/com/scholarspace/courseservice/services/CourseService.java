@@ -1,15 +1,20 @@
 package com.scholarspace.courseservice.services;
 
+import com.scholarspace.courseservice.dto.CourseSearchResult;
+import com.scholarspace.courseservice.dto.CourseSuggestion;
 import com.scholarspace.courseservice.models.Course;
 import com.scholarspace.courseservice.repositories.CourseRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -17,7 +22,11 @@ import java.util.Optional;
 public class CourseService {
 
     private final CourseRepository courseRepository;
-    private final RestTemplate restTemplate;
+    private final DepartmentDirectory departmentDirectory;
+    private final PrerequisiteGraph prerequisiteGraph;
+    private final CourseSearchIndex courseSearchIndex;
+    private final CourseAutocompleteIndex courseAutocompleteIndex;
+    private final AttendanceAnalyticsService attendanceAnalyticsService;
 
     public Course createCourse(String courseCode, String title, String description,
                               Integer creditHours, String semester, String academicYear,
@@ -28,7 +37,7 @@ public class CourseService {
             throw new RuntimeException("Course code already exists");
         }
         
-        // Validate department exists via institution-service
+        // Validate department against the local copy of institution-service's department ids
         validateDepartment(departmentId);
         
         Course course = new Course();
@@ -42,18 +51,15 @@ public class CourseService {
         course.setActive(true);
         course.setCreatedAt(LocalDateTime.now());
         
-        return courseRepository.save(course);
+        Course saved = courseRepository.save(course);
+        courseSearchIndex.index(saved);
+        courseAutocompleteIndex.catalogChanged();
+        return saved;
     }
 
     private void validateDepartment(Long departmentId) {
-        try {
-            String url = "http://institution-service/api/departments/" + departmentId;
-            restTemplate.getForObject(url, Object.class);
-            log.info("Department validation successful for ID: {}", departmentId);
-        } catch (Exception e) {
-            log.warn("Department validation failed for ID: {} - {}", departmentId, e.getMessage());
-            // For now, just log the warning instead of throwing exception
-            // This allows course creation to proceed even if institution-service is unavailable
+        if (departmentId != null && !departmentDirectory.exists(departmentId)) {
+            throw new RuntimeException("Department not found with ID: " + departmentId);
         }
     }
 
@@ -78,20 +84,51 @@ public class CourseService {
     }
 
     public Course updateCourse(Course course) {
-        return courseRepository.save(course);
+        Course saved = courseRepository.save(course);
+        courseSearchIndex.index(saved);
+        courseAutocompleteIndex.catalogChanged();
+        return saved;
+    }
+
+    public List<CourseSearchResult> searchCourses(String query, boolean includeInactive, int limit) {
+        return courseSearchIndex.search(query, includeInactive, limit);
+    }
+
+    /**
+     * Replaces the course's direct prerequisites, rejecting any change that would make
+     * the prerequisite chain circular.
+     */
+    public void updatePrerequisites(Long courseId, Collection<Long> prerequisiteIds) {
+        Course course = courseRepository.findById(courseId)
+                .orElseThrow(() -> new RuntimeException("Course not found"));
+        Set<Long> ids = new LinkedHashSet<>(prerequisiteIds);
+        List<Course> prerequisites = courseRepository.findAllById(ids);
+        if (prerequisites.size() != ids.size()) {
+            throw new RuntimeException("One or more prerequisite courses not found");
+        }
+        prerequisiteGraph.replacePrerequisites(courseId, ids, () -> {
+            course.setPrerequisites(new ArrayList<>(prerequisites));
+            courseRepository.save(course);
+        });
+    }
+
+    public List<CourseSuggestion> suggestCourses(String prefix, int limit) {
+        return courseAutocompleteIndex.suggest(prefix, limit);
     }
 
     public void activateCourse(Long courseId) {
         courseRepository.findById(courseId).ifPresent(course -> {
             course.setActive(true);
-            courseRepository.save(course);
+            courseSearchIndex.index(courseRepository.save(course));
+            courseAutocompleteIndex.catalogChanged();
         });
     }
 
     public void deactivateCourse(Long courseId) {
         courseRepository.findById(courseId).ifPresent(course -> {
             course.setActive(false);
-            courseRepository.save(course);
+            courseSearchIndex.index(courseRepository.save(course));
+            courseAutocompleteIndex.catalogChanged();
         });
     }
 
@@ -101,6 +138,11 @@ public class CourseService {
         }
         
         // For now, simple deletion - in production, check for enrollments first
+        courseRepository.removeAsPrerequisite(courseId);
         courseRepository.deleteById(courseId);
+        prerequisiteGraph.removeCourse(courseId);
+        courseSearchIndex.remove(courseId);
+        courseAutocompleteIndex.catalogChanged();
+        attendanceAnalyticsService.evict(courseId);
     }
 }
\ No newline at end of file
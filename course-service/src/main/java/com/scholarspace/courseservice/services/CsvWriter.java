@@ -0,0 +1,146 @@
+package com.scholarspace.courseservice.services;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Minimal RFC 4180 CSV writer for exports. Fields are copied into one reusable char
+ * buffer and numbers are formatted digit by digit, so writing a row allocates nothing.
+ */
+final class CsvWriter {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Writer out;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final char[] digits = new char[20];
+    private int position;
+    private boolean rowStarted;
+
+    CsvWriter(Writer out) {
+        this.out = out;
+    }
+
+    CsvWriter field(CharSequence value) throws IOException {
+        separator();
+        if (value == null) {
+            return this;
+        }
+        if (!needsQuoting(value)) {
+            for (int i = 0; i < value.length(); i++) {
+                put(value.charAt(i));
+            }
+            return this;
+        }
+        put('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                put('"');
+            }
+            put(c);
+        }
+        put('"');
+        return this;
+    }
+
+    CsvWriter field(long value) throws IOException {
+        separator();
+        putLong(value);
+        return this;
+    }
+
+    /**
+     * Writes a grade rounded to two decimal places, trailing zeros dropped; NaN, the
+     * "no grade" sentinel, is an empty field.
+     */
+    CsvWriter grade(double value) throws IOException {
+        separator();
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return this;
+        }
+        long hundredths = Math.round(value * 100);
+        if (hundredths < 0) {
+            put('-');
+            hundredths = -hundredths;
+        }
+        putLong(hundredths / 100);
+        int fraction = (int) (hundredths % 100);
+        if (fraction != 0) {
+            put('.');
+            put((char) ('0' + fraction / 10));
+            if (fraction % 10 != 0) {
+                put((char) ('0' + fraction % 10));
+            }
+        }
+        return this;
+    }
+
+    CsvWriter empty() throws IOException {
+        separator();
+        return this;
+    }
+
+    void endRow() throws IOException {
+        put('\r');
+        put('\n');
+        rowStarted = false;
+    }
+
+    /**
+     * Pushes buffered output through to the underlying writer and flushes it.
+     */
+    void flush() throws IOException {
+        drain();
+        out.flush();
+    }
+
+    private void separator() throws IOException {
+        if (rowStarted) {
+            put(',');
+        }
+        rowStarted = true;
+    }
+
+    private void putLong(long value) throws IOException {
+        if (value == 0) {
+            put('0');
+            return;
+        }
+        if (value < 0) {
+            put('-');
+        }
+        int length = 0;
+        // Work with negative values so Long.MIN_VALUE needs no special case
+        long remaining = value > 0 ? -value : value;
+        while (remaining != 0) {
+            digits[length++] = (char) ('0' - remaining % 10);
+            remaining /= 10;
+        }
+        while (length > 0) {
+            put(digits[--length]);
+        }
+    }
+
+    private void put(char c) throws IOException {
+        if (position == BUFFER_SIZE) {
+            drain();
+        }
+        buffer[position++] = c;
+    }
+
+    private void drain() throws IOException {
+        out.write(buffer, 0, position);
+        position = 0;
+    }
+
+    private static boolean needsQuoting(CharSequence value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
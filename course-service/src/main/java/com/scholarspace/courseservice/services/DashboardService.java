@@ -1,7 +1,6 @@
 package com.scholarspace.courseservice.services;
 
 import com.scholarspace.courseservice.models.Course;
-import com.scholarspace.courseservice.models.Enrollment;
 import com.scholarspace.courseservice.repositories.CourseRepository;
 import com.scholarspace.courseservice.repositories.EnrollmentRepository;
 import lombok.RequiredArgsConstructor;
@@ -42,11 +41,6 @@ public class DashboardService {
                 .toList();
         stats.put("recentCourses", recentCourses.size());
         
-        // Get enrollment statistics
-        List<Enrollment> allEnrollments = enrollmentRepository.findAll();
-        
-
-        
         return stats;
     }
     
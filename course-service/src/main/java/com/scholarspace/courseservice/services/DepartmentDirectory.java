@@ -0,0 +1,127 @@
+package com.scholarspace.courseservice.services;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Local copy of the department ids in institution-service, so courses can be validated
+ * without a remote call. The ids are loaded at startup and refreshed periodically;
+ * refreshes send the version already held and transfer nothing while it is current.
+ *
+ * <p>An id that is not in the copy queues a refresh on the background thread, at most one
+ * every few seconds, so a department created moments ago is accepted shortly after without
+ * ever holding up the request that missed. Until the first load succeeds no department can
+ * be validated.
+ */
+@Component
+@Slf4j
+public class DepartmentDirectory {
+
+    private final RestTemplate restTemplate;
+    private final String departmentIdsUrl;
+    private final long missRefreshIntervalNanos;
+    private final AtomicBoolean missRefreshQueued = new AtomicBoolean();
+    private volatile Set<Long> departmentIds;
+    private volatile String etag;
+    private volatile long lastRefreshNanos;
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "department-directory-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public DepartmentDirectory(RestTemplate restTemplate,
+                               @Value("${app.departments.ids-url:http://institution-service/internal/departments/ids}") String departmentIdsUrl,
+                               @Value("${app.departments.refresh-seconds:60}") long refreshSeconds,
+                               @Value("${app.departments.miss-refresh-seconds:5}") long missRefreshSeconds) {
+        this.restTemplate = restTemplate;
+        this.departmentIdsUrl = departmentIdsUrl;
+        this.missRefreshIntervalNanos = TimeUnit.SECONDS.toNanos(missRefreshSeconds);
+        this.lastRefreshNanos = System.nanoTime() - missRefreshIntervalNanos;
+        refresher.scheduleWithFixedDelay(this::refreshQuietly, 0, refreshSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Whether the department is in the current copy.
+     *
+     * @throws ServiceBusyException if the ids have never been loaded
+     */
+    public boolean exists(Long departmentId) {
+        Set<Long> ids = departmentIds;
+        if (ids != null && ids.contains(departmentId)) {
+            return true;
+        }
+        queueMissRefresh();
+        if (ids == null) {
+            throw new ServiceBusyException("Departments cannot be validated right now, please try again shortly",
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(missRefreshIntervalNanos)));
+        }
+        return false;
+    }
+
+    private void queueMissRefresh() {
+        if (System.nanoTime() - lastRefreshNanos <= missRefreshIntervalNanos
+                || !missRefreshQueued.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refresher.execute(() -> {
+                try {
+                    refreshQuietly();
+                } finally {
+                    missRefreshQueued.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            missRefreshQueued.set(false);
+        }
+    }
+
+    private void refresh() {
+        lastRefreshNanos = System.nanoTime();
+        HttpHeaders headers = new HttpHeaders();
+        if (etag != null) {
+            headers.setIfNoneMatch(etag);
+        }
+        ResponseEntity<DepartmentIds> response = restTemplate.exchange(departmentIdsUrl, HttpMethod.GET,
+                new HttpEntity<>(headers), DepartmentIds.class);
+        if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED) || response.getBody() == null) {
+            return;
+        }
+        departmentIds = Set.copyOf(response.getBody().ids());
+        etag = response.getHeaders().getETag();
+        log.debug("Loaded {} department ids (version {})", departmentIds.size(), response.getBody().version());
+    }
+
+    void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh department ids: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    record DepartmentIds(String version, List<Long> ids) {
+    }
+}
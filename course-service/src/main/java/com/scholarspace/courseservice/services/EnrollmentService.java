@@ -14,6 +14,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -23,6 +24,7 @@ public class EnrollmentService {
     private final EnrollmentRepository enrollmentRepository;
     private final CourseRepository courseRepository;
     private final RestTemplate restTemplate;
+    private final PrerequisiteGraph prerequisiteGraph;
 
     public Enrollment requestEnrollment(Long studentId, Long courseId) {
         // Validate student exists and has STUDENT role
@@ -39,10 +41,27 @@ public class EnrollmentService {
             throw new RuntimeException("Student is already enrolled in this course");
         }
         
+        validatePrerequisites(studentId, course);
+        
         Enrollment enrollment = new Enrollment(course, studentId);
         return enrollmentRepository.save(enrollment);
     }
 
+    private void validatePrerequisites(Long studentId, Course course) {
+        if (!prerequisiteGraph.hasPrerequisites(course.getId())) {
+            return;
+        }
+        List<Long> completed = enrollmentRepository.findCourseIdsByStudentIdAndStatus(studentId, EnrollmentStatus.COMPLETED);
+        List<Long> missing = prerequisiteGraph.findMissingPrerequisites(course.getId(), completed);
+        if (!missing.isEmpty()) {
+            String codes = courseRepository.findAllById(missing).stream()
+                    .map(Course::getCode)
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+            throw new RuntimeException("Missing prerequisites for " + course.getCode() + ": " + codes);
+        }
+    }
+
     private void validateStudent(Long studentId) {
         try {
             String url = "http://user-service/api/users/" + studentId;
@@ -83,6 +102,10 @@ public class EnrollmentService {
         return enrollmentRepository.findByStudentIdAndStatus(studentId, EnrollmentStatus.ACTIVE);
     }
 
+    public boolean isStudentActivelyEnrolled(Long studentId, Long courseId) {
+        return enrollmentRepository.existsByCourse_IdAndStudentIdAndStatus(courseId, studentId, EnrollmentStatus.ACTIVE);
+    }
+
     public List<Enrollment> getEnrollmentsByStatus(EnrollmentStatus status) {
         return enrollmentRepository.findByStatus(status);
     }
@@ -0,0 +1,79 @@
+package com.scholarspace.courseservice.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.scholarspace.courseservice.dto.EnrollmentView;
+import com.scholarspace.courseservice.models.Course;
+import com.scholarspace.courseservice.models.Enrollment;
+import com.scholarspace.courseservice.repositories.CourseRepository;
+import com.scholarspace.courseservice.repositories.EnrollmentRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes large lists straight from a database cursor to the response, one row at a
+ * time, so memory use does not grow with the result size.
+ */
+@Service
+public class ExportService {
+
+    private static final int FLUSH_EVERY = 500;
+
+    private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter rowWriter;
+
+    public ExportService(CourseRepository courseRepository, EnrollmentRepository enrollmentRepository,
+                         EntityManager entityManager, ObjectMapper objectMapper) {
+        this.courseRepository = courseRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        // Flushing is batched in writeArray instead of after every row
+        this.rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Transactional(readOnly = true)
+    public void writeAllCourses(OutputStream out) throws IOException {
+        try (Stream<Course> courses = courseRepository.streamAll()) {
+            writeArray(courses, Function.identity(), out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void writeEnrollmentsByCourse(Long courseId, Set<String> expand, OutputStream out) throws IOException {
+        try (Stream<Enrollment> enrollments = enrollmentRepository.streamByCourseId(courseId)) {
+            writeArray(enrollments, enrollment -> EnrollmentView.from(enrollment, expand), out);
+        }
+    }
+
+    private <T> void writeArray(Stream<T> rows, Function<T, ?> mapper, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartArray();
+            Iterator<T> iterator = rows.iterator();
+            int written = 0;
+            while (iterator.hasNext()) {
+                T row = iterator.next();
+                rowWriter.writeValue(generator, mapper.apply(row));
+                if (++written % FLUSH_EVERY == 0) {
+                    generator.flush();
+                    // Keep the persistence context from accumulating every row read
+                    entityManager.clear();
+                }
+            }
+            generator.writeEndArray();
+        }
+    }
+}
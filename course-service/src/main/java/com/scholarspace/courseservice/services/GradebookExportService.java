@@ -0,0 +1,173 @@
+package com.scholarspace.courseservice.services;
+
+import com.scholarspace.courseservice.dto.GradebookColumn;
+import com.scholarspace.courseservice.models.ContentType;
+import com.scholarspace.courseservice.models.Course;
+import com.scholarspace.courseservice.repositories.CourseContentRepository;
+import com.scholarspace.courseservice.repositories.CourseRepository;
+import com.scholarspace.courseservice.repositories.EnrollmentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Streams gradebooks as CSV: one row per enrolled student, one column per assignment,
+ * then the final enrollment grade. Rows come from a forward-only cursor over
+ * enrollments joined with submissions, so only the current student's grades are held
+ * in memory. A department export writes one section per course, each starting with
+ * its own header row and separated by a blank line.
+ */
+@Service
+@RequiredArgsConstructor
+public class GradebookExportService {
+
+    private static final int FLUSH_EVERY = 500;
+
+    private final CourseRepository courseRepository;
+    private final CourseContentRepository courseContentRepository;
+    private final EnrollmentRepository enrollmentRepository;
+
+    public boolean courseExists(Long courseId) {
+        return courseRepository.existsById(courseId);
+    }
+
+    @Transactional(readOnly = true)
+    public void writeCourseGradebook(Long courseId, Writer out) throws IOException {
+        Course course = courseRepository.findById(courseId)
+                .orElseThrow(() -> new RuntimeException("Course not found"));
+        try (Stream<Object[]> rows = enrollmentRepository.streamGradebookRowsByCourseId(courseId)) {
+            writeSections(List.of(course), rows, out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void writeDepartmentGradebook(Long departmentId, Writer out) throws IOException {
+        List<Course> courses = courseRepository.findByDepartmentId(departmentId);
+        try (Stream<Object[]> rows = enrollmentRepository.streamGradebookRowsByDepartmentId(departmentId)) {
+            writeSections(courses, rows, out);
+        }
+    }
+
+    private void writeSections(List<Course> courses, Stream<Object[]> rows, Writer out) throws IOException {
+        Layout layout = layout(courses);
+        CsvWriter csv = new CsvWriter(out);
+        // NaN marks an ungraded column, so the row's grades stay unboxed
+        double[] grades = new double[layout.columns().size()];
+
+        Section section = null;
+        long studentId = 0;
+        Object status = null;
+        Object finalGrade = null;
+        boolean pending = false;
+        int written = 0;
+
+        Iterator<Object[]> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            Object[] row = iterator.next();
+            long rowCourseId = ((Number) row[0]).longValue();
+            long rowStudentId = ((Number) row[1]).longValue();
+
+            boolean newCourse = section == null || section.courseId() != rowCourseId;
+            Section rowSection = newCourse ? layout.sections().get(rowCourseId) : section;
+            if (rowSection == null) {
+                // Course created after the layout was read; it is left out of this export
+                continue;
+            }
+            if (newCourse || studentId != rowStudentId) {
+                if (pending) {
+                    writeRow(csv, layout, section, studentId, status, finalGrade, grades);
+                    if (++written % FLUSH_EVERY == 0) {
+                        csv.flush();
+                    }
+                }
+                if (newCourse) {
+                    if (section != null) {
+                        csv.endRow();
+                    }
+                    section = rowSection;
+                    writeHeader(csv, layout, section);
+                }
+                studentId = rowStudentId;
+                status = row[2];
+                finalGrade = row[3];
+                Arrays.fill(grades, section.start(), section.end(), Double.NaN);
+                pending = true;
+            }
+
+            if (row[4] != null) {
+                Integer column = layout.columnIndex().get(((Number) row[4]).longValue());
+                if (column != null && row[5] != null) {
+                    grades[column] = ((Number) row[5]).doubleValue();
+                }
+            }
+        }
+        if (pending) {
+            writeRow(csv, layout, section, studentId, status, finalGrade, grades);
+        } else if (courses.size() == 1) {
+            // Empty single-course export still gets its header
+            writeHeader(csv, layout, layout.sections().get(courses.get(0).getId()));
+        }
+        csv.flush();
+    }
+
+    private void writeHeader(CsvWriter csv, Layout layout, Section section) throws IOException {
+        csv.field("course_code").field("student_id").field("status");
+        for (int i = section.start(); i < section.end(); i++) {
+            csv.field(layout.columns().get(i).title());
+        }
+        csv.field("final_grade");
+        csv.endRow();
+    }
+
+    private void writeRow(CsvWriter csv, Layout layout, Section section, long studentId,
+                          Object status, Object finalGrade, double[] grades) throws IOException {
+        csv.field(section.courseCode()).field(studentId).field((CharSequence) status);
+        for (int i = section.start(); i < section.end(); i++) {
+            csv.grade(grades[i]);
+        }
+        csv.field((CharSequence) finalGrade);
+        csv.endRow();
+    }
+
+    /**
+     * Lays the assignment columns of every course out in one array; each course owns a
+     * contiguous slice of it.
+     */
+    private Layout layout(List<Course> courses) {
+        Map<Long, Section> sections = new HashMap<>();
+        if (courses.isEmpty()) {
+            return new Layout(List.of(), Map.of(), sections);
+        }
+        List<GradebookColumn> columns = courseContentRepository.findGradebookColumns(
+                courses.stream().map(Course::getId).toList(), ContentType.ASSIGNMENT);
+
+        Map<Long, Integer> columnIndex = new HashMap<>();
+        Map<Long, int[]> ranges = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            GradebookColumn column = columns.get(i);
+            columnIndex.put(column.contentId(), i);
+            int index = i;
+            ranges.computeIfAbsent(column.courseId(), id -> new int[] {index, index})[1] = i + 1;
+        }
+        for (Course course : courses) {
+            int[] range = ranges.getOrDefault(course.getId(), new int[] {0, 0});
+            sections.put(course.getId(), new Section(course.getId(), course.getCode(), range[0], range[1]));
+        }
+        return new Layout(columns, columnIndex, sections);
+    }
+
+    private record Layout(List<GradebookColumn> columns, Map<Long, Integer> columnIndex, Map<Long, Section> sections) {
+    }
+
+    private record Section(long courseId, String courseCode, int start, int end) {
+    }
+}
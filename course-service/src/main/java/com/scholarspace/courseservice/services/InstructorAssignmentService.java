@@ -105,6 +105,6 @@ public class InstructorAssignmentService {
     }
 
     public boolean isInstructorAssignedToCourse(Long instructorId, Long courseId) {
-        return courseInstructorRepository.findByCourse_IdAndInstructorId(courseId, instructorId).isPresent();
+        return courseInstructorRepository.existsByCourse_IdAndInstructorId(courseId, instructorId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,111 @@
+package com.scholarspace.courseservice.services;
+
+import com.scholarspace.courseservice.dto.CourseCount;
+import com.scholarspace.courseservice.dto.CourseNextDueDate;
+import com.scholarspace.courseservice.dto.CourseStatusCount;
+import com.scholarspace.courseservice.dto.CourseSummary;
+import com.scholarspace.courseservice.dto.InstructorWorkbenchResponse;
+import com.scholarspace.courseservice.models.ContentType;
+import com.scholarspace.courseservice.models.CourseInstructor;
+import com.scholarspace.courseservice.models.EnrollmentStatus;
+import com.scholarspace.courseservice.repositories.CourseContentRepository;
+import com.scholarspace.courseservice.repositories.CourseInstructorRepository;
+import com.scholarspace.courseservice.repositories.EnrollmentRepository;
+import com.scholarspace.courseservice.repositories.SubmissionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+/**
+ * Computes the instructor workbench counters with one grouped aggregate query per
+ * counter type across all of the instructor's courses, instead of loading enrollment,
+ * submission and content lists course by course.
+ */
+@Service
+@Slf4j
+public class InstructorWorkbenchService {
+
+    private final CourseInstructorRepository courseInstructorRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final SubmissionRepository submissionRepository;
+    private final CourseContentRepository courseContentRepository;
+    private final ThreadPoolTaskExecutor aggregationExecutor;
+
+    public InstructorWorkbenchService(CourseInstructorRepository courseInstructorRepository,
+                                      EnrollmentRepository enrollmentRepository,
+                                      SubmissionRepository submissionRepository,
+                                      CourseContentRepository courseContentRepository,
+                                      @Qualifier("aggregationExecutor") ThreadPoolTaskExecutor aggregationExecutor) {
+        this.courseInstructorRepository = courseInstructorRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.submissionRepository = submissionRepository;
+        this.courseContentRepository = courseContentRepository;
+        this.aggregationExecutor = aggregationExecutor;
+    }
+
+    public InstructorWorkbenchResponse getWorkbench(Long instructorId) {
+        List<CourseInstructor> assignments = courseInstructorRepository.findWithCourseByInstructorId(instructorId);
+        if (assignments.isEmpty()) {
+            return new InstructorWorkbenchResponse(instructorId, List.of());
+        }
+
+        Set<Long> courseIds = assignments.stream()
+                .map(a -> a.getCourse().getId())
+                .collect(Collectors.toSet());
+        LocalDateTime now = LocalDateTime.now();
+
+        CompletableFuture<List<CourseStatusCount>> enrollmentFuture = CompletableFuture.supplyAsync(
+                () -> enrollmentRepository.countByCourseIdsAndStatuses(
+                        courseIds, EnumSet.of(EnrollmentStatus.ACTIVE, EnrollmentStatus.PENDING)),
+                aggregationExecutor);
+        CompletableFuture<List<CourseCount>> ungradedFuture = CompletableFuture.supplyAsync(
+                () -> submissionRepository.countUngradedByCourseIds(courseIds),
+                aggregationExecutor);
+        CompletableFuture<List<CourseNextDueDate>> dueFuture = CompletableFuture.supplyAsync(
+                () -> courseContentRepository.findNextDueDateByCourseIds(courseIds, ContentType.ASSIGNMENT, now),
+                aggregationExecutor);
+
+        try {
+            CompletableFuture.allOf(enrollmentFuture, ungradedFuture, dueFuture).join();
+        } catch (CompletionException e) {
+            log.error("Failed to load workbench for instructor ID: {}", instructorId, e.getCause());
+            throw new RuntimeException("Failed to load instructor workbench: " + e.getCause().getMessage());
+        }
+
+        Map<Long, Long> activeCounts = new HashMap<>();
+        Map<Long, Long> pendingCounts = new HashMap<>();
+        for (CourseStatusCount row : enrollmentFuture.join()) {
+            (row.status() == EnrollmentStatus.ACTIVE ? activeCounts : pendingCounts).put(row.courseId(), row.count());
+        }
+        Map<Long, Long> ungradedCounts = ungradedFuture.join().stream()
+                .collect(Collectors.toMap(CourseCount::courseId, CourseCount::count));
+        Map<Long, LocalDateTime> nextDueDates = dueFuture.join().stream()
+                .collect(Collectors.toMap(CourseNextDueDate::courseId, CourseNextDueDate::nextDueDate));
+
+        List<InstructorWorkbenchResponse.CourseCounters> courses = assignments.stream()
+                .map(a -> {
+                    Long courseId = a.getCourse().getId();
+                    return new InstructorWorkbenchResponse.CourseCounters(
+                            CourseSummary.from(a.getCourse()),
+                            a.getRole(),
+                            activeCounts.getOrDefault(courseId, 0L),
+                            pendingCounts.getOrDefault(courseId, 0L),
+                            ungradedCounts.getOrDefault(courseId, 0L),
+                            nextDueDates.get(courseId));
+                })
+                .toList();
+
+        return new InstructorWorkbenchResponse(instructorId, courses);
+    }
+}
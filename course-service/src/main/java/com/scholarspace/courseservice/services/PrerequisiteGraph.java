@@ -0,0 +1,297 @@
+package com.scholarspace.courseservice.services;
+
+import com.scholarspace.courseservice.repositories.CourseRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory copy of {@code course_prerequisites} as a DAG. Every course that takes part
+ * in a prerequisite relation gets a position; each position has a bitset of its direct
+ * prerequisites and a precomputed bitset of its transitive closure, so eligibility
+ * checks are a single {@code andNot}.
+ *
+ * <p>Readers use an immutable snapshot. Changes are applied under a lock by copying the
+ * snapshot and recomputing only the closures that contain the changed course. The graph
+ * is also reloaded periodically to pick up edits made through other instances.
+ */
+@Component
+@Slf4j
+public class PrerequisiteGraph {
+
+    private final CourseRepository courseRepository;
+    private final Object writeLock = new Object();
+    private volatile Snapshot snapshot;
+    private final ScheduledExecutorService reloader = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "prerequisite-graph-reload");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PrerequisiteGraph(CourseRepository courseRepository,
+                             @Value("${app.prerequisites.reload-minutes:10}") long reloadMinutes) {
+        this.courseRepository = courseRepository;
+        reloader.scheduleWithFixedDelay(this::reloadQuietly, reloadMinutes, reloadMinutes, TimeUnit.MINUTES);
+    }
+
+    public boolean hasPrerequisites(Long courseId) {
+        Snapshot current = snapshot();
+        Integer position = current.index.get(courseId);
+        return position != null && !current.closure[position].isEmpty();
+    }
+
+    public List<Long> getDirectPrerequisites(Long courseId) {
+        Snapshot current = snapshot();
+        Integer position = current.index.get(courseId);
+        return position == null ? List.of() : current.toIds(current.direct[position]);
+    }
+
+    public List<Long> getAllPrerequisites(Long courseId) {
+        Snapshot current = snapshot();
+        Integer position = current.index.get(courseId);
+        return position == null ? List.of() : current.toIds(current.closure[position]);
+    }
+
+    /**
+     * Prerequisites anywhere in the course's chain that are not among the given completed courses.
+     */
+    public List<Long> findMissingPrerequisites(Long courseId, Collection<Long> completedCourseIds) {
+        Snapshot current = snapshot();
+        Integer position = current.index.get(courseId);
+        if (position == null || current.closure[position].isEmpty()) {
+            return List.of();
+        }
+        BitSet missing = (BitSet) current.closure[position].clone();
+        for (Long completed : completedCourseIds) {
+            Integer completedPosition = current.index.get(completed);
+            if (completedPosition != null) {
+                missing.clear(completedPosition);
+            }
+        }
+        return current.toIds(missing);
+    }
+
+    /**
+     * Replaces the course's direct prerequisites after {@code persist} has stored them.
+     * Nothing is persisted if the new edges would close a cycle.
+     *
+     * @throws RuntimeException if a prerequisite is the course itself or depends on it
+     */
+    public void replacePrerequisites(Long courseId, Collection<Long> prerequisiteIds, Runnable persist) {
+        synchronized (writeLock) {
+            Snapshot current = snapshot();
+            Integer existing = current.index.get(courseId);
+            for (Long prerequisiteId : prerequisiteIds) {
+                Integer position = current.index.get(prerequisiteId);
+                if (prerequisiteId.equals(courseId)
+                        || (existing != null && position != null && current.closure[position].get(existing))) {
+                    throw new RuntimeException("Prerequisite " + prerequisiteId + " would create a cycle");
+                }
+            }
+            persist.run();
+
+            Builder builder = new Builder(current);
+            int course = builder.position(courseId);
+            BitSet direct = new BitSet();
+            for (Long prerequisiteId : prerequisiteIds) {
+                direct.set(builder.position(prerequisiteId));
+            }
+            builder.direct[course] = direct;
+            snapshot = builder.recompute(course);
+        }
+    }
+
+    /**
+     * Drops a deleted course, both as a course and as anyone's prerequisite.
+     */
+    public void removeCourse(Long courseId) {
+        synchronized (writeLock) {
+            Snapshot current = snapshot();
+            Integer course = current.index.get(courseId);
+            if (course == null) {
+                return;
+            }
+            Builder builder = new Builder(current);
+            builder.direct[course] = new BitSet();
+            for (int i = 0; i < builder.size; i++) {
+                if (builder.direct[i].get(course)) {
+                    BitSet direct = (BitSet) builder.direct[i].clone();
+                    direct.clear(course);
+                    builder.direct[i] = direct;
+                }
+            }
+            snapshot = builder.recompute(course);
+        }
+    }
+
+    public void reload() {
+        synchronized (writeLock) {
+            Map<Long, Set<Long>> edges = new HashMap<>();
+            for (Object[] row : courseRepository.findAllPrerequisiteEdges()) {
+                edges.computeIfAbsent(((Number) row[0]).longValue(), id -> new LinkedHashSet<>())
+                        .add(((Number) row[1]).longValue());
+            }
+            snapshot = Snapshot.build(edges);
+            log.debug("Loaded prerequisite graph with {} courses", snapshot.ids.length);
+        }
+    }
+
+    private void reloadQuietly() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.warn("Failed to reload prerequisite graph: {}", e.getMessage());
+        }
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (writeLock) {
+                if (snapshot == null) {
+                    reload();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reloader.shutdownNow();
+    }
+
+    private static final class Snapshot {
+        final Map<Long, Integer> index;
+        final long[] ids;
+        final BitSet[] direct;
+        final BitSet[] closure;
+
+        Snapshot(Map<Long, Integer> index, long[] ids, BitSet[] direct, BitSet[] closure) {
+            this.index = index;
+            this.ids = ids;
+            this.direct = direct;
+            this.closure = closure;
+        }
+
+        List<Long> toIds(BitSet positions) {
+            List<Long> result = new ArrayList<>(positions.cardinality());
+            for (int i = positions.nextSetBit(0); i >= 0; i = positions.nextSetBit(i + 1)) {
+                result.add(ids[i]);
+            }
+            return result;
+        }
+
+        static Snapshot build(Map<Long, Set<Long>> edges) {
+            Builder builder = new Builder(new Snapshot(Map.of(), new long[0], new BitSet[0], new BitSet[0]));
+            edges.forEach((courseId, prerequisites) -> {
+                int course = builder.position(courseId);
+                for (Long prerequisiteId : prerequisites) {
+                    builder.direct[course].set(builder.position(prerequisiteId));
+                }
+            });
+            BitSet all = new BitSet();
+            all.set(0, builder.size);
+            return builder.recomputeAll(all);
+        }
+    }
+
+    /**
+     * Mutable copy of a snapshot. Bitsets are shared with the source snapshot until
+     * replaced, so changed positions must get new bitsets rather than be mutated.
+     */
+    private static final class Builder {
+        final Map<Long, Integer> index;
+        long[] ids;
+        BitSet[] direct;
+        BitSet[] closure;
+        int size;
+
+        Builder(Snapshot source) {
+            this.index = new HashMap<>(source.index);
+            this.size = source.ids.length;
+            int capacity = Math.max(16, size + 1);
+            this.ids = Arrays.copyOf(source.ids, capacity);
+            this.direct = Arrays.copyOf(source.direct, capacity);
+            this.closure = Arrays.copyOf(source.closure, capacity);
+        }
+
+        int position(Long courseId) {
+            Integer existing = index.get(courseId);
+            if (existing != null) {
+                return existing;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                direct = Arrays.copyOf(direct, size * 2);
+                closure = Arrays.copyOf(closure, size * 2);
+            }
+            ids[size] = courseId;
+            direct[size] = new BitSet();
+            closure[size] = new BitSet();
+            index.put(courseId, size);
+            return size++;
+        }
+
+        /**
+         * Recomputes the changed course and every course whose closure contained it.
+         */
+        Snapshot recompute(int changed) {
+            BitSet affected = new BitSet();
+            affected.set(changed);
+            for (int i = 0; i < size; i++) {
+                if (closure[i].get(changed)) {
+                    affected.set(i);
+                }
+            }
+            return recomputeAll(affected);
+        }
+
+        Snapshot recomputeAll(BitSet affected) {
+            BitSet[] updated = Arrays.copyOf(closure, size);
+            BitSet done = new BitSet();
+            BitSet visiting = new BitSet();
+            for (int i = affected.nextSetBit(0); i >= 0; i = affected.nextSetBit(i + 1)) {
+                visit(i, affected, updated, done, visiting);
+            }
+            return new Snapshot(index, Arrays.copyOf(ids, size), Arrays.copyOf(direct, size), updated);
+        }
+
+        private BitSet visit(int course, BitSet affected, BitSet[] updated, BitSet done, BitSet visiting) {
+            if (!affected.get(course) || done.get(course)) {
+                return updated[course];
+            }
+            visiting.set(course);
+            BitSet result = new BitSet();
+            BitSet edges = direct[course];
+            for (int p = edges.nextSetBit(0); p >= 0; p = edges.nextSetBit(p + 1)) {
+                if (visiting.get(p)) {
+                    // Only possible with rows written outside this service; ignore the edge that closes the cycle
+                    log.warn("Prerequisite cycle between courses {} and {}, ignoring the edge", ids[course], ids[p]);
+                    continue;
+                }
+                result.set(p);
+                result.or(visit(p, affected, updated, done, visiting));
+            }
+            visiting.clear(course);
+            done.set(course);
+            updated[course] = result;
+            return result;
+        }
+    }
+}
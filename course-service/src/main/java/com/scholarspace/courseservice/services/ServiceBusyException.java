@@ -0,0 +1,19 @@
+package com.scholarspace.courseservice.services;
+
+/**
+ * A request could not be served right now but may succeed if retried; controllers
+ * answer it with 503 and a Retry-After header.
+ */
+public class ServiceBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
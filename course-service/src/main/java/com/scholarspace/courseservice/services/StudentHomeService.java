@@ -0,0 +1,102 @@
+package com.scholarspace.courseservice.services;
+
+import com.scholarspace.courseservice.dto.ContentSummary;
+import com.scholarspace.courseservice.dto.CourseSummary;
+import com.scholarspace.courseservice.dto.StudentHomeResponse;
+import com.scholarspace.courseservice.models.ContentType;
+import com.scholarspace.courseservice.models.Enrollment;
+import com.scholarspace.courseservice.models.EnrollmentStatus;
+import com.scholarspace.courseservice.repositories.CourseContentRepository;
+import com.scholarspace.courseservice.repositories.EnrollmentRepository;
+import com.scholarspace.courseservice.repositories.SubmissionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Builds the student home page payload with a fixed number of queries: one for the
+ * active enrollments (courses join-fetched), then recent content, upcoming assignments
+ * and submitted assignment ids in parallel, each batched over all enrolled courses.
+ */
+@Service
+@Slf4j
+public class StudentHomeService {
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final CourseContentRepository courseContentRepository;
+    private final SubmissionRepository submissionRepository;
+    private final ThreadPoolTaskExecutor aggregationExecutor;
+
+    public StudentHomeService(EnrollmentRepository enrollmentRepository,
+                              CourseContentRepository courseContentRepository,
+                              SubmissionRepository submissionRepository,
+                              @Qualifier("aggregationExecutor") ThreadPoolTaskExecutor aggregationExecutor) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.courseContentRepository = courseContentRepository;
+        this.submissionRepository = submissionRepository;
+        this.aggregationExecutor = aggregationExecutor;
+    }
+
+    public StudentHomeResponse getStudentHome(Long studentId, int recentLimit, int upcomingLimit) {
+        List<Enrollment> enrollments = enrollmentRepository
+                .findWithCourseByStudentIdAndStatus(studentId, EnrollmentStatus.ACTIVE);
+
+        if (enrollments.isEmpty()) {
+            return new StudentHomeResponse(studentId, List.of(), List.of(), List.of());
+        }
+
+        Map<Long, CourseSummary> courses = new HashMap<>();
+        List<StudentHomeResponse.EnrollmentItem> enrollmentItems = enrollments.stream()
+                .map(e -> {
+                    CourseSummary course = courses.computeIfAbsent(e.getCourse().getId(),
+                            id -> CourseSummary.from(e.getCourse()));
+                    return new StudentHomeResponse.EnrollmentItem(
+                            e.getEnrollmentId(), e.getStatus(), e.getEnrollmentDate(), e.getGrade(), course);
+                })
+                .toList();
+        Set<Long> courseIds = courses.keySet();
+        LocalDateTime now = LocalDateTime.now();
+
+        CompletableFuture<List<ContentSummary>> recentFuture = CompletableFuture.supplyAsync(
+                () -> courseContentRepository.findRecentSummariesByCourseIds(courseIds, PageRequest.of(0, recentLimit)),
+                aggregationExecutor);
+        CompletableFuture<List<ContentSummary>> dueFuture = CompletableFuture.supplyAsync(
+                () -> courseContentRepository.findDueSummariesByCourseIds(
+                        courseIds, ContentType.ASSIGNMENT, now, PageRequest.of(0, upcomingLimit)),
+                aggregationExecutor);
+        CompletableFuture<Set<Long>> submittedFuture = CompletableFuture.supplyAsync(
+                () -> new HashSet<>(submissionRepository.findSubmittedContentIds(studentId, courseIds)),
+                aggregationExecutor);
+
+        try {
+            CompletableFuture.allOf(recentFuture, dueFuture, submittedFuture).join();
+        } catch (CompletionException e) {
+            log.error("Failed to load student home for student ID: {}", studentId, e.getCause());
+            throw new RuntimeException("Failed to load student home: " + e.getCause().getMessage());
+        }
+
+        Set<Long> submitted = submittedFuture.join();
+        List<StudentHomeResponse.UpcomingAssignment> upcoming = dueFuture.join().stream()
+                .map(c -> new StudentHomeResponse.UpcomingAssignment(
+                        c.contentId(),
+                        c.courseId(),
+                        courses.get(c.courseId()).code(),
+                        c.title(),
+                        c.dueDate(),
+                        submitted.contains(c.contentId())))
+                .toList();
+
+        return new StudentHomeResponse(studentId, enrollmentItems, recentFuture.join(), upcoming);
+    }
+}
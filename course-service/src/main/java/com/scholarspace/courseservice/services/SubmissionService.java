@@ -36,20 +36,12 @@ public class SubmissionService {
                 .orElseThrow(() -> new RuntimeException("Assignment not found"));
 
         // Validate student is enrolled in the course
-        List<com.scholarspace.courseservice.models.Enrollment> enrollments = 
-                enrollmentService.getActiveEnrollmentsByStudent(studentId);
-        
-        boolean isEnrolled = enrollments.stream()
-                .anyMatch(e -> e.getCourse().getId().equals(assignment.getCourse().getId()));
-        
-        if (!isEnrolled) {
+        if (!enrollmentService.isStudentActivelyEnrolled(studentId, assignment.getCourse().getId())) {
             throw new RuntimeException("Student is not enrolled in this course");
         }
 
         // Check if submission already exists
-        Optional<Submission> existing = submissionRepository
-                .findByAssignment_ContentIdAndStudentId(contentId, studentId);
-        if (existing.isPresent()) {
+        if (submissionRepository.existsByAssignment_ContentIdAndStudentId(contentId, studentId)) {
             throw new RuntimeException("Assignment already submitted");
         }
 
@@ -0,0 +1,141 @@
+package com.scholarspace.courseservice.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scholarspace.courseservice.models.ContentType;
+import com.scholarspace.courseservice.models.Course;
+import com.scholarspace.courseservice.models.CourseContent;
+import com.scholarspace.courseservice.models.Enrollment;
+import com.scholarspace.courseservice.models.EnrollmentStatus;
+import com.scholarspace.courseservice.models.Submission;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Serializes the same list responses as entity graphs, as the endpoints used to return
+ * them, and as the list views, with the mapper settings Spring Boot uses. Logs the bytes
+ * and median serialization time of each.
+ */
+class ListViewSerializationTests {
+
+    private static final Logger log = LoggerFactory.getLogger(ListViewSerializationTests.class);
+
+    private static final int ROWS = 10_000;
+    private static final int COURSES = 20;
+    private static final int CONTENTS_PER_COURSE = 10;
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 10, 6, 9, 0);
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final List<CourseContent> contents = new ArrayList<>();
+    private final List<Enrollment> enrollments = new ArrayList<>();
+    private final List<Submission> submissions = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (long c = 1; c <= COURSES; c++) {
+            Course course = new Course("CS" + (100 + c), "Course " + c,
+                    "An introductory course covering the fundamentals of the subject", 3, "Fall", "2025", c % 4 + 1);
+            course.setId(c);
+            course.setCreatedAt(NOW);
+            for (int i = 0; i < CONTENTS_PER_COURSE; i++) {
+                long contentId = contents.size() + 1L;
+                CourseContent content = new CourseContent(course, "Assignment " + i,
+                        "Read chapter " + i + " and answer the questions", ContentType.ASSIGNMENT,
+                        "/uploads/content-" + contentId + ".pdf", "application/pdf", 1000L + c);
+                content.setContentId(contentId);
+                content.setPublishedAt(NOW);
+                content.setDueDate(NOW.plusDays(7));
+                content.setCreatedAt(NOW);
+                contents.add(content);
+            }
+        }
+        for (long i = 0; i < ROWS; i++) {
+            CourseContent content = contents.get((int) (i % contents.size()));
+            Enrollment enrollment = new Enrollment(content.getCourse(), 5000 + i);
+            enrollment.setEnrollmentId(i + 1);
+            enrollment.setEnrollmentDate(NOW);
+            enrollment.setStatus(EnrollmentStatus.ACTIVE);
+            enrollment.setCreatedAt(NOW);
+            enrollments.add(enrollment);
+
+            Submission submission = new Submission(content, 5000 + i, "/uploads/submission-" + (i + 1) + ".pdf");
+            submission.setSubmissionId(i + 1);
+            submission.setSubmissionDate(NOW);
+            submission.setGrade(87.5);
+            submission.setFeedback("Well argued");
+            submission.setGradedBy(content.getCreatedBy());
+            submission.setGradedAt(NOW);
+            submission.setCreatedAt(NOW);
+            submissions.add(submission);
+        }
+    }
+
+    @Test
+    void enrollmentViewsAreSmallerThanEntities() throws Exception {
+        List<EnrollmentView> views = enrollments.stream().map(e -> EnrollmentView.from(e, Set.of())).toList();
+
+        assertThat(compare("enrollments", enrollments, views)).isLessThan(0.5);
+    }
+
+    @Test
+    void submissionViewsAreSmallerThanEntities() throws Exception {
+        List<SubmissionView> views = submissions.stream().map(s -> SubmissionView.from(s, Set.of())).toList();
+
+        assertThat(compare("submissions", submissions, views)).isLessThan(0.3);
+    }
+
+    @Test
+    void contentViewsAreSmallerThanEntities() throws Exception {
+        List<CourseContentView> views = contents.stream().map(c -> CourseContentView.from(c, Set.of())).toList();
+
+        assertThat(compare("course contents", contents, views)).isLessThan(0.7);
+    }
+
+    @Test
+    void expandedViewsStaySmallerThanEntities() throws Exception {
+        List<SubmissionView> views = submissions.stream()
+                .map(s -> SubmissionView.from(s, Set.of(Expand.ASSIGNMENT, Expand.COURSE)))
+                .toList();
+
+        assertThat(compare("expanded submissions", submissions, views)).isLessThan(1.0);
+    }
+
+    /**
+     * Logs both sizes and times and returns the views' size as a fraction of the entities'.
+     */
+    private double compare(String name, List<?> entities, List<?> views) throws Exception {
+        int entityBytes = objectMapper.writeValueAsBytes(entities).length;
+        int viewBytes = objectMapper.writeValueAsBytes(views).length;
+        long entityMicros = medianMicros(entities);
+        long viewMicros = medianMicros(views);
+        log.info("{} x{}: entities {} bytes in {} us, views {} bytes in {} us ({}% of the bytes, {}% of the time)",
+                name, entities.size(), entityBytes, entityMicros, viewBytes, viewMicros,
+                100L * viewBytes / entityBytes, 100L * viewMicros / Math.max(1, entityMicros));
+        return (double) viewBytes / entityBytes;
+    }
+
+    private long medianMicros(List<?> rows) throws Exception {
+        long[] samples = new long[15];
+        for (int i = 0; i < 10; i++) {
+            objectMapper.writeValueAsBytes(rows);  // Warm up the serializers and the JIT
+        }
+        for (int i = 0; i < samples.length; i++) {
+            long start = System.nanoTime();
+            objectMapper.writeValueAsBytes(rows);
+            samples[i] = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+        }
+        Arrays.sort(samples);
+        return samples[samples.length / 2];
+    }
+}
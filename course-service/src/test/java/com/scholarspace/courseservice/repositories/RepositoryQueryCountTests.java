@@ -0,0 +1,142 @@
+package com.scholarspace.courseservice.repositories;
+
+import com.scholarspace.courseservice.models.ContentType;
+import com.scholarspace.courseservice.models.Course;
+import com.scholarspace.courseservice.models.CourseContent;
+import com.scholarspace.courseservice.models.CourseInstructor;
+import com.scholarspace.courseservice.models.Enrollment;
+import com.scholarspace.courseservice.models.EnrollmentStatus;
+import com.scholarspace.courseservice.models.InstructorRole;
+import com.scholarspace.courseservice.models.Submission;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the fetch plans of the list queries behind the course-service endpoints:
+ * each call must issue exactly one SQL statement no matter how many distinct
+ * courses the returned rows reference.
+ */
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class RepositoryQueryCountTests {
+
+    private static final int COURSES = 5;
+    private static final long STUDENT_ID = 7L;
+    private static final long INSTRUCTOR_ID = 3L;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private CourseContentRepository courseContentRepository;
+
+    @Autowired
+    private CourseInstructorRepository courseInstructorRepository;
+
+    @Autowired
+    private SubmissionRepository submissionRepository;
+
+    private Statistics statistics;
+    private Long firstCourseId;
+    private Long firstAssignmentId;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < COURSES; i++) {
+            Course course = new Course("CS" + i, "Course " + i, "Description " + i, 3, "Fall", "2025", 1L);
+            entityManager.persist(course);
+
+            Enrollment enrollment = new Enrollment(course, STUDENT_ID);
+            enrollment.setStatus(EnrollmentStatus.ACTIVE);
+            entityManager.persist(enrollment);
+            entityManager.persist(new Enrollment(course, STUDENT_ID + 1));
+
+            entityManager.persist(new CourseInstructor(course, INSTRUCTOR_ID, InstructorRole.PRIMARY));
+
+            CourseContent assignment = new CourseContent(course, "Assignment " + i, "", ContentType.ASSIGNMENT,
+                    null, null, INSTRUCTOR_ID);
+            entityManager.persist(assignment);
+            entityManager.persist(new Submission(assignment, STUDENT_ID, null));
+
+            if (i == 0) {
+                firstCourseId = course.getId();
+                firstAssignmentId = assignment.getContentId();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void enrollmentListQueriesUseSingleStatement() {
+        assertSingleStatement(() -> enrollmentRepository.findByStudentId(STUDENT_ID), COURSES);
+        assertSingleStatement(() -> enrollmentRepository.findByStudentIdAndStatus(STUDENT_ID, EnrollmentStatus.ACTIVE), COURSES);
+        assertSingleStatement(() -> enrollmentRepository.findByStatus(EnrollmentStatus.PENDING), COURSES);
+        assertSingleStatement(() -> enrollmentRepository.findByCourse_Id(firstCourseId), 2);
+        assertSingleStatement(() -> enrollmentRepository.findByCourse_IdAndStatus(firstCourseId, EnrollmentStatus.ACTIVE), 1);
+        assertSingleStatement(() -> enrollmentRepository.findAll(), COURSES * 2);
+    }
+
+    @Test
+    void courseContentListQueriesUseSingleStatement() {
+        assertSingleStatement(() -> courseContentRepository.findByCreatedBy(INSTRUCTOR_ID), COURSES);
+        assertSingleStatement(() -> courseContentRepository.findByCourse_Id(firstCourseId), 1);
+        assertSingleStatement(() -> courseContentRepository.findByCourse_IdOrderByCreatedAtDesc(firstCourseId), 1);
+        assertSingleStatement(() -> courseContentRepository.findByCourse_IdAndContentType(firstCourseId, ContentType.ASSIGNMENT), 1);
+    }
+
+    @Test
+    void courseInstructorListQueriesUseSingleStatement() {
+        assertSingleStatement(() -> courseInstructorRepository.findByInstructorId(INSTRUCTOR_ID), COURSES);
+        assertSingleStatement(() -> courseInstructorRepository.findByCourse_Id(firstCourseId), 1);
+    }
+
+    @Test
+    void submissionListQueriesUseSingleStatement() {
+        assertSingleStatement(() -> submissionRepository.findByStudentId(STUDENT_ID), COURSES);
+        assertSingleStatement(() -> submissionRepository.findByGradedByIsNull(), COURSES);
+        assertSingleStatement(() -> submissionRepository.findByAssignment_Course_Id(firstCourseId), 1);
+        assertSingleStatement(() -> submissionRepository.findByAssignment_ContentId(firstAssignmentId), 1);
+    }
+
+    @Test
+    void submissionEligibilityChecksUseSingleStatement() {
+        assertSingleStatement(() -> List.of(enrollmentRepository
+                .existsByCourse_IdAndStudentIdAndStatus(firstCourseId, STUDENT_ID, EnrollmentStatus.ACTIVE)), 1);
+        assertSingleStatement(() -> List.of(submissionRepository
+                .existsByAssignment_ContentIdAndStudentId(firstAssignmentId, STUDENT_ID)), 1);
+    }
+
+    private void assertSingleStatement(Supplier<List<?>> query, int expectedRows) {
+        entityManager.clear();
+        statistics.clear();
+
+        List<?> rows = query.get();
+
+        assertThat(rows).hasSize(expectedRows);
+        assertThat(statistics.getPrepareStatementCount())
+                .as("SQL statements issued")
+                .isEqualTo(1);
+    }
+}
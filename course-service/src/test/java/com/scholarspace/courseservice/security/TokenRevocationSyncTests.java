@@ -0,0 +1,70 @@
+package com.scholarspace.courseservice.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenRevocationSyncTests {
+
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+    private TokenRevocationSync sync;
+
+    @AfterEach
+    void tearDown() {
+        sync.shutdown();
+    }
+
+    @Test
+    void tokensAreRejectedUntilTheFirstPullSucceeds() {
+        long now = System.currentTimeMillis();
+        when(restTemplate.getForObject(anyString(), eq(TokenRevocationSync.Delta.class), anyLong()))
+                .thenThrow(new ResourceAccessException("user-service is not registered yet"));
+        // Only the initial pull runs on the schedule; later ones are triggered by the test
+        sync = new TokenRevocationSync(restTemplate, "http://user-service/internal/revocations", 3_600);
+
+        verify(restTemplate, timeout(5_000)).getForObject(anyString(), eq(TokenRevocationSync.Delta.class), anyLong());
+        assertThat(sync.isRevoked(7L, "t1", new Date(now))).isTrue();
+
+        // Restubbed with doReturn, since the current stub throws
+        doReturn(new TokenRevocationSync.Delta(3, List.of(new TokenRevocationSet.Revocation(
+                TokenRevocationSet.Revocation.USER, "8", now, now + 3_600_000))))
+                .when(restTemplate).getForObject(anyString(), eq(TokenRevocationSync.Delta.class), anyLong());
+        sync.pullQuietly();
+
+        assertThat(sync.isRevoked(7L, "t1", new Date(now))).isFalse();
+        assertThat(sync.isRevoked(8L, "t2", new Date(now - 1))).isTrue();
+    }
+
+    @Test
+    void lastCopyStaysInUseWhileUserServiceIsUnreachable() {
+        long now = System.currentTimeMillis();
+        when(restTemplate.getForObject(anyString(), eq(TokenRevocationSync.Delta.class), anyLong()))
+                .thenThrow(new ResourceAccessException("connection refused"));
+        sync = new TokenRevocationSync(restTemplate, "http://user-service/internal/revocations", 3_600);
+        verify(restTemplate, timeout(5_000)).getForObject(anyString(), eq(TokenRevocationSync.Delta.class), anyLong());
+
+        doReturn(new TokenRevocationSync.Delta(1, List.of(new TokenRevocationSet.Revocation(
+                TokenRevocationSet.Revocation.TOKEN, "abc", now, now + 3_600_000))))
+                .doThrow(new ResourceAccessException("connection refused"))
+                .when(restTemplate).getForObject(anyString(), eq(TokenRevocationSync.Delta.class), anyLong());
+        sync.pullQuietly();
+        sync.pullQuietly();
+
+        assertThat(sync.isRevoked(7L, "abc", new Date(now))).isTrue();
+        assertThat(sync.isRevoked(7L, "def", new Date(now))).isFalse();
+    }
+}
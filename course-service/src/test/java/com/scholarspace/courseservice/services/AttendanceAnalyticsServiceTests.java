@@ -0,0 +1,144 @@
+package com.scholarspace.courseservice.services;
+
+import com.scholarspace.courseservice.dto.AttendanceMark;
+import com.scholarspace.courseservice.dto.AttendanceRate;
+import com.scholarspace.courseservice.dto.SessionTurnout;
+import com.scholarspace.courseservice.repositories.AttendanceRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.scholarspace.courseservice.models.AttendanceStatus.ABSENT;
+import static com.scholarspace.courseservice.models.AttendanceStatus.EXCUSED;
+import static com.scholarspace.courseservice.models.AttendanceStatus.PRESENT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AttendanceAnalyticsServiceTests {
+
+    private static final long COURSE_ID = 1L;
+    private static final LocalDate MON = LocalDate.of(2025, 10, 6);
+    private static final LocalDate TUE = MON.plusDays(1);
+    private static final LocalDate WED = MON.plusDays(2);
+    private static final LocalDate THU = MON.plusDays(3);
+
+    private AttendanceRecordRepository repository;
+    private AttendanceAnalyticsService service;
+    private List<AttendanceMark> stored;
+
+    /**
+     * The stored roster:
+     * <pre>
+     *        MON TUE WED THU
+     *   10    P   P   P   A
+     *   20    P   A   A   E
+     *   30    E   E   P   P
+     *   40    E   E   -   -
+     * </pre>
+     */
+    @BeforeEach
+    void setUp() {
+        stored = new ArrayList<>(List.of(
+                new AttendanceMark(10L, MON, PRESENT), new AttendanceMark(10L, TUE, PRESENT),
+                new AttendanceMark(10L, WED, PRESENT), new AttendanceMark(10L, THU, ABSENT),
+                new AttendanceMark(20L, MON, PRESENT), new AttendanceMark(20L, TUE, ABSENT),
+                new AttendanceMark(20L, WED, ABSENT), new AttendanceMark(20L, THU, EXCUSED),
+                new AttendanceMark(30L, MON, EXCUSED), new AttendanceMark(30L, TUE, EXCUSED),
+                new AttendanceMark(30L, WED, PRESENT), new AttendanceMark(30L, THU, PRESENT),
+                new AttendanceMark(40L, MON, EXCUSED), new AttendanceMark(40L, TUE, EXCUSED)));
+        repository = mock(AttendanceRecordRepository.class);
+        // Returns a copy, as a fresh query would
+        when(repository.findMarksByCourseId(COURSE_ID)).thenAnswer(invocation -> List.copyOf(stored));
+        service = new AttendanceAnalyticsService(repository, 10, 3600);
+    }
+
+    @Test
+    void ratesAndTurnoutMatchTheRoster() {
+        assertThat(service.getStudentRates(COURSE_ID)).containsExactly(
+                new AttendanceRate(10L, 3, 1, 0, 0.75),
+                new AttendanceRate(20L, 1, 2, 1, 1.0 / 3),
+                new AttendanceRate(30L, 2, 0, 2, 1.0),
+                new AttendanceRate(40L, 0, 0, 2, null));
+        assertThat(service.getSessionTurnout(COURSE_ID)).containsExactly(
+                new SessionTurnout(MON, 2, 0, 2, 1.0),
+                new SessionTurnout(TUE, 1, 1, 2, 0.5),
+                new SessionTurnout(WED, 2, 1, 0, 2.0 / 3),
+                new SessionTurnout(THU, 1, 1, 1, 0.5));
+        assertThat(service.getStudentRate(COURSE_ID, 20L)).isEqualTo(new AttendanceRate(20L, 1, 2, 1, 1.0 / 3));
+
+        verify(repository, times(1)).findMarksByCourseId(COURSE_ID);
+    }
+
+    @Test
+    void atRiskNeedsEnoughCountedSessionsBelowTheThreshold() {
+        // 10 sits exactly on the threshold, 30 has two counted sessions, 40 none
+        assertThat(service.getAtRiskStudents(COURSE_ID, 0.75, 3)).extracting(AttendanceRate::studentId)
+                .containsExactly(20L);
+        assertThat(service.getAtRiskStudents(COURSE_ID, 0.8, 2)).extracting(AttendanceRate::studentId)
+                .containsExactly(10L, 20L);
+        assertThat(service.getAtRiskStudents(COURSE_ID, 1.0, 0)).extracting(AttendanceRate::studentId)
+                .containsExactly(10L, 20L);
+    }
+
+    @Test
+    void marksBeforeTheFirstQueryAreLeftToTheLoad() {
+        service.mark(COURSE_ID, 50L, THU, PRESENT);
+
+        verify(repository, never()).findMarksByCourseId(COURSE_ID);
+        assertThat(service.getStudentRate(COURSE_ID, 50L)).isEqualTo(new AttendanceRate(50L, 0, 0, 0, null));
+    }
+
+    @Test
+    void marksAfterTheLoadUpdateTheBitmapWithoutQuerying() {
+        service.getStudentRates(COURSE_ID);
+
+        service.mark(COURSE_ID, 20L, THU, ABSENT);
+        service.mark(COURSE_ID, 50L, THU, PRESENT);
+
+        assertThat(service.getStudentRate(COURSE_ID, 20L)).isEqualTo(new AttendanceRate(20L, 1, 3, 0, 0.25));
+        assertThat(service.getStudentRate(COURSE_ID, 50L)).isEqualTo(new AttendanceRate(50L, 1, 0, 0, 1.0));
+        assertThat(service.getSessionTurnout(COURSE_ID)).last().isEqualTo(new SessionTurnout(THU, 2, 2, 0, 0.5));
+        verify(repository, times(1)).findMarksByCourseId(COURSE_ID);
+    }
+
+    @Test
+    void markingTheSameStatusTwiceIsIdempotent() {
+        service.getStudentRates(COURSE_ID);
+
+        service.mark(COURSE_ID, 10L, THU, ABSENT);
+
+        assertThat(service.getStudentRate(COURSE_ID, 10L)).isEqualTo(new AttendanceRate(10L, 3, 1, 0, 0.75));
+    }
+
+    @Test
+    void evictedCourseIsReloadedFromTheDatabase() {
+        service.getStudentRates(COURSE_ID);
+        stored.add(new AttendanceMark(50L, THU, PRESENT));
+        assertThat(service.getStudentRate(COURSE_ID, 50L).present()).isZero();
+
+        service.evict(COURSE_ID);
+
+        assertThat(service.getStudentRate(COURSE_ID, 50L)).isEqualTo(new AttendanceRate(50L, 1, 0, 0, 1.0));
+        verify(repository, times(2)).findMarksByCourseId(COURSE_ID);
+    }
+
+    @Test
+    void failedLoadIsRetriedOnTheNextQuery() {
+        when(repository.findMarksByCourseId(COURSE_ID))
+                .thenThrow(new DataAccessResourceFailureException("database down"))
+                .thenAnswer(invocation -> List.copyOf(stored));
+
+        assertThatThrownBy(() -> service.getStudentRates(COURSE_ID))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+        assertThat(service.getStudentRates(COURSE_ID)).hasSize(4);
+    }
+}
@@ -0,0 +1,120 @@
+package com.scholarspace.courseservice.services;
+
+import com.scholarspace.courseservice.dto.AttendanceCheckIn;
+import com.scholarspace.courseservice.models.AttendanceStatus;
+import com.scholarspace.courseservice.repositories.AttendanceBatchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AttendanceCheckInBufferTests {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 10, 6);
+    private static final long COURSE_ID = 1L;
+    private static final long DELETED_COURSE_ID = 2L;
+
+    private AttendanceBatchRepository repository;
+    private AttendanceAnalyticsService analytics;
+    private AttendanceCheckInBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(AttendanceBatchRepository.class);
+        analytics = mock(AttendanceAnalyticsService.class);
+        // Flushes are triggered by shutdown() only, never by the schedule
+        buffer = new AttendanceCheckInBuffer(repository, analytics, mock(PlatformTransactionManager.class),
+                3, 10, 3_600_000);
+    }
+
+    @Test
+    void batchIsWrittenAndMarkedPresent() {
+        when(repository.insertCheckIns(anyList())).thenReturn(new boolean[] {true, false});
+
+        buffer.add(checkIn(COURSE_ID, 10L));
+        buffer.add(checkIn(COURSE_ID, 11L));
+        buffer.shutdown();
+
+        verify(analytics).mark(COURSE_ID, 10L, TODAY, AttendanceStatus.PRESENT);
+        verify(analytics, never()).mark(eq(COURSE_ID), eq(11L), eq(TODAY), eq(AttendanceStatus.PRESENT));
+        assertThat(buffer.pending()).isZero();
+    }
+
+    @Test
+    void repeatedCheckInIsQueuedOnce() {
+        buffer.add(checkIn(COURSE_ID, 10L));
+        buffer.add(checkIn(COURSE_ID, 10L));
+
+        assertThat(buffer.pending()).isEqualTo(1);
+    }
+
+    @Test
+    void fullBufferRejectsAsBusy() {
+        buffer.add(checkIn(COURSE_ID, 10L));
+        buffer.add(checkIn(COURSE_ID, 11L));
+        buffer.add(checkIn(COURSE_ID, 12L));
+
+        assertThatThrownBy(() -> buffer.add(checkIn(COURSE_ID, 13L)))
+                .isInstanceOf(ServiceBusyException.class);
+    }
+
+    @Test
+    void rowThatCannotBeWrittenIsDroppedWithoutHoldingBackTheBatch() {
+        AttendanceCheckIn good = checkIn(COURSE_ID, 10L);
+        AttendanceCheckIn orphan = checkIn(DELETED_COURSE_ID, 11L);
+        AttendanceCheckIn other = checkIn(COURSE_ID, 12L);
+        when(repository.insertCheckIns(List.of(good, orphan, other)))
+                .thenThrow(new DataIntegrityViolationException("foreign key violation"));
+        when(repository.insertCheckIns(List.of(good))).thenReturn(new boolean[] {true});
+        when(repository.insertCheckIns(List.of(orphan)))
+                .thenThrow(new DataIntegrityViolationException("foreign key violation"));
+        when(repository.insertCheckIns(List.of(other))).thenReturn(new boolean[] {true});
+
+        buffer.add(good);
+        buffer.add(orphan);
+        buffer.add(other);
+        buffer.shutdown();
+
+        verify(analytics).mark(COURSE_ID, 10L, TODAY, AttendanceStatus.PRESENT);
+        verify(analytics).mark(COURSE_ID, 12L, TODAY, AttendanceStatus.PRESENT);
+        assertThat(buffer.pending()).isZero();
+
+        // The dropped row's dedup key is released, so the student can check in again
+        buffer.add(orphan);
+        assertThat(buffer.pending()).isEqualTo(1);
+    }
+
+    @Test
+    void rowsAreKeptWhenTheDatabaseIsUnreachable() {
+        when(repository.insertCheckIns(anyList()))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        buffer.add(checkIn(COURSE_ID, 10L));
+        buffer.add(checkIn(COURSE_ID, 11L));
+        buffer.shutdown();
+
+        assertThat(buffer.pending()).isEqualTo(2);
+        // Still queued, so a repeated tap is not added twice
+        buffer.add(checkIn(COURSE_ID, 10L));
+        assertThat(buffer.pending()).isEqualTo(2);
+    }
+
+    private static AttendanceCheckIn checkIn(long courseId, long studentId) {
+        return new AttendanceCheckIn(courseId, studentId, TODAY, LocalDateTime.of(TODAY, LocalTime.NOON));
+    }
+}
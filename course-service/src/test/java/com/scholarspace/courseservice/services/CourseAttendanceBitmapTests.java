@@ -0,0 +1,105 @@
+package com.scholarspace.courseservice.services;
+
+import com.scholarspace.courseservice.dto.AttendanceRate;
+import com.scholarspace.courseservice.dto.SessionTurnout;
+import com.scholarspace.courseservice.models.AttendanceStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static com.scholarspace.courseservice.models.AttendanceStatus.ABSENT;
+import static com.scholarspace.courseservice.models.AttendanceStatus.EXCUSED;
+import static com.scholarspace.courseservice.models.AttendanceStatus.PRESENT;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CourseAttendanceBitmapTests {
+
+    private static final LocalDate MON = LocalDate.of(2025, 10, 6);
+    private static final LocalDate TUE = MON.plusDays(1);
+    private static final LocalDate WED = MON.plusDays(2);
+    private static final LocalDate THU = MON.plusDays(3);
+
+    private CourseAttendanceBitmap bitmap;
+
+    /**
+     * Three students over four sessions, marked out of order:
+     * <pre>
+     *        MON TUE WED THU
+     *   10    P   P   P   A
+     *   20    P   A   A   E
+     *   30    E   E   P   P
+     * </pre>
+     */
+    @BeforeEach
+    void setUp() {
+        bitmap = new CourseAttendanceBitmap();
+        mark(30L, THU, PRESENT);
+        mark(20L, WED, ABSENT);
+        mark(10L, MON, PRESENT);
+        mark(30L, MON, EXCUSED);
+        mark(10L, THU, ABSENT);
+        mark(20L, MON, PRESENT);
+        mark(10L, TUE, PRESENT);
+        mark(30L, WED, PRESENT);
+        mark(20L, THU, EXCUSED);
+        mark(10L, WED, PRESENT);
+        mark(30L, TUE, EXCUSED);
+        mark(20L, TUE, ABSENT);
+    }
+
+    @Test
+    void ratesLeaveExcusedSessionsOut() {
+        assertThat(bitmap.rates()).containsExactly(
+                new AttendanceRate(10L, 3, 1, 0, 0.75),
+                new AttendanceRate(20L, 1, 2, 1, 1.0 / 3),
+                new AttendanceRate(30L, 2, 0, 2, 1.0));
+    }
+
+    @Test
+    void turnoutIsCountedPerSessionInDateOrder() {
+        assertThat(bitmap.turnout()).containsExactly(
+                new SessionTurnout(MON, 2, 0, 1, 1.0),
+                new SessionTurnout(TUE, 1, 1, 1, 0.5),
+                new SessionTurnout(WED, 2, 1, 0, 2.0 / 3),
+                new SessionTurnout(THU, 1, 1, 1, 0.5));
+    }
+
+    @Test
+    void unknownStudentHasNoRate() {
+        assertThat(bitmap.rate(99L)).isEqualTo(new AttendanceRate(99L, 0, 0, 0, null));
+    }
+
+    @Test
+    void remarkingSessionReplacesEarlierStatus() {
+        mark(10L, THU, PRESENT);
+        mark(20L, THU, ABSENT);
+
+        assertThat(bitmap.rate(10L)).isEqualTo(new AttendanceRate(10L, 4, 0, 0, 1.0));
+        assertThat(bitmap.rate(20L)).isEqualTo(new AttendanceRate(20L, 1, 3, 0, 0.25));
+        assertThat(bitmap.turnout()).last().isEqualTo(new SessionTurnout(THU, 2, 1, 0, 2.0 / 3));
+    }
+
+    @Test
+    void studentsAddedLaterExtendTheRoster() {
+        // Enough students to spill the session bitsets past their first word
+        for (long studentId = 100; studentId < 300; studentId++) {
+            mark(studentId, WED, studentId % 2 == 0 ? PRESENT : ABSENT);
+        }
+        mark(299L, THU, EXCUSED);
+
+        assertThat(bitmap.rates()).hasSize(203);
+        assertThat(bitmap.rate(298L)).isEqualTo(new AttendanceRate(298L, 1, 0, 0, 1.0));
+        assertThat(bitmap.rate(299L)).isEqualTo(new AttendanceRate(299L, 0, 1, 1, 0.0));
+        assertThat(bitmap.turnout()).containsExactly(
+                new SessionTurnout(MON, 2, 0, 1, 1.0),
+                new SessionTurnout(TUE, 1, 1, 1, 0.5),
+                new SessionTurnout(WED, 102, 101, 0, 102.0 / 203),
+                new SessionTurnout(THU, 1, 1, 2, 0.5));
+        assertThat(bitmap.rate(10L)).isEqualTo(new AttendanceRate(10L, 3, 1, 0, 0.75));
+    }
+
+    private void mark(Long studentId, LocalDate sessionDate, AttendanceStatus status) {
+        bitmap.mark(studentId, sessionDate, status);
+    }
+}
@@ -0,0 +1,102 @@
+package com.scholarspace.courseservice.services;
+
+import com.scholarspace.courseservice.dto.CourseCount;
+import com.scholarspace.courseservice.dto.CourseSuggestion;
+import com.scholarspace.courseservice.models.Course;
+import com.scholarspace.courseservice.models.EnrollmentStatus;
+import com.scholarspace.courseservice.repositories.CourseRepository;
+import com.scholarspace.courseservice.repositories.EnrollmentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CourseAutocompleteIndexTests {
+
+    private final List<Course> activeCourses = new ArrayList<>();
+    private final List<CourseCount> enrollmentCounts = new ArrayList<>();
+    private CourseAutocompleteIndex index;
+
+    @BeforeEach
+    void setUp() {
+        CourseRepository courseRepository = mock(CourseRepository.class);
+        EnrollmentRepository enrollmentRepository = mock(EnrollmentRepository.class);
+        when(courseRepository.findByIsActiveTrue()).thenAnswer(invocation -> new ArrayList<>(activeCourses));
+        when(enrollmentRepository.countByStatusGroupByCourse(EnrollmentStatus.ACTIVE))
+                .thenAnswer(invocation -> new ArrayList<>(enrollmentCounts));
+        index = new CourseAutocompleteIndex(courseRepository, enrollmentRepository, 60);
+
+        add(1L, "CS101", "Introduction to Programming", 40);
+        add(2L, "CS102", "Data Structures", 120);
+        add(3L, "CS201", "Computer Systems", 80);
+        add(4L, "MATH101", "Calculus", 200);
+        add(5L, "PHYS101", "Classical Mechanics", 0);
+        index.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        index.shutdown();
+    }
+
+    @Test
+    void shortPrefixesAreRankedByActiveEnrollments() {
+        // "c" matches codes starting with cs and the titles Calculus, Computer, Classical
+        assertThat(codes(index.suggest("c", 10))).containsExactly("MATH101", "CS102", "CS201", "CS101", "PHYS101");
+        assertThat(codes(index.suggest("cs", 10))).containsExactly("CS102", "CS201", "CS101");
+    }
+
+    @Test
+    void longerPrefixesUseTheSortedKeys() {
+        assertThat(codes(index.suggest("cs1", 10))).containsExactly("CS102", "CS101");
+        assertThat(codes(index.suggest("progr", 10))).containsExactly("CS101");
+        assertThat(codes(index.suggest("101", 10))).containsExactly("MATH101", "CS101", "PHYS101");
+    }
+
+    @Test
+    void inputIsCaseAndPunctuationInsensitive() {
+        assertThat(codes(index.suggest("CS-10", 10))).containsExactly("CS102", "CS101");
+        assertThat(codes(index.suggest("  Data  ", 10))).containsExactly("CS102");
+        assertThat(index.suggest("  ", 10)).isEmpty();
+    }
+
+    @Test
+    void earlierWordsMustMatchSomeKeyOfTheCourse() {
+        assertThat(codes(index.suggest("computer sy", 10))).containsExactly("CS201");
+        assertThat(codes(index.suggest("data sy", 10))).isEmpty();
+    }
+
+    @Test
+    void limitKeepsTheBestRanked() {
+        assertThat(codes(index.suggest("c", 2))).containsExactly("MATH101", "CS102");
+        assertThat(index.suggest("c", 100)).hasSize(5);
+    }
+
+    @Test
+    void rebuildPicksUpCatalogAndPopularityChanges() {
+        add(6L, "CS301", "Compilers", 500);
+        activeCourses.removeIf(course -> course.getId().equals(2L));
+        index.rebuild();
+
+        assertThat(codes(index.suggest("cs", 10))).containsExactly("CS301", "CS201", "CS101");
+    }
+
+    private void add(Long id, String code, String title, long activeEnrollments) {
+        Course course = new Course(code, title, "", 3, "Fall", "2025", 1L);
+        course.setId(id);
+        activeCourses.add(course);
+        if (activeEnrollments > 0) {
+            enrollmentCounts.add(new CourseCount(id, activeEnrollments));
+        }
+    }
+
+    private static List<String> codes(List<CourseSuggestion> suggestions) {
+        return suggestions.stream().map(CourseSuggestion::code).toList();
+    }
+}
@@ -0,0 +1,149 @@
+package com.scholarspace.courseservice.services;
+
+import com.scholarspace.courseservice.dto.CourseSearchResult;
+import com.scholarspace.courseservice.models.Course;
+import com.scholarspace.courseservice.repositories.CourseRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CourseSearchIndexTests {
+
+    private CourseRepository courseRepository;
+    private CourseSearchIndex index;
+    private final List<Course> catalog = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        courseRepository = mock(CourseRepository.class);
+        when(courseRepository.findAll()).thenAnswer(invocation -> new ArrayList<>(catalog));
+        index = new CourseSearchIndex(courseRepository, 60);
+    }
+
+    @AfterEach
+    void tearDown() {
+        index.shutdown();
+    }
+
+    @Test
+    void tokenizeLowerCasesAndSplitsOnPunctuation() {
+        assertThat(CourseSearchIndex.tokenize("Intro to Data-Structures, (Part II)"))
+                .containsExactly("intro", "to", "data", "structures", "part", "ii");
+        assertThat(CourseSearchIndex.tokenize("  ")).isEmpty();
+        assertThat(CourseSearchIndex.tokenize(null)).isEmpty();
+    }
+
+    @Test
+    void tokenizeSplitsLetterDigitBoundaries() {
+        assertThat(CourseSearchIndex.tokenize("CS101")).containsExactly("cs101", "cs", "101");
+        assertThat(CourseSearchIndex.tokenize("MATH2B")).containsExactly("math2b", "math", "2", "b");
+        assertThat(CourseSearchIndex.tokenize("Élan 42")).containsExactly("élan", "42");
+    }
+
+    @Test
+    void codeMatchesRankAboveTitleAboveDescription() {
+        catalog.add(course(1L, "BIO100", "Cell biology", "Includes a short unit on genetics"));
+        catalog.add(course(2L, "BIO200", "Genetics", "Inheritance and variation"));
+        catalog.add(course(3L, "GENETICS1", "Advanced topics", "Research seminar"));
+        index.rebuild();
+
+        assertThat(ids(index.search("genetics", false, 10))).containsExactly(3L, 2L, 1L);
+    }
+
+    @Test
+    void rarerTermsOutweighCommonOnes() {
+        catalog.add(course(1L, "CS101", "Programming basics", "Programming"));
+        catalog.add(course(2L, "CS102", "Programming with compilers", "Programming"));
+        catalog.add(course(3L, "CS103", "Programming practice", "Programming"));
+        index.rebuild();
+
+        List<CourseSearchResult> results = index.search("programming compilers", false, 10);
+
+        assertThat(ids(results)).containsExactly(2L);
+    }
+
+    @Test
+    void everyTermMustMatchAndPrefixesMatchLongerTerms() {
+        catalog.add(course(1L, "CS201", "Data structures", "Lists, trees and graphs"));
+        catalog.add(course(2L, "CS301", "Databases", "Relational data"));
+        index.rebuild();
+
+        assertThat(ids(index.search("data", false, 10))).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(ids(index.search("struct", false, 10))).containsExactly(1L);
+        assertThat(ids(index.search("data graphs", false, 10))).containsExactly(1L);
+        assertThat(index.search("data chemistry", false, 10)).isEmpty();
+    }
+
+    @Test
+    void exactMatchScoresAbovePrefixMatch() {
+        catalog.add(course(1L, "HUM110", "Art history", ""));
+        catalog.add(course(2L, "PHY120", "Artificial light", ""));
+        index.rebuild();
+
+        List<CourseSearchResult> results = index.search("art", false, 10);
+
+        assertThat(ids(results)).containsExactly(1L, 2L);
+        assertThat(results.get(0).score()).isGreaterThan(results.get(1).score());
+    }
+
+    @Test
+    void inactiveCoursesAreHiddenUnlessRequestedAndLimitApplies() {
+        Course inactive = course(1L, "HIS100", "History", "");
+        inactive.setActive(false);
+        catalog.add(inactive);
+        catalog.add(course(2L, "HIS200", "History of science", ""));
+        catalog.add(course(3L, "HIS300", "History of art", ""));
+        index.rebuild();
+
+        assertThat(ids(index.search("history", false, 10))).doesNotContain(1L).hasSize(2);
+        assertThat(ids(index.search("history", true, 10))).contains(1L).hasSize(3);
+        assertThat(index.search("history", true, 1)).hasSize(1);
+    }
+
+    @Test
+    void updatesAndRemovalsApplyImmediately() {
+        catalog.add(course(1L, "PHY100", "Mechanics", ""));
+        index.rebuild();
+
+        index.index(course(1L, "PHY100", "Optics", ""));
+        index.index(course(2L, "PHY200", "Mechanics of fluids", ""));
+        index.remove(2L);
+
+        assertThat(index.search("mechanics", false, 10)).isEmpty();
+        assertThat(ids(index.search("optics", false, 10))).containsExactly(1L);
+    }
+
+    @Test
+    void changesMadeWhileRebuildingAreReplayed() {
+        catalog.add(course(1L, "CHE100", "Chemistry", ""));
+        catalog.add(course(2L, "CHE200", "Organic chemistry", ""));
+        // The repository is read before these changes commit, so the snapshot misses them
+        when(courseRepository.findAll()).thenAnswer(invocation -> {
+            List<Course> snapshot = new ArrayList<>(catalog);
+            index.index(course(3L, "CHE300", "Physical chemistry", ""));
+            index.remove(2L);
+            return snapshot;
+        });
+
+        index.rebuild();
+
+        assertThat(ids(index.search("chemistry", false, 10))).containsExactlyInAnyOrder(1L, 3L);
+    }
+
+    private static List<Long> ids(List<CourseSearchResult> results) {
+        return results.stream().map(result -> result.course().id()).toList();
+    }
+
+    private static Course course(Long id, String code, String title, String description) {
+        Course course = new Course(code, title, description, 3, "Fall", "2025", 1L);
+        course.setId(id);
+        return course;
+    }
+}
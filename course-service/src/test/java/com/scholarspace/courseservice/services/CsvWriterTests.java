@@ -0,0 +1,70 @@
+package com.scholarspace.courseservice.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvWriterTests {
+
+    @Test
+    void plainFieldsAreWrittenAsIs() throws IOException {
+        assertThat(write(csv -> csv.field("CS101").field("ACTIVE").endRow())).isEqualTo("CS101,ACTIVE\r\n");
+    }
+
+    @Test
+    void fieldsWithSeparatorsQuotesOrLineBreaksAreQuoted() throws IOException {
+        String out = write(csv -> csv
+                .field("Essay, part 1")
+                .field("The \"final\" draft")
+                .field("line\nbreak")
+                .field("carriage\rreturn")
+                .endRow());
+
+        assertThat(out).isEqualTo("\"Essay, part 1\",\"The \"\"final\"\" draft\",\"line\nbreak\",\"carriage\rreturn\"\r\n");
+    }
+
+    @Test
+    void nullAndEmptyFieldsAreEmpty() throws IOException {
+        assertThat(write(csv -> csv.field((CharSequence) null).empty().field("").endRow())).isEqualTo(",,\r\n");
+    }
+
+    @Test
+    void longsAreFormattedIncludingExtremes() throws IOException {
+        String out = write(csv -> csv.field(0).field(42).field(-7).field(Long.MIN_VALUE).field(Long.MAX_VALUE).endRow());
+
+        assertThat(out).isEqualTo("0,42,-7," + Long.MIN_VALUE + "," + Long.MAX_VALUE + "\r\n");
+    }
+
+    @Test
+    void gradesAreRoundedToTwoDecimalsWithoutTrailingZeros() throws IOException {
+        String out = write(csv -> csv
+                .grade(90.0).grade(85.5).grade(72.25).grade(66.666).grade(0.05).grade(-1.5)
+                .grade(Double.NaN).grade(Double.POSITIVE_INFINITY).grade(Double.NEGATIVE_INFINITY)
+                .endRow());
+
+        assertThat(out).isEqualTo("90,85.5,72.25,66.67,0.05,-1.5,,,\r\n");
+    }
+
+    @Test
+    void rowsLongerThanTheBufferAreWrittenCompletely() throws IOException {
+        String value = "x".repeat(20_000);
+
+        assertThat(write(csv -> csv.field(value).field(value).endRow())).isEqualTo(value + "," + value + "\r\n");
+    }
+
+    private static String write(CsvAction action) throws IOException {
+        StringWriter out = new StringWriter();
+        CsvWriter csv = new CsvWriter(out);
+        action.apply(csv);
+        csv.flush();
+        return out.toString();
+    }
+
+    @FunctionalInterface
+    private interface CsvAction {
+        void apply(CsvWriter csv) throws IOException;
+    }
+}
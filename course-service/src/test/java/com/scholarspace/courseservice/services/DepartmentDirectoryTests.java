@@ -0,0 +1,126 @@
+package com.scholarspace.courseservice.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DepartmentDirectoryTests {
+
+    private static final String URL = "http://institution-service/internal/departments/ids";
+
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+    private DepartmentDirectory directory;
+
+    @AfterEach
+    void tearDown() {
+        directory.shutdown();
+    }
+
+    @Test
+    void departmentsAreNotValidatedUntilTheFirstLoadSucceeds() {
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class),
+                eq(DepartmentDirectory.DepartmentIds.class)))
+                .thenThrow(new ResourceAccessException("institution-service is not registered yet"));
+        // Only the initial load runs on the schedule, and misses never queue another
+        directory = new DepartmentDirectory(restTemplate, URL, 3_600, 3_600);
+        verifyLoads(1);
+
+        assertThatThrownBy(() -> directory.exists(1L)).isInstanceOf(ServiceBusyException.class);
+
+        // Restubbed with doReturn, since the current stub throws
+        doReturn(ids("v1", 1L, 2L)).when(restTemplate).exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class),
+                eq(DepartmentDirectory.DepartmentIds.class));
+        directory.refreshQuietly();
+
+        assertThat(directory.exists(1L)).isTrue();
+        assertThat(directory.exists(3L)).isFalse();
+    }
+
+    @Test
+    void refreshesSendTheHeldVersionAndKeepTheCopyOnNotModified() {
+        doReturn(ids("v1", 1L, 2L))
+                .doReturn(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag("\"v1\"").build())
+                .doThrow(new ResourceAccessException("connection refused"))
+                .when(restTemplate).exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class),
+                        eq(DepartmentDirectory.DepartmentIds.class));
+        directory = new DepartmentDirectory(restTemplate, URL, 3_600, 3_600);
+        verifyLoads(1);
+
+        directory.refreshQuietly();
+        directory.refreshQuietly();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<HttpEntity<?>> requests = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate, times(3)).exchange(anyString(), eq(HttpMethod.GET), requests.capture(),
+                eq(DepartmentDirectory.DepartmentIds.class));
+        assertThat(requests.getAllValues().get(0).getHeaders().getIfNoneMatch()).isEmpty();
+        assertThat(requests.getAllValues().get(1).getHeaders().getIfNoneMatch()).containsExactly("\"v1\"");
+        assertThat(directory.exists(2L)).isTrue();
+    }
+
+    @Test
+    @Timeout(10)  // A miss that waited for the refresh would block on the latch
+    void missQueuesOneBackgroundRefreshAndAnswersFromTheCurrentCopy() throws InterruptedException {
+        doReturn(ids("v1", 1L)).when(restTemplate).exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class),
+                eq(DepartmentDirectory.DepartmentIds.class));
+        // Every miss may queue a refresh, so only the queued-refresh guard limits them
+        directory = new DepartmentDirectory(restTemplate, URL, 3_600, 0);
+        verifyLoads(1);
+
+        // The refresh hangs until released, as it would against a slow institution-service
+        CountDownLatch released = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            released.await();
+            return ids("v2", 1L, 2L);
+        }).when(restTemplate).exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class),
+                eq(DepartmentDirectory.DepartmentIds.class));
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(directory.exists(2L)).isFalse();
+        }
+        verify(restTemplate, after(200).times(2)).exchange(anyString(), eq(HttpMethod.GET),
+                any(HttpEntity.class), eq(DepartmentDirectory.DepartmentIds.class));
+        released.countDown();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!directory.exists(2L)) {
+            assertThat(System.nanoTime()).as("department 2 loaded").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private void verifyLoads(int count) {
+        verify(restTemplate, timeout(5_000).times(count)).exchange(anyString(), eq(HttpMethod.GET),
+                any(HttpEntity.class), eq(DepartmentDirectory.DepartmentIds.class));
+    }
+
+    private static ResponseEntity<DepartmentDirectory.DepartmentIds> ids(String version, Long... ids) {
+        return ResponseEntity.ok().eTag("\"" + version + "\"")
+                .body(new DepartmentDirectory.DepartmentIds(version, List.of(ids)));
+    }
+}
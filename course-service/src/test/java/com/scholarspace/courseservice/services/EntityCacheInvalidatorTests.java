@@ -0,0 +1,264 @@
+package com.scholarspace.courseservice.services;
+
+import com.scholarspace.courseservice.controllers.CacheEvictionController;
+import com.scholarspace.courseservice.models.Course;
+import com.scholarspace.courseservice.models.Enrollment;
+import com.scholarspace.courseservice.repositories.CourseRepository;
+import com.scholarspace.courseservice.repositories.EnrollmentRepository;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Covers both ends of cross-replica cache invalidation: committed course changes are sent
+ * to the other discovered instances, and the eviction endpoint drops the course and the
+ * cached query results, but only for callers with the shared key. Runs without a
+ * surrounding transaction so saves commit and every lookup gets its own session.
+ */
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.application.name=course-service",
+        "app.cache.eviction-key=" + EntityCacheInvalidatorTests.KEY
+})
+@Import({EntityCacheInvalidator.class, EntityCacheInvalidatorTests.Replicas.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EntityCacheInvalidatorTests {
+
+    static final String KEY = "test-eviction-key";
+    private static final String SELF = "course-service:self";
+    private static final long DEPARTMENT_ID = 42L;
+
+    @Autowired
+    private Instances instances;
+
+    @Autowired
+    private ObjectProvider<Registration> registration;
+
+    @Autowired
+    private EntityCacheInvalidator entityCacheInvalidator;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    private final BlockingQueue<Received> received = new LinkedBlockingQueue<>();
+    private final List<HttpServer> receivers = new ArrayList<>();
+    private CacheEvictionController controller;
+    private SessionFactory sessionFactory;
+    private Statistics statistics;
+    private Long courseId;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // This instance is listed first, so it is passed over before the peer is sent anything
+        instances.list = List.of(
+                instance(SELF, receiver("self")),
+                instance("course-service:peer", receiver("peer")));
+
+        courseId = courseRepository.save(
+                new Course("CACHE101", "Caching", "Description", 3, "Fall", "2025", DEPARTMENT_ID)).getId();
+
+        controller = new CacheEvictionController(entityCacheInvalidator);
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        instances.list = List.of();
+        receivers.forEach(server -> server.stop(0));
+        enrollmentRepository.deleteAll();
+        courseRepository.deleteAll();
+    }
+
+    @Test
+    void committedCourseChangesAreSentToOtherInstancesOnly() throws InterruptedException {
+        // Enrollments are not cached, so saving one sends nothing
+        enrollmentRepository.save(new Enrollment(courseRepository.findById(courseId).orElseThrow(), 5001L));
+        Long addedId = courseRepository.save(
+                new Course("CACHE102", "Caching II", "Description", 3, "Fall", "2025", DEPARTMENT_ID)).getId();
+
+        List<Received> sends = awaitPeerEviction("{\"entity\":\"Course\",\"ids\":[" + addedId + "]}");
+
+        assertThat(sends).extracting(Received::instance).containsOnly("peer");
+        assertThat(sends).extracting(Received::key).containsOnly(KEY);
+        assertThat(sends).extracting(Received::body).noneMatch(body -> body.contains("Enrollment"));
+    }
+
+    @Test
+    void evictionDropsTheCourseAndCachedQueries() {
+        warmCache();
+
+        assertThat(controller.evict(KEY, new EntityCacheInvalidator.Eviction("Course", List.of(courseId)))
+                .getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        find();
+        courseRepository.findByDepartmentId(DEPARTMENT_ID);
+
+        // Both the course and the query are read again after being cached by warmCache()
+        assertThat(statistics.getPrepareStatementCount()).as("SQL statements issued").isEqualTo(4);
+    }
+
+    @Test
+    void evictionWithoutTheKeyIsRefused() {
+        warmCache();
+
+        assertThat(controller.evict(null, new EntityCacheInvalidator.Eviction("Course", List.of(courseId)))
+                .getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(controller.evict("wrong-key", new EntityCacheInvalidator.Eviction("Course", List.of(courseId)))
+                .getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        find();
+        courseRepository.findByDepartmentId(DEPARTMENT_ID);
+
+        assertThat(statistics.getPrepareStatementCount()).as("SQL statements issued").isEqualTo(2);
+    }
+
+    @Test
+    void evictionOfAnUncachedEntityIsRejected() {
+        assertThat(controller.evict(KEY, new EntityCacheInvalidator.Eviction("Enrollment", List.of(1L)))
+                .getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void noKeyIsTrustedWhileNoneIsConfigured() {
+        EntityCacheInvalidator unkeyed = new EntityCacheInvalidator(entityManagerFactory, instances,
+                registration, "course-service", 1000, "");
+        try {
+            assertThat(unkeyed.isTrustedSender("")).isFalse();
+            assertThat(unkeyed.isTrustedSender(null)).isFalse();
+        } finally {
+            unkeyed.shutdown();
+        }
+    }
+
+    /**
+     * Caches the course and one query over it, checking the second reads come from the cache.
+     */
+    private void warmCache() {
+        for (int i = 0; i < 2; i++) {
+            assertThat(find()).isNotNull();
+            assertThat(courseRepository.findByDepartmentId(DEPARTMENT_ID)).hasSize(1);
+        }
+        assertThat(statistics.getPrepareStatementCount()).as("SQL statements issued").isEqualTo(2);
+    }
+
+    private Course find() {
+        try (Session session = sessionFactory.openSession()) {
+            return session.find(Course.class, courseId);
+        }
+    }
+
+    /**
+     * Collects the evictions received until the peer gets {@code body}. Sends are asynchronous
+     * and in commit order, so the ones for earlier commits in the test arrive first.
+     */
+    private List<Received> awaitPeerEviction(String body) throws InterruptedException {
+        List<Received> sends = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (sends.isEmpty() || !sends.get(sends.size() - 1).equals(new Received("peer", KEY, body))) {
+            Received next = received.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            assertThat(next).as("eviction sent to the peer").isNotNull();
+            sends.add(next);
+        }
+        return sends;
+    }
+
+    private HttpServer receiver(String name) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/internal/cache/evict", exchange -> {
+            received.add(new Received(name, exchange.getRequestHeaders().getFirst(EntityCacheInvalidator.KEY_HEADER),
+                    new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8)));
+            exchange.sendResponseHeaders(HttpStatus.NO_CONTENT.value(), -1);
+            exchange.close();
+        });
+        server.start();
+        receivers.add(server);
+        return server;
+    }
+
+    private static DefaultServiceInstance instance(String instanceId, HttpServer server) {
+        return new DefaultServiceInstance(instanceId, "course-service", "localhost",
+                server.getAddress().getPort(), false);
+    }
+
+    private record Received(String instance, String key, String body) {
+    }
+
+    /**
+     * Discovery and registration for a single replica, swapped in for Eureka. The sender
+     * thread reads the instances, so they are replaced whole rather than stubbed.
+     */
+    static class Instances implements DiscoveryClient {
+
+        volatile List<ServiceInstance> list = List.of();
+
+        @Override
+        public String description() {
+            return "Test instances";
+        }
+
+        @Override
+        public List<ServiceInstance> getInstances(String serviceId) {
+            return list;
+        }
+
+        @Override
+        public List<String> getServices() {
+            return List.of("course-service");
+        }
+    }
+
+    @TestConfiguration
+    static class Replicas {
+
+        @Bean
+        Instances instances() {
+            return new Instances();
+        }
+
+        @Bean
+        Registration registration() {
+            Registration registration = mock(Registration.class);
+            when(registration.getInstanceId()).thenReturn(SELF);
+            return registration;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.scholarspace.courseservice.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scholarspace.courseservice.repositories.CourseRepository;
+import com.scholarspace.courseservice.repositories.EnrollmentRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.io.OutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Streams a large course export and checks that every row is written while the
+ * persistence context, which is what would grow with the result, stays bounded.
+ */
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+class ExportServiceTests {
+
+    private static final int ROWS = 500_000;
+    private static final int MAX_MANAGED_ENTITIES = 500;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    private ExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        entityManager.createNativeQuery(
+                "INSERT INTO courses (course_code, title, description, credit_hours, semester, academic_year, " +
+                "department_id, is_active, created_at) " +
+                "SELECT 'C' || X, 'Course ' || X, 'Description', 3, 'Fall', '2025', 1, TRUE, CURRENT_TIMESTAMP " +
+                "FROM SYSTEM_RANGE(1, " + ROWS + ")").executeUpdate();
+        exportService = new ExportService(courseRepository, enrollmentRepository, entityManager,
+                new ObjectMapper().findAndRegisterModules());
+    }
+
+    @Test
+    void writeAllCoursesStreamsEveryRowWithBoundedPersistenceContext() throws Exception {
+        Session session = entityManager.unwrap(Session.class);
+        RowCountingStream out = new RowCountingStream(session);
+
+        exportService.writeAllCourses(out);
+
+        assertThat(out.rows).isEqualTo(ROWS);
+        assertThat(out.maxManagedEntities).as("entities held by the persistence context")
+                .isPositive()
+                .isLessThanOrEqualTo(MAX_MANAGED_ENTITIES);
+    }
+
+    /**
+     * Counts the course objects written and samples the persistence context on every write.
+     * Courses serialize without nested objects, so each opening brace is one row.
+     */
+    private static final class RowCountingStream extends OutputStream {
+
+        private final Session session;
+        private int rows;
+        private int maxManagedEntities;
+
+        RowCountingStream(Session session) {
+            this.session = session;
+        }
+
+        @Override
+        public void write(int b) {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                if (bytes[i] == '{') {
+                    rows++;
+                }
+            }
+            maxManagedEntities = Math.max(maxManagedEntities, session.getStatistics().getEntityCount());
+        }
+    }
+}
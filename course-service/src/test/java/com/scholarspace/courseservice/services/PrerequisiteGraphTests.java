@@ -0,0 +1,117 @@
+package com.scholarspace.courseservice.services;
+
+import com.scholarspace.courseservice.repositories.CourseRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PrerequisiteGraphTests {
+
+    // 101 <- 201 <- 301, 102 <- 301, 401 on its own
+    private static final long INTRO = 101L;
+    private static final long MATH = 102L;
+    private static final long DATA_STRUCTURES = 201L;
+    private static final long ALGORITHMS = 301L;
+    private static final long ELECTIVE = 401L;
+
+    private PrerequisiteGraph graph;
+
+    @AfterEach
+    void tearDown() {
+        graph.shutdown();
+    }
+
+    @Test
+    void closureContainsTheWholeChain() {
+        graph = graphWithEdges(edge(DATA_STRUCTURES, INTRO), edge(ALGORITHMS, DATA_STRUCTURES), edge(ALGORITHMS, MATH));
+
+        assertThat(graph.getDirectPrerequisites(ALGORITHMS)).containsExactlyInAnyOrder(DATA_STRUCTURES, MATH);
+        assertThat(graph.getAllPrerequisites(ALGORITHMS)).containsExactlyInAnyOrder(DATA_STRUCTURES, MATH, INTRO);
+        assertThat(graph.getAllPrerequisites(DATA_STRUCTURES)).containsExactly(INTRO);
+        assertThat(graph.hasPrerequisites(ALGORITHMS)).isTrue();
+        assertThat(graph.hasPrerequisites(INTRO)).isFalse();
+        assertThat(graph.hasPrerequisites(ELECTIVE)).isFalse();
+        assertThat(graph.getAllPrerequisites(ELECTIVE)).isEmpty();
+    }
+
+    @Test
+    void missingPrerequisitesExcludeCompletedCourses() {
+        graph = graphWithEdges(edge(DATA_STRUCTURES, INTRO), edge(ALGORITHMS, DATA_STRUCTURES), edge(ALGORITHMS, MATH));
+
+        assertThat(graph.findMissingPrerequisites(ALGORITHMS, List.of(INTRO, ELECTIVE)))
+                .containsExactlyInAnyOrder(DATA_STRUCTURES, MATH);
+        assertThat(graph.findMissingPrerequisites(ALGORITHMS, List.of(INTRO, DATA_STRUCTURES, MATH))).isEmpty();
+        assertThat(graph.findMissingPrerequisites(ELECTIVE, List.of())).isEmpty();
+    }
+
+    @Test
+    void replacingPrerequisitesUpdatesDependentClosures() {
+        graph = graphWithEdges(edge(DATA_STRUCTURES, INTRO), edge(ALGORITHMS, DATA_STRUCTURES));
+        AtomicBoolean persisted = new AtomicBoolean();
+
+        graph.replacePrerequisites(DATA_STRUCTURES, List.of(MATH), () -> persisted.set(true));
+
+        assertThat(persisted).isTrue();
+        assertThat(graph.getAllPrerequisites(DATA_STRUCTURES)).containsExactly(MATH);
+        assertThat(graph.getAllPrerequisites(ALGORITHMS)).containsExactlyInAnyOrder(DATA_STRUCTURES, MATH);
+    }
+
+    @Test
+    void prerequisitesCanBeAddedToCoursesNotYetInTheGraph() {
+        graph = graphWithEdges();
+
+        graph.replacePrerequisites(ELECTIVE, List.of(INTRO), () -> { });
+
+        assertThat(graph.getAllPrerequisites(ELECTIVE)).containsExactly(INTRO);
+    }
+
+    @Test
+    void edgeClosingACycleIsRejectedBeforePersisting() {
+        graph = graphWithEdges(edge(DATA_STRUCTURES, INTRO), edge(ALGORITHMS, DATA_STRUCTURES));
+        AtomicBoolean persisted = new AtomicBoolean();
+
+        assertThatThrownBy(() -> graph.replacePrerequisites(INTRO, List.of(ALGORITHMS), () -> persisted.set(true)))
+                .hasMessageContaining("cycle");
+        assertThatThrownBy(() -> graph.replacePrerequisites(INTRO, List.of(INTRO), () -> persisted.set(true)))
+                .hasMessageContaining("cycle");
+
+        assertThat(persisted).isFalse();
+        assertThat(graph.getAllPrerequisites(INTRO)).isEmpty();
+    }
+
+    @Test
+    void removedCourseDisappearsFromEveryClosure() {
+        graph = graphWithEdges(edge(DATA_STRUCTURES, INTRO), edge(ALGORITHMS, DATA_STRUCTURES), edge(ALGORITHMS, MATH));
+
+        graph.removeCourse(DATA_STRUCTURES);
+
+        assertThat(graph.getAllPrerequisites(ALGORITHMS)).containsExactly(MATH);
+        assertThat(graph.getAllPrerequisites(DATA_STRUCTURES)).isEmpty();
+    }
+
+    @Test
+    void cycleInStoredEdgesIsBrokenInsteadOfLooping() {
+        graph = graphWithEdges(edge(INTRO, DATA_STRUCTURES), edge(DATA_STRUCTURES, ALGORITHMS), edge(ALGORITHMS, INTRO));
+
+        assertThat(graph.getAllPrerequisites(INTRO)).containsExactlyInAnyOrder(DATA_STRUCTURES, ALGORITHMS);
+        assertThat(graph.getAllPrerequisites(INTRO)).doesNotContain(INTRO);
+    }
+
+    private static PrerequisiteGraph graphWithEdges(Object[]... edges) {
+        CourseRepository courseRepository = mock(CourseRepository.class);
+        when(courseRepository.findAllPrerequisiteEdges()).thenReturn(new ArrayList<>(List.of(edges)));
+        return new PrerequisiteGraph(courseRepository, 60);
+    }
+
+    private static Object[] edge(long courseId, long prerequisiteId) {
+        return new Object[] {courseId, prerequisiteId};
+    }
+}
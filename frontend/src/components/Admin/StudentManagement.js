@@ -45,7 +45,7 @@ function StudentManagement() {
 
   const fetchEnrollmentRequests = async () => {
     try {
-      const response = await api.get('/enrollments/pending');
+      const response = await api.get('/enrollments/pending?expand=course');
       setEnrollmentRequests(response.data);
     } catch (error) {
       console.error('Error fetching enrollment requests:', error);
@@ -183,7 +183,7 @@ const deactivateInstructor = async (instructorId) => {
 // Enrollment Management
 const getPendingEnrollments = async () => {
   const response = await axios.get(
-    `${API_URL}/enrollments/pending`, 
+    `${API_URL}/enrollments/pending?expand=course`, 
     { headers: authHeader() }
   );
   return response.data;
@@ -209,7 +209,7 @@ const rejectEnrollment = async (enrollmentId) => {
 
 const getEnrollmentsByCourse = async (courseId) => {
   const response = await axios.get(
-    `${API_URL}/enrollments/course/${courseId}`, 
+    `${API_URL}/enrollments/course/${courseId}?expand=course`, 
     { headers: authHeader() }
   );
   return response.data;
@@ -217,7 +217,7 @@ const getEnrollmentsByCourse = async (courseId) => {
 
 const getEnrollmentsByStudent = async (studentId) => {
   const response = await axios.get(
-    `${API_URL}/enrollments/student/${studentId}`, 
+    `${API_URL}/enrollments/student/${studentId}?expand=course`, 
     { headers: authHeader() }
   );
   return response.data;
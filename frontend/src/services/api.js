@@ -61,6 +61,7 @@ const adminService = {
   getAllUsers: () => api.get('users'),
   getUserById: (id) => api.get(`users/${id}`),
   getUsersByRole: (role) => api.get(`users/role/${role}`),
+  searchUsers: (params) => api.get('users/search', { params }),
   activateUser: (id) => api.put(`users/${id}/activate`),
   deactivateUser: (id) => api.put(`users/${id}/deactivate`),
   updateUser: (id, userData) => api.put(`users/${id}`, userData),
@@ -118,7 +119,8 @@ const adminService = {
     api.delete(`instructors/${instructorId}/courses/${courseId}`),
   getInstructorsByCourse: (courseId) => api.get(`courses/${courseId}/instructors`),
   getCourseInstructors: (courseId) => api.get(`courses/${courseId}/instructors`),
-  getInstructorCourses: (instructorId) => api.get(`courses/instructor/${instructorId}`)
+  getInstructorCourses: (instructorId) => api.get(`courses/instructor/${instructorId}`),
+  getInstructorWorkbench: (instructorId) => api.get(`courses/instructor/${instructorId}/workbench`)
 };
 
 // Instructor API calls
@@ -199,7 +201,7 @@ const studentService = {
       if (!user || !user.userId) throw new Error('User not found');
       
       // This targets the enrollment endpoint
-      const response = await api.get(`enrollments/student/${user.userId}/active`);
+      const response = await api.get(`enrollments/student/${user.userId}/active?expand=course`);
       
       // Map enrollment data to get course details
       return response.data.map(enrollment => enrollment.course);
@@ -222,7 +224,7 @@ const studentService = {
       const enrollmentsResponse = await api.get(`enrollments/student/${user.userId}`);
       
       // Filter out courses the student is already enrolled in
-      const enrolledCourseIds = enrollmentsResponse.data.map(e => e.course.courseId);
+      const enrolledCourseIds = enrollmentsResponse.data.map(e => e.courseId);
       return allCoursesResponse.data.filter(course => !enrolledCourseIds.includes(course.courseId));
     } catch (error) {
       console.error('Error fetching available courses:', error);
@@ -232,12 +234,12 @@ const studentService = {
   
   // Course enrollment
   getEnrollmentById: (enrollmentId) => api.get(`enrollments/${enrollmentId}`),
-  getEnrollmentsByCourse: (courseId) => api.get(`enrollments/course/${courseId}`),
-  getEnrollmentsByStudent: (studentId) => api.get(`enrollments/student/${studentId}`),
-  getActiveEnrollmentsByCourse: (courseId) => api.get(`enrollments/course/${courseId}/active`),
+  getEnrollmentsByCourse: (courseId) => api.get(`enrollments/course/${courseId}?expand=course`),
+  getEnrollmentsByStudent: (studentId) => api.get(`enrollments/student/${studentId}?expand=course`),
+  getActiveEnrollmentsByCourse: (courseId) => api.get(`enrollments/course/${courseId}/active?expand=course`),
   getActiveEnrollmentsByStudent: () => {
     const user = JSON.parse(localStorage.getItem('user'));
-    return api.get(`enrollments/student/${user.userId}/active`);
+    return api.get(`enrollments/student/${user.userId}/active?expand=course`);
   },
   
   // Enroll in a course
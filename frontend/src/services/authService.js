@@ -85,6 +85,11 @@ class AuthService {
   }
 
   logout() {
+    const token = localStorage.getItem('token');
+    if (token) {
+      // Revoke the token server-side; the local session ends either way
+      instance.post('logout', null, { headers: { Authorization: `Bearer ${token}` } }).catch(() => {});
+    }
     localStorage.removeItem('user');
     localStorage.removeItem('token');
     sessionStorage.removeItem('sessionActive');
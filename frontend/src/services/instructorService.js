@@ -158,6 +158,25 @@ const gradeSubmission = async (submissionId, gradeData) => {
   return response.data;
 };
 
+// Attendance: the whole roster for one session in a single request
+const recordAttendanceSession = async (courseId, sessionDate, records) => {
+  const userId = getCurrentUserId();
+  const response = await axios.post(
+    `${API_URL}/attendance/course/${courseId}/sessions`, 
+    { sessionDate, recordedBy: userId, records }, 
+    { headers: authHeader() }
+  );
+  return response.data;
+};
+
+const getSessionAttendance = async (courseId, date) => {
+  const response = await axios.get(
+    `${API_URL}/attendance/course/${courseId}?date=${date}`, 
+    { headers: authHeader() }
+  );
+  return response.data;
+};
+
 export const instructorService = {
   // Course Management
   getInstructorCourses,
@@ -172,6 +191,10 @@ export const instructorService = {
   getSubmissionsByAssignment,
   gradeSubmission,
   
+  // Attendance
+  recordAttendanceSession,
+  getSessionAttendance,
+  
   // Profile Management
   getInstructorProfile,
   
@@ -29,6 +29,15 @@ const getCourseById = async (courseId) => {
   return response.data;
 };
 
+// Ranked server-side search over code, title and description
+const searchCourses = async (query, limit = 20) => {
+  const response = await axios.get(`${API_URL}/courses/search`, {
+    headers: authHeader(),
+    params: { q: query, limit }
+  });
+  return response.data;
+};
+
 // Enrollment Management
 const enrollInCourse = async (courseId) => {
   const studentId = getCurrentUserId();
@@ -51,7 +60,7 @@ const getMyEnrollments = async () => {
   }
   
   const response = await axios.get(
-    `${API_URL}/enrollments/student/${studentId}`, 
+    `${API_URL}/enrollments/student/${studentId}?expand=course`, 
     { headers: authHeader() }
   );
   return response.data;
@@ -64,7 +73,21 @@ const getMyActiveEnrollments = async () => {
   }
   
   const response = await axios.get(
-    `${API_URL}/enrollments/student/${studentId}/active`, 
+    `${API_URL}/enrollments/student/${studentId}/active?expand=course`, 
+    { headers: authHeader() }
+  );
+  return response.data;
+};
+
+// Enrollments, courses, recent content and upcoming assignments in one round trip
+const getStudentHome = async () => {
+  const studentId = getCurrentUserId();
+  if (!studentId) {
+    throw new Error('User not authenticated');
+  }
+  
+  const response = await axios.get(
+    `${API_URL}/students/${studentId}/home`, 
     { headers: authHeader() }
   );
   return response.data;
@@ -79,14 +102,33 @@ const dropEnrollment = async (enrollmentId) => {
   return response.data;
 };
 
+const checkIn = async (courseId) => {
+  const studentId = getCurrentUserId();
+  if (!studentId) {
+    throw new Error('User not authenticated');
+  }
+  
+  const response = await axios.post(
+    `${API_URL}/attendance/course/${courseId}/check-in`, 
+    { studentId }, 
+    { headers: authHeader() }
+  );
+  return response.data;
+};
+
 export const studentService = {
   // Course Management
   getAvailableCourses,
   getCourseById,
+  searchCourses,
   
   // Enrollment Management
   enrollInCourse,
   getMyEnrollments,
   getMyActiveEnrollments,
-  dropEnrollment
+  getStudentHome,
+  dropEnrollment,
+  
+  // Attendance
+  checkIn
 };
\ No newline at end of file
@@ -42,6 +42,13 @@ public class SecurityConfig {
                 // Allow actuator health checks
                 .requestMatchers("/actuator/health").permitAll()
                 
+                // Cache evictions from other replicas, which send the shared eviction key instead of a token;
+                // the gateway does not route /internal
+                .requestMatchers(HttpMethod.POST, "/internal/cache/evict").permitAll()
+                
+                // Department IDs for other services' near-caches; they call without a token and the gateway does not route /internal
+                .requestMatchers(HttpMethod.GET, "/internal/departments/ids").permitAll()
+                
                 // Allow OPTIONS requests (CORS preflight)
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                 
@@ -0,0 +1,44 @@
+package com.scholarspace.institutionservice.controllers;
+
+import com.scholarspace.institutionservice.services.EntityCacheInvalidator;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Receives second-level cache evictions from other replicas. Not routed by the gateway,
+ * and only accepted with the shared eviction key.
+ */
+@RestController
+@RequestMapping("/internal/cache")
+@RequiredArgsConstructor
+@Tag(name = "Cache", description = "Cross-replica cache invalidation")
+public class CacheEvictionController {
+
+    private final EntityCacheInvalidator entityCacheInvalidator;
+
+    @PostMapping("/evict")
+    @Operation(summary = "Evict cached entities changed on another replica")
+    @ApiResponse(responseCode = "204", description = "Entries evicted")
+    @ApiResponse(responseCode = "400", description = "Entity is not cached")
+    @ApiResponse(responseCode = "403", description = "Missing or wrong eviction key")
+    public ResponseEntity<?> evict(@RequestHeader(value = EntityCacheInvalidator.KEY_HEADER, required = false) String key,
+                                   @RequestBody EntityCacheInvalidator.Eviction eviction) {
+        if (!entityCacheInvalidator.isTrustedSender(key)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Invalid eviction key"));
+        }
+        try {
+            entityCacheInvalidator.evictLocal(eviction.entity(), eviction.ids() == null ? List.of() : eviction.ids());
+            return ResponseEntity.noContent().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
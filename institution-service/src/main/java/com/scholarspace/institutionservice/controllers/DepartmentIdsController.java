@@ -0,0 +1,48 @@
+package com.scholarspace.institutionservice.controllers;
+
+import com.scholarspace.institutionservice.services.DepartmentService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service-to-service feed of department ids for other services' near-caches. Not routed by the gateway.
+ */
+@RestController
+@RequestMapping("/internal/departments")
+@RequiredArgsConstructor
+@Tag(name = "Department IDs", description = "Department ids for other services")
+public class DepartmentIdsController {
+
+    private final DepartmentService departmentService;
+
+    @GetMapping("/ids")
+    @Operation(
+        summary = "Get all department IDs",
+        description = "Returns the IDs of all departments and a version for the set, also sent as the ETag. Services that keep a copy of the IDs send the version back in If-None-Match and get 304 Not Modified while it is unchanged."
+    )
+    @ApiResponse(responseCode = "200", description = "Department IDs retrieved successfully",
+        content = @Content(mediaType = "application/json",
+            examples = @ExampleObject(value = "{\"version\": \"9f2c4e0b7a1d3c5e8f60a2b4c6d8e0f1-3\", \"ids\": [1, 2, 5]}")))
+    @ApiResponse(responseCode = "304", description = "The caller's version is current")
+    public ResponseEntity<?> getDepartmentIds(
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        List<Long> ids = departmentService.getAllDepartmentIds();
+        String version = DepartmentService.versionOf(ids);
+        String etag = "\"" + version + "\"";
+        if (etag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(Map.of("version", version, "ids", ids));
+    }
+}
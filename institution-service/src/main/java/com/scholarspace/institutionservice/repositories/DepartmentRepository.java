@@ -1,7 +1,11 @@
 package com.scholarspace.institutionservice.repositories;
 
 import com.scholarspace.institutionservice.models.Department;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,7 +13,16 @@ import java.util.Optional;
 
 @Repository
 public interface DepartmentRepository extends JpaRepository<Department, Long> {
+    // Cached query results are dropped whenever departments change, here or on another replica
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Department> findByCode(String code);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Department> findByInstitution_InstitutionId(Long institutionId);
+
     long countByInstitution_InstitutionId(Long institutionId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT d.departmentId FROM Department d ORDER BY d.departmentId")
+    List<Long> findAllIds();
 }
\ No newline at end of file
@@ -24,6 +24,7 @@ import java.util.List;
 public class JwtFilter extends OncePerRequestFilter {
 
     private final JwtProperties jwtProperties;
+    private final TokenRevocationSync tokenRevocationSync;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -44,8 +45,10 @@ public class JwtFilter extends OncePerRequestFilter {
 
                 String username = claims.getSubject();
                 String role = claims.get("role", String.class);
+                boolean revoked = tokenRevocationSync.isRevoked(
+                        claims.get("userId", Long.class), claims.getId(), claims.getIssuedAt());
                 
-                if (username != null && role != null) {
+                if (username != null && role != null && !revoked) {
                     List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
                     UsernamePasswordAuthenticationToken authToken = 
                         new UsernamePasswordAuthenticationToken(username, null, authorities);
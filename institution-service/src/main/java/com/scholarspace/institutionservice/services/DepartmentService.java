@@ -8,8 +8,12 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -52,6 +56,30 @@ public class DepartmentService {
         return departmentRepository.findAll();
     }
 
+    public List<Long> getAllDepartmentIds() {
+        return departmentRepository.findAllIds();
+    }
+
+    /**
+     * Version of a set of department ids, for clients that cache it: a SHA-256 digest of the ids,
+     * so any added or removed id changes it.
+     */
+    public static String versionOf(List<Long> sortedIds) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+        for (Long id : sortedIds) {
+            buffer.clear();
+            digest.update(buffer.putLong(id).array());
+        }
+        // 128 bits of the digest are plenty to tell versions apart
+        return HexFormat.of().formatHex(digest.digest(), 0, 16) + "-" + sortedIds.size();
+    }
+
     public List<Department> getDepartmentsByInstitution(Long institutionId) {
         return departmentRepository.findByInstitution_InstitutionId(institutionId);
     }
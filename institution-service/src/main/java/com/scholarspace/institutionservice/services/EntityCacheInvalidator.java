@@ -0,0 +1,186 @@
+package com.scholarspace.institutionservice.services;
+
+import com.scholarspace.institutionservice.models.Department;
+import com.scholarspace.institutionservice.models.Institution;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Keeps the second-level cache consistent across replicas. Each replica caches entities
+ * locally, so after a committed insert, update or delete of a cached entity the change is
+ * sent to every other instance registered in Eureka, which evicts the entity and its
+ * cached query results. Sends are fire-and-forget; an instance that misses one serves the
+ * old entry until the cache's expiry drops it. Each send carries the shared
+ * {@code app.cache.eviction-key}, and evictions without it are refused.
+ */
+@Component
+@Slf4j
+public class EntityCacheInvalidator implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    public static final String KEY_HEADER = "X-Cache-Eviction-Key";
+
+    // Only these entities are cached, and only these may be evicted remotely
+    private static final Map<String, Class<?>> CACHED_ENTITIES = Map.of(
+            Institution.class.getSimpleName(), Institution.class,
+            Department.class.getSimpleName(), Department.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final DiscoveryClient discoveryClient;
+    private final ObjectProvider<Registration> registration;
+    private final String serviceId;
+    private final byte[] evictionKey;
+    private final RestTemplate restTemplate;
+    private final ExecutorService sender = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cache-invalidation");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public EntityCacheInvalidator(EntityManagerFactory entityManagerFactory,
+                                  DiscoveryClient discoveryClient,
+                                  ObjectProvider<Registration> registration,
+                                  @Value("${spring.application.name}") String serviceId,
+                                  @Value("${app.cache.invalidation-timeout-ms:2000}") int timeoutMs,
+                                  @Value("${app.cache.eviction-key:}") String evictionKey) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.discoveryClient = discoveryClient;
+        this.registration = registration;
+        this.serviceId = serviceId;
+        this.evictionKey = evictionKey.getBytes(StandardCharsets.UTF_8);
+        if (evictionKey.isBlank()) {
+            log.warn("app.cache.eviction-key is not set; evictions from other replicas will be refused");
+        }
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeoutMs);
+        requestFactory.setReadTimeout(timeoutMs);
+        // Plain client: instances are addressed directly, not through the load balancer
+        this.restTemplate = new RestTemplate(requestFactory);
+    }
+
+    @PostConstruct
+    void registerListeners() {
+        EventListenerRegistry listeners = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        listeners.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        listeners.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        listeners.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    /**
+     * Evicts the entities and all cached query results on this instance.
+     */
+    public void evictLocal(String entity, List<Long> ids) {
+        Class<?> entityClass = CACHED_ENTITIES.get(entity);
+        if (entityClass == null) {
+            throw new RuntimeException("Entity is not cached: " + entity);
+        }
+        org.hibernate.Cache cache = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getCache();
+        for (Long id : ids) {
+            cache.evictEntityData(entityClass, id);
+        }
+        cache.evictQueryRegions();
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        broadcast(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        broadcast(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        broadcast(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return CACHED_ENTITIES.containsValue(persister.getMappedClass());
+    }
+
+    private void broadcast(EntityPersister persister, Object id) {
+        if (!requiresPostCommitHandling(persister) || !(id instanceof Long entityId)) {
+            return;
+        }
+        Eviction eviction = new Eviction(persister.getMappedClass().getSimpleName(), List.of(entityId));
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(KEY_HEADER, new String(evictionKey, StandardCharsets.UTF_8));
+        HttpEntity<Eviction> request = new HttpEntity<>(eviction, headers);
+        sender.execute(() -> {
+            Registration self = registration.getIfAvailable();
+            for (ServiceInstance instance : discoveryClient.getInstances(serviceId)) {
+                if (self != null && self.getInstanceId() != null && self.getInstanceId().equals(instance.getInstanceId())) {
+                    continue;
+                }
+                try {
+                    restTemplate.postForLocation(instance.getUri().resolve("/internal/cache/evict"), request);
+                } catch (RuntimeException e) {
+                    log.warn("Cache eviction for {} {} not delivered to {}: {}",
+                            eviction.entity(), entityId, instance.getUri(), e.getMessage());
+                }
+            }
+        });
+    }
+
+    /**
+     * Whether an eviction carries the shared key. Always false while no key is configured.
+     */
+    public boolean isTrustedSender(String key) {
+        return evictionKey.length > 0 && key != null
+                && MessageDigest.isEqual(evictionKey, key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+    }
+
+    public record Eviction(String entity, List<Long> ids) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.scholarspace.institutionservice.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DepartmentServiceTests {
+
+    @Test
+    void versionChangesWithAnyIdAddedOrRemoved() {
+        String version = DepartmentService.versionOf(List.of(1L, 2L, 5L));
+
+        assertThat(DepartmentService.versionOf(List.of(1L, 2L, 5L))).isEqualTo(version);
+        assertThat(DepartmentService.versionOf(List.of(1L, 2L))).isNotEqualTo(version);
+        assertThat(DepartmentService.versionOf(List.of(1L, 2L, 5L, 6L))).isNotEqualTo(version);
+        assertThat(DepartmentService.versionOf(List.of(1L, 3L, 5L))).isNotEqualTo(version);
+    }
+
+    @Test
+    void equalSizedSetsWithTheSameRollingHashGetDifferentVersions() {
+        // 31 * 1 + 40 == 31 * 2 + 9, which the previous hash could not tell apart
+        assertThat(DepartmentService.versionOf(List.of(1L, 40L)))
+                .isNotEqualTo(DepartmentService.versionOf(List.of(2L, 9L)));
+    }
+}
@@ -0,0 +1,249 @@
+package com.scholarspace.institutionservice.services;
+
+import com.scholarspace.institutionservice.controllers.CacheEvictionController;
+import com.scholarspace.institutionservice.models.Department;
+import com.scholarspace.institutionservice.models.Institution;
+import com.scholarspace.institutionservice.repositories.DepartmentRepository;
+import com.scholarspace.institutionservice.repositories.InstitutionRepository;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Covers cache invalidation for departments and institutions across replicas. The
+ * department id feed that course-service polls is a cached query, so a department added
+ * or removed on one replica must drop it on the others. Runs without a surrounding
+ * transaction so saves commit and every lookup gets its own session.
+ */
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.application.name=institution-service",
+        "app.cache.eviction-key=" + EntityCacheInvalidatorTests.KEY
+})
+@Import({EntityCacheInvalidator.class, EntityCacheInvalidatorTests.Replicas.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EntityCacheInvalidatorTests {
+
+    static final String KEY = "test-eviction-key";
+    private static final String SELF = "institution-service:self";
+
+    @Autowired
+    private Instances instances;
+
+    @Autowired
+    private EntityCacheInvalidator entityCacheInvalidator;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private InstitutionRepository institutionRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    private final BlockingQueue<Received> received = new LinkedBlockingQueue<>();
+    private final List<HttpServer> receivers = new ArrayList<>();
+    private CacheEvictionController controller;
+    private SessionFactory sessionFactory;
+    private Statistics statistics;
+    private Institution institution;
+    private Long departmentId;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // This instance is listed first, so it is passed over before the peer is sent anything
+        instances.list = List.of(
+                instance(SELF, receiver("self")),
+                instance("institution-service:peer", receiver("peer")));
+
+        institution = institutionRepository.save(new Institution("Cache University", "Springfield", "info@cache.edu"));
+        departmentId = departmentRepository.save(new Department("Caching", "CACHE", "Description", institution))
+                .getDepartmentId();
+
+        controller = new CacheEvictionController(entityCacheInvalidator);
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        instances.list = List.of();
+        receivers.forEach(server -> server.stop(0));
+        departmentRepository.deleteAll();
+        institutionRepository.deleteAll();
+    }
+
+    @Test
+    void removedDepartmentIsSentToOtherInstancesOnly() throws InterruptedException {
+        institution.setLocation("Shelbyville");
+        institutionRepository.save(institution);
+        departmentRepository.deleteById(departmentId);
+
+        List<Received> sends = awaitPeerEviction("{\"entity\":\"Department\",\"ids\":[" + departmentId + "]}");
+
+        assertThat(sends).extracting(Received::instance).containsOnly("peer");
+        assertThat(sends).extracting(Received::key).containsOnly(KEY);
+        assertThat(sends).extracting(Received::body)
+                .contains("{\"entity\":\"Institution\",\"ids\":[" + institution.getInstitutionId() + "]}");
+    }
+
+    @Test
+    void departmentEvictionDropsTheDepartmentIdFeed() {
+        for (int i = 0; i < 2; i++) {
+            assertThat(find(Department.class, departmentId).getInstitution().getName()).isEqualTo("Cache University");
+            assertThat(departmentRepository.findAllIds()).containsExactly(departmentId);
+        }
+        // The department is read with its institution, then everything comes from the cache
+        assertThat(statistics.getPrepareStatementCount()).as("SQL statements issued").isEqualTo(2);
+
+        assertThat(evict(KEY, "Department", departmentId)).isEqualTo(HttpStatus.NO_CONTENT);
+        find(Department.class, departmentId);
+        departmentRepository.findAllIds();
+
+        assertThat(statistics.getPrepareStatementCount()).as("SQL statements issued").isEqualTo(4);
+    }
+
+    @Test
+    void institutionEvictionDropsTheInstitution() {
+        find(Institution.class, institution.getInstitutionId());
+        find(Institution.class, institution.getInstitutionId());
+
+        assertThat(evict(KEY, "Institution", institution.getInstitutionId())).isEqualTo(HttpStatus.NO_CONTENT);
+        find(Institution.class, institution.getInstitutionId());
+
+        assertThat(statistics.getPrepareStatementCount()).as("SQL statements issued").isEqualTo(2);
+    }
+
+    @Test
+    void evictionsWithoutTheKeyOrOfUncachedEntitiesAreRefused() {
+        find(Department.class, departmentId);
+
+        assertThat(evict(null, "Department", departmentId)).isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(evict("wrong-key", "Department", departmentId)).isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(evict(KEY, "Campus", 1L)).isEqualTo(HttpStatus.BAD_REQUEST);
+        find(Department.class, departmentId);
+
+        assertThat(statistics.getPrepareStatementCount()).as("SQL statements issued").isEqualTo(1);
+    }
+
+    private HttpStatus evict(String key, String entity, Long id) {
+        return HttpStatus.valueOf(controller.evict(key, new EntityCacheInvalidator.Eviction(entity, List.of(id)))
+                .getStatusCode().value());
+    }
+
+    private <T> T find(Class<T> entityClass, Long id) {
+        try (Session session = sessionFactory.openSession()) {
+            return session.find(entityClass, id);
+        }
+    }
+
+    /**
+     * Collects the evictions received until the peer gets {@code body}. Sends are asynchronous
+     * and in commit order, so the ones for earlier commits in the test arrive first.
+     */
+    private List<Received> awaitPeerEviction(String body) throws InterruptedException {
+        List<Received> sends = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (sends.isEmpty() || !sends.get(sends.size() - 1).equals(new Received("peer", KEY, body))) {
+            Received next = received.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            assertThat(next).as("eviction sent to the peer").isNotNull();
+            sends.add(next);
+        }
+        return sends;
+    }
+
+    private HttpServer receiver(String name) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/internal/cache/evict", exchange -> {
+            received.add(new Received(name, exchange.getRequestHeaders().getFirst(EntityCacheInvalidator.KEY_HEADER),
+                    new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8)));
+            exchange.sendResponseHeaders(HttpStatus.NO_CONTENT.value(), -1);
+            exchange.close();
+        });
+        server.start();
+        receivers.add(server);
+        return server;
+    }
+
+    private static DefaultServiceInstance instance(String instanceId, HttpServer server) {
+        return new DefaultServiceInstance(instanceId, "institution-service", "localhost",
+                server.getAddress().getPort(), false);
+    }
+
+    private record Received(String instance, String key, String body) {
+    }
+
+    /**
+     * Discovery for two replicas, swapped in for Eureka. The sender thread reads the
+     * instances, so they are replaced whole rather than stubbed.
+     */
+    static class Instances implements DiscoveryClient {
+
+        volatile List<ServiceInstance> list = List.of();
+
+        @Override
+        public String description() {
+            return "Test instances";
+        }
+
+        @Override
+        public List<ServiceInstance> getInstances(String serviceId) {
+            return list;
+        }
+
+        @Override
+        public List<String> getServices() {
+            return List.of("institution-service");
+        }
+    }
+
+    @TestConfiguration
+    static class Replicas {
+
+        @Bean
+        Instances instances() {
+            return new Instances();
+        }
+
+        @Bean
+        Registration registration() {
+            Registration registration = mock(Registration.class);
+            when(registration.getInstanceId()).thenReturn(SELF);
+            return registration;
+        }
+    }
+}
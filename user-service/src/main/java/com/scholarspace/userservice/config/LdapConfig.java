@@ -21,9 +21,16 @@ public class LdapConfig {
     private String userSearchFilter;
     private String groupSearchBase;
     private String groupRoleAttribute;
+    private int poolMaxSize = 20;
+    private long poolIdleTimeoutMs = 300000;
+    private long groupRoleCacheTtlMinutes = 10;
 
     @Bean
     public LdapContextSource contextSource() {
+        // JNDI's built-in connection pool is configured through system properties read on first use
+        System.setProperty("com.sun.jndi.ldap.connect.pool.maxsize", String.valueOf(poolMaxSize));
+        System.setProperty("com.sun.jndi.ldap.connect.pool.timeout", String.valueOf(poolIdleTimeoutMs));
+
         LdapContextSource contextSource = new LdapContextSource();
         contextSource.setUrl(url);
         contextSource.setBase(base);
@@ -36,6 +43,8 @@ public class LdapConfig {
         baseEnvironmentProperties.put("com.sun.jndi.ldap.connect.timeout", "5000");
         baseEnvironmentProperties.put("com.sun.jndi.ldap.read.timeout", "5000");
         contextSource.setBaseEnvironmentProperties(baseEnvironmentProperties);
+        // Reuse bound service-account connections instead of opening one per search
+        contextSource.setPooled(true);
         
         contextSource.afterPropertiesSet();
         return contextSource;
@@ -70,4 +79,13 @@ public class LdapConfig {
     
     public String getGroupRoleAttribute() { return groupRoleAttribute; }
     public void setGroupRoleAttribute(String groupRoleAttribute) { this.groupRoleAttribute = groupRoleAttribute; }
+
+    public int getPoolMaxSize() { return poolMaxSize; }
+    public void setPoolMaxSize(int poolMaxSize) { this.poolMaxSize = poolMaxSize; }
+
+    public long getPoolIdleTimeoutMs() { return poolIdleTimeoutMs; }
+    public void setPoolIdleTimeoutMs(long poolIdleTimeoutMs) { this.poolIdleTimeoutMs = poolIdleTimeoutMs; }
+
+    public long getGroupRoleCacheTtlMinutes() { return groupRoleCacheTtlMinutes; }
+    public void setGroupRoleCacheTtlMinutes(long groupRoleCacheTtlMinutes) { this.groupRoleCacheTtlMinutes = groupRoleCacheTtlMinutes; }
 }
\ No newline at end of file
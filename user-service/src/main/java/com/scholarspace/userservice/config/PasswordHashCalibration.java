@@ -0,0 +1,115 @@
+package com.scholarspace.userservice.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.boot.actuate.info.InfoContributor;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Picks the BCrypt cost for this machine at startup: the highest cost between the
+ * configured bounds whose hash time stays within the login latency target. Each step
+ * doubles the work, so costs are measured upwards until one exceeds the target.
+ *
+ * <p>The chosen cost, and the time measured for each cost tried, are reported under
+ * {@code passwordHash} in {@code /actuator/info} and as the {@code auth.password.hash.cost}
+ * gauge. Stored hashes with a lower cost are rehashed after a successful login. Higher
+ * costs are left alone unless the cost is fixed with {@code app.password-hash.strength},
+ * so a replica that happens to calibrate lower does not weaken existing hashes.
+ */
+@Component
+@Slf4j
+public class PasswordHashCalibration implements InfoContributor {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+    private static final int SAMPLES = 3;
+
+    private final int strength;
+    private final boolean fixed;
+    private final long targetMs;
+    private final Map<Integer, Long> measuredMs = new LinkedHashMap<>();
+
+    public PasswordHashCalibration(MeterRegistry meterRegistry,
+                                   @Value("${app.password-hash.strength:0}") int fixedStrength,
+                                   @Value("${app.password-hash.target-ms:250}") long targetMs,
+                                   @Value("${app.password-hash.min-strength:10}") int minStrength,
+                                   @Value("${app.password-hash.max-strength:14}") int maxStrength) {
+        this.targetMs = targetMs;
+        this.fixed = fixedStrength > 0;
+        this.strength = fixed ? fixedStrength : calibrate(minStrength, maxStrength);
+        Gauge.builder("auth.password.hash.cost", this, PasswordHashCalibration::getStrength)
+                .description("BCrypt cost used for new password hashes")
+                .register(meterRegistry);
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    /**
+     * Whether the hash should be replaced the next time the plain password is at hand: its
+     * cost is below the current one, or differs from a fixed one. False for non-BCrypt values.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        if (!matcher.find()) {
+            return false;
+        }
+        int cost = Integer.parseInt(matcher.group(1));
+        return fixed ? cost != strength : cost < strength;
+    }
+
+    private int calibrate(int minStrength, int maxStrength) {
+        String password = "calibration-password";
+        BCrypt.hashpw(password, BCrypt.gensalt(minStrength));  // Warm up the JIT before timing
+
+        int chosen = minStrength;
+        for (int cost = minStrength; cost <= maxStrength; cost++) {
+            long millis = medianHashMillis(password, cost);
+            measuredMs.put(cost, millis);
+            if (millis > targetMs) {
+                break;
+            }
+            chosen = cost;
+        }
+        if (measuredMs.get(minStrength) > targetMs) {
+            log.warn("BCrypt cost {} takes {} ms, over the {} ms target; using it anyway as the minimum",
+                    minStrength, measuredMs.get(minStrength), targetMs);
+        }
+        log.info("BCrypt cost {} chosen for a {} ms target (measured ms by cost: {})", chosen, targetMs, measuredMs);
+        return chosen;
+    }
+
+    private static long medianHashMillis(String password, int cost) {
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw(password, BCrypt.gensalt(cost));
+            samples[i] = (System.nanoTime() - start) / 1_000_000;
+        }
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2];
+    }
+
+    @Override
+    public void contribute(Info.Builder builder) {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("algorithm", "bcrypt");
+        details.put("cost", strength);
+        details.put("targetMs", targetMs);
+        details.put("measuredMs", measuredMs);
+        builder.withDetail("passwordHash", details);
+    }
+}
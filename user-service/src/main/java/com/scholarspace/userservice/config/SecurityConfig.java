@@ -38,6 +38,8 @@ public class SecurityConfig {
                 .requestMatchers("/auth/**").permitAll()
                 .requestMatchers("/test/**").permitAll()
                 .requestMatchers("/public/**").permitAll()
+                // Revocation feed for other services, which call without a token; the gateway does not route /internal
+                .requestMatchers(HttpMethod.GET, "/internal/revocations").permitAll()
                 .requestMatchers("/error").permitAll()
                 .requestMatchers("/actuator/**").permitAll()
                 .requestMatchers("/swagger-ui/**").permitAll()
@@ -56,11 +58,13 @@ public class SecurityConfig {
                 // User Management - Admin only
                 .requestMatchers(HttpMethod.GET, "/api/users").hasAuthority("ROLE_ADMIN")
                 .requestMatchers(HttpMethod.POST, "/api/users").hasAuthority("ROLE_ADMIN")
+                .requestMatchers(HttpMethod.POST, "/api/users/import").hasAuthority("ROLE_ADMIN")
                 .requestMatchers(HttpMethod.PUT, "/api/users/{id}").hasAuthority("ROLE_ADMIN")
                 .requestMatchers(HttpMethod.PUT, "/api/users/{id}/activate").hasAuthority("ROLE_ADMIN")
                 .requestMatchers(HttpMethod.PUT, "/api/users/{id}/deactivate").hasAuthority("ROLE_ADMIN")
                 .requestMatchers(HttpMethod.PUT, "/api/users/users/{id}/status").hasAuthority("ROLE_ADMIN")
                 .requestMatchers(HttpMethod.GET, "/api/users/role/{role}").hasAuthority("ROLE_ADMIN")
+                .requestMatchers(HttpMethod.GET, "/api/users/search").hasAnyAuthority("ROLE_ADMIN", "ROLE_INSTRUCTOR")
                 .requestMatchers(HttpMethod.GET, "/api/users/{id}").hasAnyAuthority("ROLE_ADMIN", "ROLE_INSTRUCTOR")
                 .requestMatchers(HttpMethod.GET, "/api/users/stats").hasAuthority("ROLE_ADMIN")
                 
@@ -77,7 +81,7 @@ public class SecurityConfig {
 
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashCalibration passwordHashCalibration) {
+        return new BCryptPasswordEncoder(passwordHashCalibration.getStrength());
     }
 }
\ No newline at end of file
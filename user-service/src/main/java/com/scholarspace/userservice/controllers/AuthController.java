@@ -3,7 +3,12 @@ package com.scholarspace.userservice.controllers;
 import com.scholarspace.userservice.models.Role;
 import com.scholarspace.userservice.models.User;
 import com.scholarspace.userservice.services.AuthService;
+import com.scholarspace.userservice.services.LoginSaturatedException;
+import com.scholarspace.userservice.services.LoginThrottle;
 import com.scholarspace.userservice.services.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import io.swagger.v3.oas.annotations.Operation;
@@ -21,10 +26,12 @@ import java.util.Map;
 public class AuthController {
     private final AuthService authService;
     private final UserService userService;
+    private final LoginThrottle loginThrottle;
 
-    public AuthController(AuthService authService, UserService userService) {
+    public AuthController(AuthService authService, UserService userService, LoginThrottle loginThrottle) {
         this.authService = authService;
         this.userService = userService;
+        this.loginThrottle = loginThrottle;
     }
 
     @PostMapping("/login")
@@ -48,13 +55,24 @@ public class AuthController {
                 value = "{\"token\": \"eyJhbGciOiJIUzI1NiJ9...\", \"userId\": \"1\", \"name\": \"Admin User\", \"email\": \"admin@scholarspace.com\", \"role\": \"ADMIN\"}"
             )))
     @ApiResponse(responseCode = "400", description = "Invalid credentials or inactive account")
-    public ResponseEntity<?> login(@RequestBody Map<String, String> loginRequest) {
+    @ApiResponse(responseCode = "429", description = "Too many attempts for this account or address, retry after the given delay")
+    @ApiResponse(responseCode = "503", description = "Too many logins in progress, retry after the given delay")
+    public ResponseEntity<?> login(@RequestBody Map<String, String> loginRequest, HttpServletRequest request) {
         try {
             String email = loginRequest.get("email");
             String password = loginRequest.get("password");
-            
+
+            ResponseEntity<?> throttled = throttle(email, request);
+            if (throttled != null) {
+                return throttled;
+            }
             Map<String, Object> response = authService.login(email, password);
+            loginThrottle.reset(email);
             return ResponseEntity.ok(response);
+        } catch (LoginSaturatedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             Map<String, String> errorResponse = new HashMap<>();
             errorResponse.put("error", e.getMessage());
@@ -83,12 +101,18 @@ public class AuthController {
                 value = "{\"token\": \"eyJhbGciOiJIUzI1NiJ9...\", \"userId\": \"1\", \"name\": \"John Admin\", \"email\": \"jadmin@mylab.local\", \"role\": \"ADMIN\", \"authType\": \"AD\"}"
             )))
     @ApiResponse(responseCode = "400", description = "Invalid AD credentials or connection error")
-    public ResponseEntity<?> loginWithAD(@RequestBody Map<String, String> loginRequest) {
+    @ApiResponse(responseCode = "429", description = "Too many attempts for this account or address, retry after the given delay")
+    public ResponseEntity<?> loginWithAD(@RequestBody Map<String, String> loginRequest, HttpServletRequest request) {
         try {
             String email = loginRequest.get("email");
             String password = loginRequest.get("password");
-            
+
+            ResponseEntity<?> throttled = throttle(email, request);
+            if (throttled != null) {
+                return throttled;
+            }
             Map<String, Object> response = authService.loginWithAD(email, password);
+            loginThrottle.reset(email);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             Map<String, String> errorResponse = new HashMap<>();
@@ -97,6 +121,24 @@ public class AuthController {
         }
     }
 
+    @PostMapping("/logout")
+    @Operation(summary = "Logout", description = "Revoke the bearer token so that no service accepts it again.")
+    @ApiResponse(responseCode = "200", description = "Token revoked")
+    @ApiResponse(responseCode = "400", description = "Missing or invalid token")
+    public ResponseEntity<?> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Bearer token is required"));
+        }
+        try {
+            authService.logout(authHeader.substring(7));
+            return ResponseEntity.ok(Map.of("message", "Logged out successfully"));
+        } catch (Exception e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+    }
+
     @PostMapping("/register")
     @Operation(
         summary = "User Registration", 
@@ -243,4 +285,17 @@ public class AuthController {
             return ResponseEntity.badRequest().body(errorResponse);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * A 429 response when the account or client address is over its login limit, otherwise null.
+     */
+    private ResponseEntity<?> throttle(String email, HttpServletRequest request) {
+        long retryAfter = loginThrottle.tryAcquire(email, request.getRemoteAddr());
+        if (retryAfter == 0) {
+            return null;
+        }
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+                .body(Map.of("error", "Too many login attempts, please try again later"));
+    }
+}
@@ -0,0 +1,33 @@
+package com.scholarspace.userservice.controllers;
+
+import com.scholarspace.userservice.dto.TokenRevocationDelta;
+import com.scholarspace.userservice.services.TokenRevocationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Service-to-service feed of revoked users and tokens. Not routed by the gateway.
+ */
+@RestController
+@RequestMapping("/internal/revocations")
+@RequiredArgsConstructor
+@Tag(name = "Token Revocations", description = "Revoked users and tokens for other services")
+public class TokenRevocationController {
+
+    private final TokenRevocationService tokenRevocationService;
+
+    @GetMapping
+    @Operation(summary = "Get revocations newer than a version",
+        description = "Returns unexpired revocations above since (all of them for 0) and the version to pass next time. Recent revocations may be repeated; applying one twice is harmless.")
+    @ApiResponse(responseCode = "200", description = "Revocations retrieved successfully")
+    public ResponseEntity<TokenRevocationDelta> getRevocations(
+        @Parameter(description = "Version from the previous pull, or 0")
+        @RequestParam(defaultValue = "0") long since) {
+        return ResponseEntity.ok(tokenRevocationService.getChangesSince(Math.max(0, since)));
+    }
+}
@@ -1,8 +1,12 @@
 package com.scholarspace.userservice.controllers;
 
+import com.scholarspace.userservice.dto.UserCounts;
 import com.scholarspace.userservice.models.Role;
 import com.scholarspace.userservice.models.User;
+import com.scholarspace.userservice.services.UserExportService;
+import com.scholarspace.userservice.services.UserImportService;
 import com.scholarspace.userservice.services.UserService;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.security.core.Authentication;
@@ -16,6 +20,8 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -28,10 +34,15 @@ import java.util.Optional;
 @SecurityRequirement(name = "Bearer Authentication")
 public class UserController {
     private final UserService userService;
+    private final UserExportService userExportService;
+    private final UserImportService userImportService;
     private final RestTemplate restTemplate;
 
-    public UserController(UserService userService, RestTemplate restTemplate) {
+    public UserController(UserService userService, UserExportService userExportService,
+                          UserImportService userImportService, RestTemplate restTemplate) {
         this.userService = userService;
+        this.userExportService = userExportService;
+        this.userImportService = userImportService;
         this.restTemplate = restTemplate;
     }
 
@@ -64,6 +75,16 @@ public class UserController {
         return ResponseEntity.ok(userService.getAllUsers());
     }
 
+    @GetMapping(params = "stream=true")
+    @Operation(summary = "Stream All Users", description = "Export all users as a JSON array streamed from a database cursor (Admin only)")
+    @ApiResponse(responseCode = "200", description = "Users streamed successfully")
+    @ApiResponse(responseCode = "403", description = "Access denied - Admin role required")
+    public void streamAllUsers(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        userExportService.writeAllUsers(response.getOutputStream());
+    }
+
     @GetMapping("/{id}")
     @Operation(
         summary = "Get User by ID", 
@@ -92,6 +113,31 @@ public class UserController {
         }
     }
 
+    @GetMapping("/search")
+    @Operation(
+        summary = "Search Users",
+        description = "Page through users filtered by role, status and department. With q, users are matched fuzzily on name and email and ranked by similarity; without it they are listed by id. Pass nextCursor back as cursor for the next page."
+    )
+    @ApiResponse(responseCode = "200", description = "Page of users returned")
+    @ApiResponse(responseCode = "400", description = "Invalid role, cursor or limit")
+    public ResponseEntity<?> searchUsers(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        if (limit < 1 || limit > 200) {
+            return ResponseEntity.badRequest().body(Map.of("error", "limit must be between 1 and 200"));
+        }
+        try {
+            Role userRole = role == null ? null : Role.valueOf(role.toUpperCase());
+            return ResponseEntity.ok(userService.searchUsers(q, userRole, active, departmentId, cursor, limit));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @GetMapping("/profile")
     @Operation(
         summary = "Get Current User Profile", 
@@ -295,17 +341,14 @@ public class UserController {
     @ApiResponse(responseCode = "200", description = "User statistics retrieved successfully")
     @ApiResponse(responseCode = "403", description = "Access denied - Admin role required")
     public ResponseEntity<Map<String, Object>> getUserStats() {
-        List<User> allUsers = userService.getAllUsers();
+        UserCounts counts = userService.getUserCounts();
         
         Map<String, Object> stats = Map.of(
-            "totalUsers", allUsers.size(),
-            "totalInstructors", allUsers.stream().filter(u -> u.getRole() == Role.INSTRUCTOR).count(),
-            "totalStudents", allUsers.stream().filter(u -> u.getRole() == Role.STUDENT).count(),
-            "activeUsers", allUsers.stream().filter(User::isActive).count(),
-            "recentUsers", allUsers.stream()
-                .filter(u -> u.getCreatedAt() != null && 
-                    u.getCreatedAt().isAfter(java.time.LocalDateTime.now().minusDays(30)))
-                .count()
+            "totalUsers", counts.total(),
+            "totalInstructors", counts.countByRole(Role.INSTRUCTOR),
+            "totalStudents", counts.countByRole(Role.STUDENT),
+            "activeUsers", counts.active(),
+            "recentUsers", userService.countUsersCreatedAfter(java.time.LocalDateTime.now().minusDays(30))
         );
         
         return ResponseEntity.ok(stats);
@@ -386,6 +429,28 @@ public class UserController {
         }
     }
     
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    @Operation(
+        summary = "Bulk Import Users",
+        description = "Create many users from a CSV file (header row with name, email, password and optional role, departmentId, active) or JSON lines with the same fields. Rows are imported independently; rejected rows are reported with their line number. Admin role required."
+    )
+    @ApiResponse(responseCode = "200", description = "Import finished; see the errors list for rejected rows")
+    @ApiResponse(responseCode = "400", description = "Unreadable upload or missing CSV columns")
+    @ApiResponse(responseCode = "403", description = "Access denied - Admin role required")
+    public ResponseEntity<?> importUsers(HttpServletRequest request) {
+        UserImportService.Format format = MediaType.parseMediaType(request.getContentType())
+                .isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                ? UserImportService.Format.CSV
+                : UserImportService.Format.JSON_LINES;
+        try {
+            return ResponseEntity.ok(userImportService.importUsers(request.getInputStream(), format));
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Could not read upload: " + e.getMessage()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @GetMapping("/debug-auth")
     @Operation(
         summary = "Debug Authentication", 
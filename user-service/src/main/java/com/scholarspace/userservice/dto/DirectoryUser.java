@@ -0,0 +1,11 @@
+package com.scholarspace.userservice.dto;
+
+import com.scholarspace.userservice.models.Role;
+
+/**
+ * A user entry read from Active Directory during a directory sync. {@code email} is the
+ * lower-cased user principal name; {@code accountName} is the sAMAccountName, which
+ * users provisioned at login may have been stored under.
+ */
+public record DirectoryUser(String email, String accountName, String name, Role role) {
+}
@@ -0,0 +1,14 @@
+package com.scholarspace.userservice.dto;
+
+/**
+ * Row of a per-month {@code COUNT(*)} aggregate, keyed by calendar year and month.
+ */
+public record MonthlyCount(Integer year, Integer month, Long count) {
+
+    /**
+     * The month as {@code yyyy-MM}.
+     */
+    public String label() {
+        return String.format("%04d-%02d", year, month);
+    }
+}
@@ -0,0 +1,9 @@
+package com.scholarspace.userservice.dto;
+
+import com.scholarspace.userservice.models.Role;
+
+/**
+ * Row of a {@code COUNT(*) GROUP BY role, is_active} aggregate over users.
+ */
+public record RoleStatusCount(Role role, Boolean isActive, Long count) {
+}
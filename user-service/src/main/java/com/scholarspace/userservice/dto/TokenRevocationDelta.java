@@ -0,0 +1,12 @@
+package com.scholarspace.userservice.dto;
+
+import com.scholarspace.userservice.security.TokenRevocationSet;
+
+import java.util.List;
+
+/**
+ * Revocations newer than the version a service already has. Pass {@code version} back
+ * as {@code since} on the next pull.
+ */
+public record TokenRevocationDelta(long version, List<TokenRevocationSet.Revocation> revocations) {
+}
@@ -0,0 +1,36 @@
+package com.scholarspace.userservice.dto;
+
+import com.scholarspace.userservice.models.Role;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * User totals folded from the role and status aggregate.
+ */
+public record UserCounts(long total, long active, Map<Role, Long> byRole) {
+
+    public static UserCounts from(List<RoleStatusCount> rows) {
+        long total = 0;
+        long active = 0;
+        Map<Role, Long> byRole = new EnumMap<>(Role.class);
+        for (Role role : Role.values()) {
+            byRole.put(role, 0L);
+        }
+        for (RoleStatusCount row : rows) {
+            total += row.count();
+            if (Boolean.TRUE.equals(row.isActive())) {
+                active += row.count();
+            }
+            if (row.role() != null) {
+                byRole.merge(row.role(), row.count(), Long::sum);
+            }
+        }
+        return new UserCounts(total, active, byRole);
+    }
+
+    public long countByRole(Role role) {
+        return byRole.getOrDefault(role, 0L);
+    }
+}
@@ -0,0 +1,13 @@
+package com.scholarspace.userservice.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk user import. Rows that were not imported are listed with their
+ * line number in the uploaded file.
+ */
+public record UserImportResult(int imported, int failed, List<RowError> errors) {
+
+    public record RowError(int line, String email, String error) {
+    }
+}
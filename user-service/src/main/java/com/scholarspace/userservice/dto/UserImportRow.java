@@ -0,0 +1,16 @@
+package com.scholarspace.userservice.dto;
+
+import com.scholarspace.userservice.models.Role;
+
+/**
+ * One parsed row of a bulk user import; {@code password} is still in plain text.
+ */
+public record UserImportRow(
+        int line,
+        String name,
+        String email,
+        String password,
+        Role role,
+        Long departmentId,
+        boolean active) {
+}
@@ -0,0 +1,10 @@
+package com.scholarspace.userservice.dto;
+
+import java.util.List;
+
+/**
+ * One page of user search results. Pass {@code nextCursor} back as {@code cursor} for
+ * the following page; it is null on the last page.
+ */
+public record UserSearchPage(List<UserSummary> items, String nextCursor) {
+}
@@ -0,0 +1,15 @@
+package com.scholarspace.userservice.dto;
+
+import com.scholarspace.userservice.models.Role;
+
+/**
+ * List representation of a user, without the password hash or personal details.
+ */
+public record UserSummary(
+        Long userId,
+        String name,
+        String email,
+        Role role,
+        boolean isActive,
+        Long departmentId) {
+}
@@ -0,0 +1,60 @@
+package com.scholarspace.userservice.models;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * A revoked user or token. The id doubles as the revocation version other services pull from.
+ */
+@Entity
+@Table(name = "token_revocations", indexes = @Index(name = "idx_token_revocations_expires_at", columnList = "expiresAt"))
+public class TokenRevocation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // USER or TOKEN
+    @Column(nullable = false, length = 16)
+    private String type;
+
+    // User id or token id
+    @Column(nullable = false)
+    private String subject;
+
+    @Column(nullable = false)
+    private Instant revokedAt;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    public TokenRevocation() {
+    }
+
+    public TokenRevocation(String type, String subject, Instant revokedAt, Instant expiresAt) {
+        this.type = type;
+        this.subject = subject;
+        this.revokedAt = revokedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public Instant getRevokedAt() {
+        return revokedAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
@@ -3,11 +3,32 @@ package com.scholarspace.userservice.repositories;
 import com.scholarspace.userservice.models.PasswordResetToken;
 import com.scholarspace.userservice.models.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
 public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, Long> {
     Optional<PasswordResetToken> findByToken(String token);
     void deleteByUser(User user);
-}
\ No newline at end of file
+
+    // Conditional update, so only one replica can redeem a token
+    @Modifying
+    @Transactional
+    @Query("UPDATE PasswordResetToken t SET t.used = true WHERE t.token = :token AND t.used = false AND t.expiresAt > :now")
+    int markUsed(@Param("token") String token, @Param("now") LocalDateTime now);
+
+    // Checks a token cached by one replica against redemptions made through the others
+    @Query("SELECT COUNT(t) > 0 FROM PasswordResetToken t WHERE t.token = :token AND t.used = false AND t.expiresAt > :now")
+    boolean isRedeemable(@Param("token") String token, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM PasswordResetToken t WHERE t.expiresAt < :cutoff OR t.used = true")
+    int deleteExpiredOrUsed(@Param("cutoff") LocalDateTime cutoff);
+}
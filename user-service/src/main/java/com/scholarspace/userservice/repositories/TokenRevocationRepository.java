@@ -0,0 +1,27 @@
+package com.scholarspace.userservice.repositories;
+
+import com.scholarspace.userservice.models.TokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+
+    // Also re-sends recent rows, since an id below the caller's version can commit after a higher one
+    @Query("SELECT r FROM TokenRevocation r WHERE (r.id > :since OR r.revokedAt > :recent) AND r.expiresAt > :now ORDER BY r.id")
+    List<TokenRevocation> findChangesSince(@Param("since") long since,
+                                           @Param("recent") Instant recent,
+                                           @Param("now") Instant now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM TokenRevocation r WHERE r.expiresAt < :cutoff")
+    int deleteExpired(@Param("cutoff") Instant cutoff);
+}
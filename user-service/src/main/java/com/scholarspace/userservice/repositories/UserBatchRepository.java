@@ -0,0 +1,151 @@
+package com.scholarspace.userservice.repositories;
+
+import com.scholarspace.userservice.dto.DirectoryUser;
+import com.scholarspace.userservice.dto.UserImportRow;
+import com.scholarspace.userservice.models.Role;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * JDBC batch writes for users. User uses IDENTITY ids, which keeps Hibernate from
+ * batching inserts, so bulk writes go through JdbcTemplate instead.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserBatchRepository {
+
+    private static final String INSERT_USER =
+            "INSERT INTO users (name, email, password, role, is_active, is_first_login, department_id, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Never moves last_login backwards, e.g. when another instance flushed a later login first
+    private static final String UPDATE_LAST_LOGIN =
+            "UPDATE users SET last_login = ? WHERE user_id = ? AND (last_login IS NULL OR last_login < ?)";
+
+    // Directory emails are matched case-insensitively; this index serves those lookups
+    private static final String CREATE_LOWER_EMAIL_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_users_lower_email ON users (LOWER(email))";
+
+    // Renames one directory row stored under another case or the account name to the canonical
+    // email, unless some row already has that exact email
+    private static final String RECONCILE_DIRECTORY_EMAIL =
+            "UPDATE users SET email = ? WHERE user_id = (" +
+            "SELECT MIN(user_id) FROM users WHERE password = '' AND LOWER(email) IN (?, ?) AND email <> ?) " +
+            "AND NOT EXISTS (SELECT 1 FROM users WHERE email = ?)";
+
+    // Directory users are marked by an empty password; local accounts with the same email keep theirs
+    private static final String UPDATE_DIRECTORY_USER =
+            "UPDATE users SET name = ?, role = ? WHERE LOWER(email) = ? AND password = '' " +
+            "AND (name IS DISTINCT FROM ? OR role IS DISTINCT FROM ?)";
+
+    // The conflict clause only covers a login provisioning the same user between the check and the insert
+    private static final String INSERT_DIRECTORY_USER =
+            "INSERT INTO users (name, email, password, role, is_active, is_first_login, created_at) " +
+            "SELECT ?, ?, '', ?, true, false, ? WHERE NOT EXISTS (SELECT 1 FROM users WHERE LOWER(email) = ?) " +
+            "ON CONFLICT (email) DO NOTHING";
+
+    private static final String DEACTIVATE_DIRECTORY_USER =
+            "UPDATE users SET is_active = false WHERE LOWER(email) = ? AND password = ''";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the rows with the matching entries of {@code passwordHashes} as their passwords.
+     */
+    public void insertUsers(List<UserImportRow> rows, List<String> passwordHashes) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.batchUpdate(INSERT_USER, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                UserImportRow row = rows.get(i);
+                ps.setString(1, row.name());
+                ps.setString(2, row.email());
+                ps.setString(3, passwordHashes.get(i));
+                ps.setString(4, row.role().name());
+                ps.setBoolean(5, row.active());
+                // Same rule as UserService.registerUser: only instructors change their password on first login
+                ps.setBoolean(6, row.role() == Role.INSTRUCTOR);
+                if (row.departmentId() != null) {
+                    ps.setLong(7, row.departmentId());
+                } else {
+                    ps.setNull(7, Types.BIGINT);
+                }
+                ps.setObject(8, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+    }
+
+    public void updateLastLogins(List<Map.Entry<Long, LocalDateTime>> lastLogins) {
+        jdbcTemplate.batchUpdate(UPDATE_LAST_LOGIN, lastLogins, lastLogins.size(), (ps, entry) -> {
+            ps.setObject(1, entry.getValue());
+            ps.setLong(2, entry.getKey());
+            ps.setObject(3, entry.getValue());
+        });
+    }
+
+    public void createLowerEmailIndex() {
+        jdbcTemplate.execute(CREATE_LOWER_EMAIL_INDEX);
+    }
+
+    /**
+     * Moves directory rows saved under another case of the email, or under the account
+     * name, to the email the directory reports, so that they are updated rather than
+     * duplicated and later deactivated.
+     */
+    public void reconcileDirectoryEmails(List<DirectoryUser> users) {
+        jdbcTemplate.batchUpdate(RECONCILE_DIRECTORY_EMAIL, users, users.size(), (ps, user) -> {
+            String accountName = user.accountName() == null ? user.email() : user.accountName().toLowerCase(Locale.ROOT);
+            ps.setString(1, user.email());
+            ps.setString(2, user.email());
+            ps.setString(3, accountName);
+            ps.setString(4, user.email());
+            ps.setString(5, user.email());
+        });
+    }
+
+    /**
+     * Inserts new directory users and updates the name and role of existing ones, matching
+     * emails case-insensitively. Local accounts that happen to share an email with a
+     * directory user are left alone.
+     */
+    public void upsertDirectoryUsers(List<DirectoryUser> users) {
+        jdbcTemplate.batchUpdate(UPDATE_DIRECTORY_USER, users, users.size(), (ps, user) -> {
+            ps.setString(1, user.name());
+            ps.setString(2, user.role().name());
+            ps.setString(3, user.email());
+            ps.setString(4, user.name());
+            ps.setString(5, user.role().name());
+        });
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.batchUpdate(INSERT_DIRECTORY_USER, users, users.size(), (ps, user) -> {
+            ps.setString(1, user.name());
+            ps.setString(2, user.email());
+            ps.setString(3, user.role().name());
+            ps.setObject(4, now);
+            ps.setString(5, user.email());
+        });
+    }
+
+    /**
+     * Deactivates the directory users with the given lower-cased emails.
+     */
+    public void deactivateUsers(List<String> emails) {
+        jdbcTemplate.batchUpdate(DEACTIVATE_DIRECTORY_USER, emails, emails.size(),
+                (ps, email) -> ps.setString(1, email));
+    }
+}
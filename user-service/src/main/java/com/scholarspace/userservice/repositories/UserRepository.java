@@ -1,11 +1,26 @@
 package com.scholarspace.userservice.repositories;
 
+import com.scholarspace.userservice.dto.MonthlyCount;
+import com.scholarspace.userservice.dto.RoleStatusCount;
+import com.scholarspace.userservice.dto.UserSummary;
 import com.scholarspace.userservice.models.Role;
 import com.scholarspace.userservice.models.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -13,4 +28,77 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
     List<User> findByRole(Role role);
     List<User> findByRoleAndIsActiveTrue(Role role);
-}
\ No newline at end of file
+
+    // Aggregate counts, evaluated in the database instead of loading every user
+    long countByRole(Role role);
+    long countByIsActiveTrue();
+    long countByCreatedAtAfter(LocalDateTime since);
+
+    @Query("SELECT new com.scholarspace.userservice.dto.RoleStatusCount(u.role, u.isActive, COUNT(u)) " +
+           "FROM User u GROUP BY u.role, u.isActive")
+    List<RoleStatusCount> countGroupByRoleAndActive();
+
+    @Query("SELECT new com.scholarspace.userservice.dto.MonthlyCount(YEAR(u.createdAt), MONTH(u.createdAt), COUNT(u)) " +
+           "FROM User u WHERE u.createdAt > :since " +
+           "GROUP BY YEAR(u.createdAt), MONTH(u.createdAt) " +
+           "ORDER BY YEAR(u.createdAt), MONTH(u.createdAt)")
+    List<MonthlyCount> countRegistrationsByMonthSince(@Param("since") LocalDateTime since);
+
+    // Forward-only cursor for exports; must be consumed inside a read-only transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT u FROM User u ORDER BY u.userId")
+    Stream<User> streamAll();
+
+    // Source of the in-memory search index
+    @Query("SELECT new com.scholarspace.userservice.dto.UserSummary(u.userId, u.name, u.email, u.role, u.isActive, u.departmentId) " +
+           "FROM User u ORDER BY u.userId")
+    List<UserSummary> findAllSummaries();
+
+    // Keyset page: users after the given id matching the optional filters, served by the primary key index
+    @Query("SELECT new com.scholarspace.userservice.dto.UserSummary(u.userId, u.name, u.email, u.role, u.isActive, u.departmentId) " +
+           "FROM User u WHERE u.userId > :afterId " +
+           "AND (:role IS NULL OR u.role = :role) " +
+           "AND (:active IS NULL OR u.isActive = :active) " +
+           "AND (:departmentId IS NULL OR u.departmentId = :departmentId) " +
+           "ORDER BY u.userId")
+    List<UserSummary> findSummariesAfter(@Param("afterId") long afterId, @Param("role") Role role,
+                                         @Param("active") Boolean active, @Param("departmentId") Long departmentId,
+                                         Pageable pageable);
+
+    // Lower-cased emails of existing users matching any of the given ones; the emails must already be lower-cased
+    @Query("SELECT LOWER(u.email) FROM User u WHERE LOWER(u.email) IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT new com.scholarspace.userservice.dto.UserSummary(u.userId, u.name, u.email, u.role, u.isActive, u.departmentId) " +
+           "FROM User u WHERE u.email IN :emails")
+    List<UserSummary> findSummariesByEmailIn(@Param("emails") Collection<String> emails);
+
+    // The emails must already be lower-cased
+    @Query("SELECT new com.scholarspace.userservice.dto.UserSummary(u.userId, u.name, u.email, u.role, u.isActive, u.departmentId) " +
+           "FROM User u WHERE LOWER(u.email) IN :emails")
+    List<UserSummary> findSummariesByLowerEmailIn(@Param("emails") Collection<String> emails);
+
+    // Users created from Active Directory, which have no local password; lower-cased
+    @Query("SELECT LOWER(u.email) FROM User u WHERE u.password = '' AND u.isActive = true")
+    List<String> findActiveDirectoryUserEmails();
+
+    // Directory users stored under any of the given lower-cased emails or account names, oldest first
+    @Query("SELECT u FROM User u WHERE u.password = '' AND LOWER(u.email) IN :emails ORDER BY u.userId")
+    List<User> findDirectoryUsersByLowerEmailIn(@Param("emails") Collection<String> emails);
+
+    // Case-insensitive substring match on name or email; the pattern must already be lower-cased,
+    // with literal %, _ and ! escaped by a preceding !
+    @Query("SELECT u FROM User u WHERE u.role = :role " +
+           "AND (:active IS NULL OR u.isActive = :active) " +
+           "AND (:pattern IS NULL OR LOWER(u.name) LIKE :pattern ESCAPE '!' OR LOWER(u.email) LIKE :pattern ESCAPE '!') " +
+           "ORDER BY u.userId")
+    List<User> findByRoleMatching(@Param("role") Role role, @Param("active") Boolean active,
+                                  @Param("pattern") String pattern);
+
+    // Only replaces the hash the new one was derived from, so a concurrent password change wins
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :newHash WHERE u.userId = :userId AND u.password = :oldHash")
+    int replacePasswordHash(@Param("userId") Long userId, @Param("oldHash") String oldHash,
+                            @Param("newHash") String newHash);
+}
@@ -17,6 +17,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import com.scholarspace.userservice.models.User;
 import com.scholarspace.userservice.repositories.UserRepository;
 import com.scholarspace.userservice.services.JwtService;
+import com.scholarspace.userservice.services.TokenRevocationService;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -29,11 +30,14 @@ public class JwtFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
     private final UserRepository userRepository;
+    private final TokenRevocationService tokenRevocationService;
 
-    public JwtFilter(JwtService jwtService, UserDetailsService userDetailsService, UserRepository userRepository) {
+    public JwtFilter(JwtService jwtService, UserDetailsService userDetailsService, UserRepository userRepository,
+                     TokenRevocationService tokenRevocationService) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
         this.userRepository = userRepository;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @Override
@@ -56,7 +60,10 @@ public class JwtFilter extends OncePerRequestFilter {
         try {
             userEmail = jwtService.extractUsername(jwt);
             
-            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            boolean revoked = jwtService.extractClaim(jwt, claims -> tokenRevocationService.isRevoked(
+                    claims.get("userId", Long.class), claims.getId(), claims.getIssuedAt()));
+            
+            if (userEmail != null && !revoked && SecurityContextHolder.getContext().getAuthentication() == null) {
                 UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
                 
                 // Get the User entity from repository
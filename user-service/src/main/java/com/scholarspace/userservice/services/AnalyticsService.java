@@ -1,15 +1,14 @@
 package com.scholarspace.userservice.services;
 
+import com.scholarspace.userservice.dto.MonthlyCount;
+import com.scholarspace.userservice.dto.UserCounts;
 import com.scholarspace.userservice.models.Role;
-import com.scholarspace.userservice.models.User;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -19,39 +18,30 @@ public class AnalyticsService {
     private final RestTemplate restTemplate;
 
     public Map<String, Object> getUserTrends() {
-        List<User> users = userService.getAllUsers();
+        UserCounts counts = userService.getUserCounts();
         Map<String, Object> trends = new HashMap<>();
         
-        // Monthly registration trends (last 6 months)
-        Map<String, Long> monthlyRegistrations = users.stream()
-            .filter(u -> u.getCreatedAt() != null && 
-                u.getCreatedAt().isAfter(LocalDateTime.now().minusMonths(6)))
-            .collect(Collectors.groupingBy(
-                u -> u.getCreatedAt().format(DateTimeFormatter.ofPattern("yyyy-MM")),
-                Collectors.counting()
-            ));
+        // Monthly registration trends (last 6 months), bucketed in the database
+        Map<String, Long> monthlyRegistrations = new LinkedHashMap<>();
+        for (MonthlyCount month : userService.getMonthlyRegistrations(LocalDateTime.now().minusMonths(6))) {
+            monthlyRegistrations.put(month.label(), month.count());
+        }
         
         trends.put("monthlyRegistrations", monthlyRegistrations);
-        trends.put("totalUsers", users.size());
-        trends.put("activeUsers", users.stream().filter(User::isActive).count());
-        trends.put("recentUsers", users.stream()
-            .filter(u -> u.getCreatedAt() != null && 
-                u.getCreatedAt().isAfter(LocalDateTime.now().minusDays(30)))
-            .count());
+        trends.put("totalUsers", counts.total());
+        trends.put("activeUsers", counts.active());
+        trends.put("recentUsers", userService.countUsersCreatedAfter(LocalDateTime.now().minusDays(30)));
         
         return trends;
     }
 
     public Map<String, Object> getUsersByRole() {
-        List<User> users = userService.getAllUsers();
+        UserCounts counts = userService.getUserCounts();
         Map<String, Object> roleDistribution = new HashMap<>();
         
-        Map<Role, Long> roleCounts = users.stream()
-            .collect(Collectors.groupingBy(User::getRole, Collectors.counting()));
-        
-        roleDistribution.put("ADMIN", roleCounts.getOrDefault(Role.ADMIN, 0L));
-        roleDistribution.put("INSTRUCTOR", roleCounts.getOrDefault(Role.INSTRUCTOR, 0L));
-        roleDistribution.put("STUDENT", roleCounts.getOrDefault(Role.STUDENT, 0L));
+        roleDistribution.put("ADMIN", counts.countByRole(Role.ADMIN));
+        roleDistribution.put("INSTRUCTOR", counts.countByRole(Role.INSTRUCTOR));
+        roleDistribution.put("STUDENT", counts.countByRole(Role.STUDENT));
         
         return roleDistribution;
     }
@@ -61,7 +51,7 @@ public class AnalyticsService {
         
         // User service health
         health.put("userService", "UP");
-        health.put("userCount", userService.getAllUsers().size());
+        health.put("userCount", userService.getUserCounts().total());
         health.put("timestamp", LocalDateTime.now());
         
         // Check other services
@@ -1,14 +1,14 @@
 package com.scholarspace.userservice.services;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
-import java.time.LocalDateTime;
 
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.scholarspace.userservice.models.Role;
 import com.scholarspace.userservice.models.User;
@@ -22,18 +22,26 @@ public class AuthService {
     private final UserService userService;
     private final JwtService jwtService;
     private final LdapAuthenticationService ldapAuthenticationService;
-    
-    // Store reset tokens in memory (for development only)
-    private final Map<String, PasswordResetToken> resetTokens = new HashMap<>();
+    private final PasswordVerifier passwordVerifier;
+    private final DirectorySyncService directorySyncService;
+    private final PasswordResetTokenStore passwordResetTokenStore;
+    private final TokenRevocationService tokenRevocationService;
 
     public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder, 
                        UserService userService, JwtService jwtService, 
-                       LdapAuthenticationService ldapAuthenticationService) {
+                       LdapAuthenticationService ldapAuthenticationService,
+                       PasswordVerifier passwordVerifier, DirectorySyncService directorySyncService,
+                       PasswordResetTokenStore passwordResetTokenStore,
+                       TokenRevocationService tokenRevocationService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.userService = userService;
         this.jwtService = jwtService;
         this.ldapAuthenticationService = ldapAuthenticationService;
+        this.passwordVerifier = passwordVerifier;
+        this.directorySyncService = directorySyncService;
+        this.passwordResetTokenStore = passwordResetTokenStore;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     public Map<String, Object> login(String email, String password) {
@@ -49,9 +57,11 @@ public class AuthService {
             throw new RuntimeException("User account is deactivated");
         }
         
-        if (!passwordEncoder.matches(password, user.getPassword())) {
+        // Hashed off the request thread; throws LoginSaturatedException when verification is saturated
+        if (!passwordVerifier.matches(password, user.getPassword())) {
             throw new RuntimeException("Invalid password");
         }
+        passwordVerifier.rehashIfNeeded(user.getUserId(), password, user.getPassword());
         
         // Check if this is first login for instructors
         boolean isFirstLogin = user.getRole() == Role.INSTRUCTOR && user.isFirstLogin();
@@ -77,66 +87,105 @@ public class AuthService {
             throw new RuntimeException("Email and password are required");
         }
         
-        // Authenticate against Active Directory
-        if (!ldapAuthenticationService.authenticateUser(email, password)) {
-            throw new RuntimeException("Invalid Active Directory credentials");
+        // Once the directory is mirrored locally, a synced user only needs the bind
+        Optional<User> mirrored = directorySyncService.isSynced()
+                ? userRepository.findByEmail(LdapAuthenticationService.canonicalEmail(email)).filter(u -> "".equals(u.getPassword()))
+                : Optional.empty();
+        User user;
+        if (mirrored.isPresent()) {
+            // Groups are re-read on the bind's connection; a sync may not have seen a membership change yet
+            Role role = ldapAuthenticationService.bindAndResolveRole(email, password);
+            if (role == null) {
+                throw new RuntimeException("Invalid Active Directory credentials");
+            }
+            user = mirrored.get();
+            if (!user.isActive()) {
+                throw new RuntimeException("User account is deactivated");
+            }
+            if (user.getRole() != role) {
+                user.setRole(role);
+                user = userService.updateUser(user);
+            }
+        } else {
+            user = provisionFromDirectory(email, password);
         }
         
-        // Get user details from AD
-        Map<String, Object> adUserDetails = ldapAuthenticationService.getUserDetails(email);
+        // Update last login timestamp
+        userService.updateLastLogin(user);
+        
+        String token = jwtService.generateToken(user);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("token", token);
+        response.put("userId", user.getUserId().toString());
+        response.put("name", user.getName());
+        response.put("email", user.getEmail());
+        response.put("role", user.getRole().toString());
+        response.put("isFirstLogin", false);
+        response.put("authType", "AD");
+        
+        return response;
+    }
+    
+    /**
+     * Authenticates with a directory search and bind, then creates or refreshes the local user.
+     */
+    private User provisionFromDirectory(String email, String password) {
+        // Authenticate against Active Directory; the details come back from the same lookup
+        Map<String, Object> adUserDetails = ldapAuthenticationService.authenticate(email, password);
         if (adUserDetails == null) {
-            throw new RuntimeException("Unable to retrieve user details from Active Directory");
+            throw new RuntimeException("Invalid Active Directory credentials");
         }
         
+        String directoryEmail = (String) adUserDetails.get("email");
         String userName = (String) adUserDetails.get("name");
         Role userRole = (Role) adUserDetails.get("role");
         
         if (userName == null || userName.trim().isEmpty()) {
-            userName = email.split("@")[0]; // Fallback to email prefix
+            userName = directoryEmail.split("@")[0]; // Fallback to email prefix
         }
         
-        // Check if user exists in local database
-        Optional<User> userOptional = userRepository.findByEmail(email);
+        // Check if user exists in local database; earlier logins may have stored another case or the account name
+        Optional<User> userOptional = userRepository.findByEmail(directoryEmail)
+                .or(() -> userRepository.findDirectoryUsersByLowerEmailIn(
+                        List.of(directoryEmail, LdapAuthenticationService.canonicalEmail(email))).stream().findFirst());
         User user;
         
         if (userOptional.isEmpty()) {
             // Create new user from AD details
             user = new User();
-            user.setEmail(email);
+            user.setEmail(directoryEmail);
             user.setName(userName);
             user.setRole(userRole);
             user.setActive(true);
             user.setFirstLogin(false); // AD users are not first-time logins
             user.setPassword(""); // No password stored for AD users
-            user = userRepository.save(user);
+            user = userService.updateUser(user);
         } else {
             user = userOptional.get();
             if (!user.isActive()) {
                 throw new RuntimeException("User account is deactivated");
             }
             // Update user details from AD
+            user.setEmail(directoryEmail);
             user.setName(userName);
             user.setRole(userRole);
-            user = userRepository.save(user);
+            user = userService.updateUser(user);
         }
-        
-        // Update last login timestamp
-        userService.updateLastLogin(user);
-        
-        String token = jwtService.generateToken(user);
-        
-        Map<String, Object> response = new HashMap<>();
-        response.put("token", token);
-        response.put("userId", user.getUserId().toString());
-        response.put("name", user.getName());
-        response.put("email", user.getEmail());
-        response.put("role", user.getRole().toString());
-        response.put("isFirstLogin", false);
-        response.put("authType", "AD");
-        
-        return response;
+        return user;
     }
-    
+
+    /**
+     * Revoke the given token so no service accepts it again, even before it expires
+     */
+    public void logout(String token) {
+        String tokenId = jwtService.extractTokenId(token);
+        if (tokenId == null) {
+            throw new RuntimeException("Token cannot be revoked individually; it expires on its own");
+        }
+        tokenRevocationService.revokeToken(tokenId, jwtService.extractExpiration(token));
+    }
+
     /**
      * Generate a password reset token for the given email
      * In a production environment, this would send an email with the reset link
@@ -154,11 +203,8 @@ public class AuthService {
             throw new RuntimeException("User account is deactivated");
         }
         
-        // Generate a unique token
-        String token = UUID.randomUUID().toString();
-        
-        // Store token with user email and expiration time (24 hours from now)
-        resetTokens.put(token, new PasswordResetToken(email, LocalDateTime.now().plusHours(24)));
+        // Generate a unique token, valid for 24 hours
+        String token = passwordResetTokenStore.issue(user);
         
         // In a real application, send an email with the reset link
         // For development, just return the token
@@ -171,35 +217,33 @@ public class AuthService {
     }
     
     /**
-     * Reset the password using the token
+     * Reset the password using the token. The token is redeemed in the same transaction as
+     * the password change, so a failed save leaves the token usable.
      */
+    @Transactional
     public Map<String, String> resetPassword(String token, String newPassword) {
-        PasswordResetToken resetToken = resetTokens.get(token);
-        
-        if (resetToken == null) {
-            throw new RuntimeException("Invalid or expired password reset token");
-        }
+        PasswordResetTokenStore.ResetToken resetToken = passwordResetTokenStore.find(token)
+                .orElseThrow(() -> new RuntimeException("Invalid or expired password reset token"));
         
-        if (resetToken.isExpired()) {
-            resetTokens.remove(token);
-            throw new RuntimeException("Password reset token has expired");
-        }
-        
-        Optional<User> userOptional = userRepository.findByEmail(resetToken.getEmail());
+        Optional<User> userOptional = userRepository.findById(resetToken.userId());
         
         if (userOptional.isEmpty()) {
-            throw new UsernameNotFoundException("User not found with email: " + resetToken.getEmail());
+            throw new UsernameNotFoundException("User not found with email: " + resetToken.email());
         }
         
         User user = userOptional.get();
+        // Hashed before the token row is locked by the redeem below
+        String newHash = passwordEncoder.encode(newPassword);
+        
+        // Redeem the token first so a concurrent request cannot use it as well
+        if (!passwordResetTokenStore.redeem(token)) {
+            throw new RuntimeException("Invalid or expired password reset token");
+        }
         
         // Update the password
-        user.setPassword(passwordEncoder.encode(newPassword));
+        user.setPassword(newHash);
         userRepository.save(user);
         
-        // Remove the used token
-        resetTokens.remove(token);
-        
         Map<String, String> response = new HashMap<>();
         response.put("message", "Password has been reset successfully");
         
@@ -210,28 +254,6 @@ public class AuthService {
      * Validate if a reset token is valid
      */
     public boolean validateResetToken(String token) {
-        PasswordResetToken resetToken = resetTokens.get(token);
-        return resetToken != null && !resetToken.isExpired();
-    }
-    
-    /**
-     * Inner class to store password reset token information
-     */
-    private static class PasswordResetToken {
-        private final String email;
-        private final LocalDateTime expiryDate;
-        
-        public PasswordResetToken(String email, LocalDateTime expiryDate) {
-            this.email = email;
-            this.expiryDate = expiryDate;
-        }
-        
-        public String getEmail() {
-            return email;
-        }
-        
-        public boolean isExpired() {
-            return LocalDateTime.now().isAfter(expiryDate);
-        }
+        return passwordResetTokenStore.find(token).isPresent();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,135 @@
+package com.scholarspace.userservice.services;
+
+import com.scholarspace.userservice.models.Role;
+import com.scholarspace.userservice.repositories.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps the last computed admin dashboard statistics and serves them
+ * stale-while-revalidate: once the snapshot is older than the configured TTL
+ * the current value is still returned while a single background refresh runs.
+ * A snapshot computed while course-service was unreachable holds fallback course
+ * counts and is kept only for a short TTL, so the dashboard recovers soon after.
+ */
+@Component
+@Slf4j
+public class DashboardStatsProvider {
+
+    private final UserRepository userRepository;
+    private final RestTemplate restTemplate;
+    private final long ttlMillis;
+    private final long degradedTtlMillis;
+
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+    private final Object initialLoadLock = new Object();
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "dashboard-stats-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Snapshot snapshot;
+
+    public DashboardStatsProvider(UserRepository userRepository, RestTemplate restTemplate,
+                                  @Value("${app.dashboard.stats-ttl-seconds:60}") long ttlSeconds,
+                                  @Value("${app.dashboard.degraded-stats-ttl-seconds:5}") long degradedTtlSeconds) {
+        this.userRepository = userRepository;
+        this.restTemplate = restTemplate;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.degradedTtlMillis = degradedTtlSeconds * 1000;
+    }
+
+    /**
+     * Get the dashboard statistics, computing them synchronously only when no
+     * value has been loaded yet.
+     *
+     * @return An unmodifiable view of the latest statistics
+     */
+    public Map<String, Object> getStats() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (initialLoadLock) {
+                // Concurrent first callers wait for the one load instead of each computing
+                current = snapshot;
+                if (current == null) {
+                    current = computeSnapshot();
+                    snapshot = current;
+                }
+            }
+        } else if (System.currentTimeMillis() > current.expiresAt()) {
+            triggerRefresh();
+        }
+        return current.stats();
+    }
+
+    private void triggerRefresh() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    snapshot = computeSnapshot();
+                } catch (Exception e) {
+                    log.warn("Dashboard stats refresh failed, keeping previous value: {}", e.getMessage());
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            refreshing.set(false);
+            log.warn("Could not schedule dashboard stats refresh: {}", e.getMessage());
+        }
+    }
+
+    private Snapshot computeSnapshot() {
+        Map<String, Object> stats = new HashMap<>();
+        boolean degraded = false;
+
+        // User statistics (local SQL aggregates)
+        stats.put("totalUsers", userRepository.count());
+        stats.put("totalInstructors", userRepository.countByRole(Role.INSTRUCTOR));
+        stats.put("totalStudents", userRepository.countByRole(Role.STUDENT));
+        stats.put("activeUsers", userRepository.countByIsActiveTrue());
+        stats.put("recentUsers", userRepository.countByCreatedAtAfter(LocalDateTime.now().minusDays(30)));
+
+        // Course statistics from course-service
+        try {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> courseStats = restTemplate.getForObject("http://course-service/api/courses/stats", Map.class);
+            if (courseStats != null) {
+                stats.putAll(courseStats);
+            }
+        } catch (Exception e) {
+            // Fallback values if course-service unavailable
+            log.warn("Course stats unavailable, using fallback values: {}", e.getMessage());
+            stats.put("totalCourses", 0);
+            stats.put("activeCourses", 0);
+            stats.put("recentCourses", 0);
+            degraded = true;
+        }
+
+        long expiresAt = System.currentTimeMillis() + (degraded ? degradedTtlMillis : ttlMillis);
+        return new Snapshot(Collections.unmodifiableMap(stats), expiresAt);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private record Snapshot(Map<String, Object> stats, long expiresAt) {
+    }
+}
@@ -0,0 +1,253 @@
+package com.scholarspace.userservice.services;
+
+import com.scholarspace.userservice.config.LdapConfig;
+import com.scholarspace.userservice.dto.DirectoryUser;
+import com.scholarspace.userservice.dto.UserSummary;
+import com.scholarspace.userservice.repositories.UserBatchRepository;
+import com.scholarspace.userservice.repositories.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.ldap.control.PagedResultsDirContextProcessor;
+import org.springframework.ldap.core.AttributesMapper;
+import org.springframework.ldap.core.LdapTemplate;
+import org.springframework.ldap.core.support.SingleContextSource;
+import org.springframework.ldap.filter.AndFilter;
+import org.springframework.ldap.filter.EqualsFilter;
+import org.springframework.ldap.filter.GreaterThanOrEqualsFilter;
+import org.springframework.ldap.filter.PresentFilter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.naming.directory.Attributes;
+import javax.naming.directory.SearchControls;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mirrors the ScholarSpace OU of Active Directory into {@code users}. Entries are read
+ * with paged searches and upserted in JDBC batches with the role their groups grant.
+ *
+ * <p>Runs after startup and then periodically. Between full syncs only entries whose
+ * {@code uSNChanged} is above the highest value already seen are read. Group membership
+ * changes do not touch the member's entry, so a change to any role-granting group makes
+ * the next run a full sync. A full sync also deactivates directory users that are no
+ * longer in the OU; they are not reactivated automatically if they come back.
+ *
+ * <p>Emails are the lower-cased user principal names and are matched case-insensitively.
+ * Rows that logins stored under another case or the sAMAccountName are moved to that
+ * email before the upsert, so they are kept rather than duplicated and deactivated.
+ */
+@Component
+@Slf4j
+public class DirectorySyncService {
+
+    private final LdapTemplate ldapTemplate;
+    private final LdapConfig ldapConfig;
+    private final LdapAuthenticationService ldapAuthenticationService;
+    private final UserRepository userRepository;
+    private final UserBatchRepository userBatchRepository;
+    private final UserSearchIndex userSearchIndex;
+    private final TokenRevocationService tokenRevocationService;
+    private final TransactionTemplate transactionTemplate;
+    private final int pageSize;
+    private final Duration fullSyncInterval;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "directory-sync");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Only touched from the scheduler thread
+    private long highestUsn;
+    private long highestGroupUsn;
+    private Instant lastFullSync;
+    private boolean indexed;
+    private volatile boolean synced;
+
+    public DirectorySyncService(LdapTemplate ldapTemplate,
+                                LdapConfig ldapConfig,
+                                LdapAuthenticationService ldapAuthenticationService,
+                                UserRepository userRepository,
+                                UserBatchRepository userBatchRepository,
+                                UserSearchIndex userSearchIndex,
+                                TokenRevocationService tokenRevocationService,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${ldap.sync.enabled:true}") boolean enabled,
+                                @Value("${ldap.sync.interval-minutes:15}") long intervalMinutes,
+                                @Value("${ldap.sync.full-sync-hours:24}") long fullSyncHours,
+                                @Value("${ldap.sync.page-size:500}") int pageSize) {
+        this.ldapTemplate = ldapTemplate;
+        this.ldapConfig = ldapConfig;
+        this.ldapAuthenticationService = ldapAuthenticationService;
+        this.userRepository = userRepository;
+        this.userBatchRepository = userBatchRepository;
+        this.userSearchIndex = userSearchIndex;
+        this.tokenRevocationService = tokenRevocationService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pageSize = pageSize;
+        this.fullSyncInterval = Duration.ofHours(fullSyncHours);
+        if (enabled) {
+            scheduler.scheduleWithFixedDelay(this::syncQuietly, 30, intervalMinutes * 60, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Whether a full sync has completed, so local users reflect the directory.
+     */
+    public boolean isSynced() {
+        return synced;
+    }
+
+    void syncQuietly() {
+        try {
+            if (!indexed) {
+                createLowerEmailIndex();
+            }
+            long groupUsn = ldapAuthenticationService.highestRoleGroupUsn();
+            boolean full = lastFullSync == null || Instant.now().isAfter(lastFullSync.plus(fullSyncInterval))
+                    || groupUsn > highestGroupUsn;
+            sync(full);
+            highestGroupUsn = groupUsn;
+        } catch (RuntimeException e) {
+            log.warn("Directory sync failed: {}", e.getMessage());
+        }
+    }
+
+    private void createLowerEmailIndex() {
+        try {
+            userBatchRepository.createLowerEmailIndex();
+        } catch (RuntimeException e) {
+            // Matching still works without it, by scanning users
+            log.warn("Could not create the lower-case email index: {}", e.getMessage());
+        }
+        indexed = true;
+    }
+
+    void sync(boolean full) {
+        Instant started = Instant.now();
+        AndFilter filter = new AndFilter()
+                .and(new EqualsFilter("objectClass", "user"))
+                .and(new EqualsFilter("objectCategory", "person"))
+                .and(new PresentFilter("userPrincipalName"));
+        if (!full) {
+            filter.and(new GreaterThanOrEqualsFilter("uSNChanged", String.valueOf(highestUsn + 1)));
+        }
+
+        SearchControls controls = new SearchControls();
+        controls.setSearchScope(SearchControls.SUBTREE_SCOPE);
+        controls.setReturningAttributes(new String[] {
+                "distinguishedName", "userPrincipalName", "sAMAccountName", "displayName", "givenName", "sn", "memberOf",
+                "uSNChanged"
+        });
+
+        Set<String> seen = new HashSet<>();
+        long[] maxUsn = {highestUsn};
+        int[] upserted = {0};
+        PagedResultsDirContextProcessor processor = new PagedResultsDirContextProcessor(pageSize);
+        AttributesMapper<Entry> mapper = attrs -> new Entry(
+                LdapAuthenticationService.getAttributeValue(attrs, "distinguishedName"),
+                LdapAuthenticationService.canonicalEmail(LdapAuthenticationService.getAttributeValue(attrs, "userPrincipalName")),
+                LdapAuthenticationService.getAttributeValue(attrs, "sAMAccountName"),
+                displayName(attrs),
+                LdapAuthenticationService.getAttributeValues(attrs, "memberOf"),
+                parseUsn(LdapAuthenticationService.getAttributeValue(attrs, "uSNChanged")));
+
+        // Paged results are tied to the connection, so every page is read on the same one
+        SingleContextSource.doWithSingleContext(ldapTemplate.getContextSource(), operations -> {
+            do {
+                List<Entry> page = operations.search(LdapAuthenticationService.searchBase(ldapConfig.getUserSearchBase()),
+                        filter.encode(), controls, mapper, processor);
+                List<DirectoryUser> users = new ArrayList<>(page.size());
+                for (Entry entry : page) {
+                    if (entry.email() == null || !seen.add(entry.email())) {
+                        continue;
+                    }
+                    maxUsn[0] = Math.max(maxUsn[0], entry.usn());
+                    users.add(new DirectoryUser(entry.email(), entry.accountName(),
+                            entry.name() == null || entry.name().isBlank() ? entry.email().split("@")[0] : entry.name(),
+                            ldapAuthenticationService.resolveRole(entry.distinguishedName(), entry.memberOf())));
+                }
+                if (!users.isEmpty()) {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        userBatchRepository.reconcileDirectoryEmails(users);
+                        userBatchRepository.upsertDirectoryUsers(users);
+                    });
+                    reindex(users.stream().map(DirectoryUser::email).toList());
+                    upserted[0] += users.size();
+                }
+            } while (processor.hasMore());
+            return null;
+        });
+
+        int deactivated = 0;
+        if (full) {
+            deactivated = deactivateMissing(seen);
+            lastFullSync = started;
+            synced = true;
+        }
+        highestUsn = maxUsn[0];
+        log.info("{} directory sync: {} users upserted, {} deactivated in {} ms",
+                full ? "Full" : "Incremental", upserted[0], deactivated,
+                Duration.between(started, Instant.now()).toMillis());
+    }
+
+    private int deactivateMissing(Set<String> seen) {
+        if (seen.isEmpty()) {
+            // An empty result is far more likely a misconfigured search than an empty OU
+            log.warn("Directory sync found no users; skipping deactivation");
+            return 0;
+        }
+        List<String> missing = userRepository.findActiveDirectoryUserEmails().stream()
+                .filter(email -> !seen.contains(email))
+                .toList();
+        for (int from = 0; from < missing.size(); from += pageSize) {
+            List<String> batch = missing.subList(from, Math.min(from + pageSize, missing.size()));
+            transactionTemplate.executeWithoutResult(status -> userBatchRepository.deactivateUsers(batch));
+            List<UserSummary> deactivated = reindex(batch);
+            tokenRevocationService.revokeUsers(deactivated.stream().map(UserSummary::userId).toList());
+        }
+        return missing.size();
+    }
+
+    private List<UserSummary> reindex(List<String> emails) {
+        List<UserSummary> users = userRepository.findSummariesByLowerEmailIn(emails);
+        users.forEach(userSearchIndex::index);
+        return users;
+    }
+
+    private static String displayName(Attributes attrs) {
+        String displayName = LdapAuthenticationService.getAttributeValue(attrs, "displayName");
+        if (displayName != null) {
+            return displayName;
+        }
+        String givenName = LdapAuthenticationService.getAttributeValue(attrs, "givenName");
+        String surname = LdapAuthenticationService.getAttributeValue(attrs, "sn");
+        return ((givenName == null ? "" : givenName) + " " + (surname == null ? "" : surname)).trim();
+    }
+
+    private static long parseUsn(String value) {
+        try {
+            return value == null ? 0 : Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private record Entry(String distinguishedName, String email, String accountName, String name,
+                         List<String> memberOf, long usn) {
+    }
+}
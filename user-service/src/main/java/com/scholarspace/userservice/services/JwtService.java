@@ -13,6 +13,7 @@ import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Service
@@ -37,6 +38,7 @@ public class JwtService {
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(user.getEmail())
+                .setId(UUID.randomUUID().toString())  // Lets a single token be revoked on logout
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + jwtProperties.getExpiration()))
                 .signWith(key, SignatureAlgorithm.HS256)
@@ -59,6 +61,10 @@ public class JwtService {
         return extractClaim(token, claims -> claims.get("userId", Long.class));
     }
     
+    public String extractTokenId(String token) {
+        return extractClaim(token, Claims::getId);
+    }
+    
     public String extractName(String token) {
         return extractClaim(token, claims -> claims.get("name", String.class));
     }
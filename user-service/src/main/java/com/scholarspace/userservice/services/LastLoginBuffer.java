@@ -0,0 +1,105 @@
+package com.scholarspace.userservice.services;
+
+import com.scholarspace.userservice.repositories.UserBatchRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Write-behind buffer for last-login timestamps. Logins record the time in memory,
+ * keeping only the latest per user, and the buffer is written periodically as one
+ * batched UPDATE. The buffer holds at most {@code capacity} users; a login that finds
+ * it full triggers a flush and writes its own timestamp directly.
+ */
+@Component
+@Slf4j
+public class LastLoginBuffer {
+
+    private final UserBatchRepository userBatchRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int capacity;
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "last-login-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public LastLoginBuffer(UserBatchRepository userBatchRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.last-login.buffer-capacity:10000}") int capacity,
+                           @Value("${app.last-login.flush-interval-ms:5000}") long flushIntervalMs) {
+        this.userBatchRepository = userBatchRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.capacity = capacity;
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void record(Long userId, LocalDateTime loginAt) {
+        if (pending.size() >= capacity && !pending.containsKey(userId)) {
+            if (flushScheduled.compareAndSet(false, true)) {
+                flusher.execute(() -> {
+                    flushScheduled.set(false);
+                    flush();
+                });
+            }
+            try {
+                write(List.of(Map.entry(userId, loginAt)));
+            } catch (RuntimeException e) {
+                log.warn("Failed to update last login of user {}: {}", userId, e.getMessage());
+            }
+            return;
+        }
+        pending.merge(userId, loginAt, (current, latest) -> latest.isAfter(current) ? latest : current);
+    }
+
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<Long, LocalDateTime>> batch = new ArrayList<>(pending.size());
+        pending.forEach((userId, loginAt) -> batch.add(Map.entry(userId, loginAt)));
+        try {
+            write(batch);
+        } catch (RuntimeException e) {
+            // Entries stay buffered and are retried on the next flush
+            log.warn("Failed to flush {} last-login updates: {}", batch.size(), e.getMessage());
+            return;
+        }
+        // A user who logged in again meanwhile keeps the newer timestamp for the next flush
+        for (Map.Entry<Long, LocalDateTime> entry : batch) {
+            pending.remove(entry.getKey(), entry.getValue());
+        }
+        log.debug("Flushed {} last-login updates", batch.size());
+    }
+
+    private void write(List<Map.Entry<Long, LocalDateTime>> lastLogins) {
+        transactionTemplate.executeWithoutResult(status -> userBatchRepository.updateLastLogins(lastLogins));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Write whatever is still buffered before the datasource goes away
+        flush();
+    }
+}
@@ -1,217 +1,320 @@
 package com.scholarspace.userservice.services;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.scholarspace.userservice.config.LdapConfig;
 import com.scholarspace.userservice.models.Role;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ldap.core.AttributesMapper;
 import org.springframework.ldap.core.LdapTemplate;
 import org.springframework.ldap.filter.AndFilter;
 import org.springframework.ldap.filter.EqualsFilter;
+import org.springframework.ldap.filter.OrFilter;
+import org.springframework.ldap.support.LdapUtils;
 import org.springframework.stereotype.Service;
 
+import javax.naming.AuthenticationException;
 import javax.naming.Context;
 import javax.naming.NamingEnumeration;
+import javax.naming.NamingException;
 import javax.naming.directory.Attribute;
 import javax.naming.directory.Attributes;
 import javax.naming.directory.SearchControls;
 import javax.naming.directory.SearchResult;
 import javax.naming.ldap.InitialLdapContext;
-import javax.naming.ldap.LdapContext;
+import javax.naming.ldap.LdapName;
+import javax.naming.ldap.Rdn;
+import java.time.Duration;
 import java.util.*;
 
+/**
+ * Active Directory login. One search on a pooled service-account connection returns the
+ * user's DN, display attributes and {@code memberOf}; the password is then checked with a
+ * bind on a new, unpooled connection. Group-to-role resolutions are cached, so a login is
+ * one search and one bind. Users already mirrored locally are checked with a bind that
+ * reads their groups on the bound connection instead.
+ */
 @Service
+@Slf4j
 public class LdapAuthenticationService {
 
+    private static final String[] USER_ATTRIBUTES = {
+            "distinguishedName", "userPrincipalName", "displayName", "givenName", "sn", "sAMAccountName", "memberOf"
+    };
+    // Checked in priority order; the first role a user's groups map to wins
+    private static final Map<String, Role> GROUP_ROLES = new LinkedHashMap<>();
+    static {
+        GROUP_ROLES.put("scholarspace-admins", Role.ADMIN);
+        GROUP_ROLES.put("scholarspace-instructors", Role.INSTRUCTOR);
+        GROUP_ROLES.put("scholarspace-students", Role.STUDENT);
+    }
+
     private final LdapTemplate ldapTemplate;
     private final LdapConfig ldapConfig;
+    // Group DN -> lower-cased group name, or "" when the group does not map to a role
+    private final Cache<String, String> groupNames;
 
     public LdapAuthenticationService(LdapTemplate ldapTemplate, LdapConfig ldapConfig) {
         this.ldapTemplate = ldapTemplate;
         this.ldapConfig = ldapConfig;
+        this.groupNames = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(ldapConfig.getGroupRoleCacheTtlMinutes()))
+                .maximumSize(10_000)
+                .build();
     }
 
-    public boolean authenticateUser(String email, String password) {
+    /**
+     * Checks the credentials and returns the user's details with their role, or null when
+     * the user does not exist or the password is wrong.
+     */
+    public Map<String, Object> authenticate(String email, String password) {
         if (email == null || password == null || email.trim().isEmpty() || password.trim().isEmpty()) {
-            System.out.println("LDAP Auth: Empty credentials provided");
-            return false;
+            log.debug("LDAP auth: empty credentials provided");
+            return null;
         }
-        
-        try {
-            System.out.println("LDAP Auth: Attempting authentication for: " + email);
-            
-            // Step 1: Find user DN using service account
-            String userDn = findUserDn(email);
-            if (userDn == null) {
-                System.out.println("LDAP Auth: User DN not found for: " + email);
-                return false;
-            }
-            
-            System.out.println("LDAP Auth: Found user DN: " + userDn);
-            
-            // Step 2: Authenticate user with their DN and password
-            boolean result = bindWithUserCredentials(userDn, password);
-            System.out.println("LDAP Auth: Authentication result: " + result);
-            return result;
-        } catch (Exception e) {
-            System.out.println("LDAP Auth: Exception during authentication: " + e.getMessage());
-            e.printStackTrace();
-            return false;
+
+        DirectoryUser user = findUser(email);
+        if (user == null || user.distinguishedName() == null) {
+            log.debug("LDAP auth: no directory entry for {}", email);
+            return null;
         }
+        if (!bindWithUserCredentials(user.distinguishedName(), password)) {
+            return null;
+        }
+
+        Map<String, Object> userDetails = new HashMap<>();
+        // The directory's spelling, whatever the user typed; falls back to the input for entries without a UPN
+        userDetails.put("email", canonicalEmail(user.userPrincipalName() != null ? user.userPrincipalName() : email));
+        userDetails.put("name", user.displayName() != null
+                ? user.displayName()
+                : (Objects.toString(user.givenName(), "") + " " + Objects.toString(user.surname(), "")).trim());
+        userDetails.put("firstName", user.givenName());
+        userDetails.put("lastName", user.surname());
+        userDetails.put("samAccountName", user.samAccountName());
+        userDetails.put("distinguishedName", user.distinguishedName());
+        userDetails.put("role", resolveRole(user.distinguishedName(), user.memberOf()));
+        return userDetails;
     }
 
-    private String findUserDn(String identifier) {
+    private DirectoryUser findUser(String identifier) {
+        OrFilter filter = new OrFilter()
+                .or(new EqualsFilter("userPrincipalName", identifier))
+                .or(new EqualsFilter("sAMAccountName", identifier));
+        SearchControls controls = new SearchControls();
+        controls.setSearchScope(SearchControls.SUBTREE_SCOPE);
+        controls.setReturningAttributes(USER_ATTRIBUTES);
+        controls.setCountLimit(1);
+
+        List<DirectoryUser> users = ldapTemplate.search(searchBase(ldapConfig.getUserSearchBase()), filter.encode(), controls,
+                (AttributesMapper<DirectoryUser>) attrs -> new DirectoryUser(
+                        getAttributeValue(attrs, "distinguishedName"),
+                        getAttributeValue(attrs, "userPrincipalName"),
+                        getAttributeValue(attrs, "displayName"),
+                        getAttributeValue(attrs, "givenName"),
+                        getAttributeValue(attrs, "sn"),
+                        getAttributeValue(attrs, "sAMAccountName"),
+                        getAttributeValues(attrs, "memberOf")));
+        return users.isEmpty() ? null : users.get(0);
+    }
+
+    /**
+     * Binds as {@code principal} and, on the same connection, reads the role the user's groups
+     * grant now, so membership changes apply from the next login. Active Directory accepts
+     * the user principal name as well as the DN. Returns null when the bind fails or the
+     * user is not under the user search base.
+     */
+    public Role bindAndResolveRole(String principal, String password) {
+        if (principal == null || password == null || password.trim().isEmpty()) {
+            return null;
+        }
+        InitialLdapContext context = bindAs(principal, password);
+        if (context == null) {
+            return null;
+        }
         try {
-            String filter = String.format("(|(userPrincipalName=%s)(sAMAccountName=%s))", identifier, identifier);
-            System.out.println("LDAP Search: Using filter: " + filter);
-            
-            String searchBase = ldapConfig.getUserSearchBase();
-            if (searchBase == null || searchBase.trim().isEmpty()) {
-                searchBase = "";  // Search from root
+            SearchControls controls = new SearchControls();
+            controls.setSearchScope(SearchControls.SUBTREE_SCOPE);
+            controls.setReturningAttributes(new String[] {"distinguishedName", "memberOf"});
+            controls.setCountLimit(1);
+            NamingEnumeration<SearchResult> results = context.search(absoluteBase(ldapConfig.getUserSearchBase()),
+                    "(|(userPrincipalName={0})(sAMAccountName={0})(distinguishedName={0}))",
+                    new Object[] {principal}, controls);
+            if (!results.hasMore()) {
+                log.debug("LDAP auth: {} is not under the user search base", principal);
+                return null;
             }
-            
-            List<String> dns = ldapTemplate.search(
-                searchBase,
-                filter,
-                (Attributes attrs) -> getAttributeValue(attrs, "distinguishedName")
-            );
-            
-            System.out.println("LDAP Search: Found " + dns.size() + " results");
-            return dns.isEmpty() ? null : dns.get(0);
-        } catch (Exception e) {
-            System.out.println("LDAP Search: Exception during user search: " + e.getMessage());
-            e.printStackTrace();
+            Attributes attrs = results.next().getAttributes();
+            return resolveRole(getAttributeValue(attrs, "distinguishedName"), getAttributeValues(attrs, "memberOf"));
+        } catch (NamingException e) {
+            log.warn("Could not read the directory entry of {}: {}", principal, e.getMessage());
             return null;
+        } finally {
+            LdapUtils.closeContext(context);
         }
     }
 
     private boolean bindWithUserCredentials(String userDn, String password) {
-        LdapContext ctx = null;
+        InitialLdapContext context = bindAs(userDn, password);
+        LdapUtils.closeContext(context);
+        return context != null;
+    }
+
+    private InitialLdapContext bindAs(String principal, String password) {
+        Hashtable<String, String> env = new Hashtable<>();
+        env.put(Context.INITIAL_CONTEXT_FACTORY, "com.sun.jndi.ldap.LdapCtxFactory");
+        env.put(Context.PROVIDER_URL, ldapConfig.getUrl());
+        env.put(Context.SECURITY_AUTHENTICATION, "simple");
+        env.put(Context.SECURITY_PRINCIPAL, principal);
+        env.put(Context.SECURITY_CREDENTIALS, password);
+        // Never pooled: a pooled connection is reused without binding again, so a password changed
+        // or an account disabled in the directory would keep working until the connection idles out
+        env.put("com.sun.jndi.ldap.connect.pool", "false");
+        env.put("com.sun.jndi.ldap.connect.timeout", "5000");
+        env.put("com.sun.jndi.ldap.read.timeout", "5000");
+
         try {
-            System.out.println("LDAP Bind: Attempting bind with DN: " + userDn);
-            
-            Hashtable<String, String> env = new Hashtable<>();
-            env.put(Context.INITIAL_CONTEXT_FACTORY, "com.sun.jndi.ldap.LdapCtxFactory");
-            env.put(Context.PROVIDER_URL, ldapConfig.getUrl());
-            env.put(Context.SECURITY_AUTHENTICATION, "simple");
-            env.put(Context.SECURITY_PRINCIPAL, userDn);
-            env.put(Context.SECURITY_CREDENTIALS, password);
-            env.put("com.sun.jndi.ldap.connect.timeout", "5000");
-            env.put("com.sun.jndi.ldap.read.timeout", "5000");
-
-            ctx = new InitialLdapContext(env, null);
-            System.out.println("LDAP Bind: Successful bind for: " + userDn);
-            return true;
-        } catch (Exception e) {
-            System.out.println("LDAP Bind: Failed to bind with DN: " + userDn + ", Error: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        } finally {
-            if (ctx != null) {
-                try { ctx.close(); } catch (Exception e) {}
-            }
+            return new InitialLdapContext(env, null);
+        } catch (AuthenticationException e) {
+            log.debug("LDAP bind rejected for {}", principal);
+            return null;
+        } catch (NamingException e) {
+            log.warn("LDAP bind failed for {}: {}", principal, e.getMessage());
+            return null;
         }
     }
 
-    public Map<String, Object> getUserDetails(String email) {
-        if (email == null || email.trim().isEmpty()) {
-            return null;
+    /**
+     * The highest {@code uSNChanged} among the groups that grant a role. Adding or removing a
+     * member changes the group's entry but not the member's, so this is how a sync notices
+     * membership changes.
+     */
+    public long highestRoleGroupUsn() {
+        String attribute = roleAttribute();
+        OrFilter names = new OrFilter();
+        GROUP_ROLES.keySet().forEach(group -> names.or(new EqualsFilter(attribute, group)));
+        AndFilter filter = new AndFilter().and(new EqualsFilter("objectClass", "group")).and(names);
+        SearchControls controls = new SearchControls();
+        controls.setSearchScope(SearchControls.SUBTREE_SCOPE);
+        controls.setReturningAttributes(new String[] {"uSNChanged"});
+
+        long highest = 0;
+        for (String usn : ldapTemplate.search(searchBase(ldapConfig.getGroupSearchBase()), filter.encode(), controls,
+                (AttributesMapper<String>) attrs -> getAttributeValue(attrs, "uSNChanged"))) {
+            try {
+                highest = Math.max(highest, usn == null ? 0 : Long.parseLong(usn));
+            } catch (NumberFormatException e) {
+                // Not Active Directory; membership changes are then picked up by full syncs only
+            }
         }
-        
-        try {
-            String filter = String.format("(|(userPrincipalName=%s)(sAMAccountName=%s))", email, email);
+        return highest;
+    }
 
-            String searchBase = ldapConfig.getUserSearchBase();
-            if (searchBase == null || searchBase.trim().isEmpty()) {
-                searchBase = "";  // Search from root
+    /**
+     * The role granted by the user's groups, given the {@code memberOf} values of their entry.
+     */
+    public Role resolveRole(String userDn, List<String> groups) {
+        Set<String> names = new HashSet<>();
+        if (groups.isEmpty()) {
+            // Directories without memberOf: fall back to searching the groups for the member
+            names.addAll(searchGroupNames(userDn));
+        } else {
+            for (String groupDn : groups) {
+                names.add(groupNames.get(groupDn, this::resolveGroupName));
             }
-            
-            List<Map<String, Object>> users = ldapTemplate.search(
-                searchBase,
-                filter,
-                (Attributes attrs) -> {
-                    Map<String, Object> userDetails = new HashMap<>();
-                    
-                    // Extract user attributes with fallbacks
-                    String displayName = getAttributeValue(attrs, "displayName");
-                    String givenName = getAttributeValue(attrs, "givenName");
-                    String surname = getAttributeValue(attrs, "sn");
-                    String samAccountName = getAttributeValue(attrs, "sAMAccountName");
-                    String distinguishedName = getAttributeValue(attrs, "distinguishedName");
-                    
-                    userDetails.put("email", email);
-                    userDetails.put("name", displayName != null ? displayName : (givenName + " " + surname).trim());
-                    userDetails.put("firstName", givenName);
-                    userDetails.put("lastName", surname);
-                    userDetails.put("samAccountName", samAccountName);
-                    userDetails.put("distinguishedName", distinguishedName);
-                    
-                    return userDetails;
-                }
-            );
-
-            if (!users.isEmpty()) {
-                Map<String, Object> userDetails = users.get(0);
-                String distinguishedName = (String) userDetails.get("distinguishedName");
-                if (distinguishedName != null) {
-                    Role role = getUserRole(distinguishedName);
-                    userDetails.put("role", role);
-                    return userDetails;
-                }
+        }
+        for (Map.Entry<String, Role> mapping : GROUP_ROLES.entrySet()) {
+            if (names.contains(mapping.getKey())) {
+                return mapping.getValue();
             }
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to get user details from LDAP: " + e.getMessage());
         }
-        
-        return null;
+        return Role.STUDENT;
     }
 
-    private Role getUserRole(String userDn) {
-        if (userDn == null || userDn.trim().isEmpty()) {
-            return Role.STUDENT;
-        }
-        
+    /**
+     * The group's role attribute, read from the DN when it is the group's RDN and looked up otherwise.
+     */
+    private String resolveGroupName(String groupDn) {
+        String attribute = roleAttribute();
         try {
-            // Search for groups where this user is a member
-            String filter = String.format("(member=%s)", userDn);
-            
-            String groupSearchBase = ldapConfig.getGroupSearchBase();
-            if (groupSearchBase == null || groupSearchBase.trim().isEmpty()) {
-                groupSearchBase = "";  // Search from root
-            }
-            
-            List<String> groups = ldapTemplate.search(
-                groupSearchBase,
-                filter,
-                (Attributes attrs) -> getAttributeValue(attrs, "cn")
-            );
-
-            // Check groups in priority order (Admin > Instructor > Student)
-            for (String group : groups) {
-                if ("ScholarSpace-Admins".equalsIgnoreCase(group)) {
-                    return Role.ADMIN;
-                }
-            }
-            for (String group : groups) {
-                if ("ScholarSpace-Instructors".equalsIgnoreCase(group)) {
-                    return Role.INSTRUCTOR;
-                }
-            }
-            for (String group : groups) {
-                if ("ScholarSpace-Students".equalsIgnoreCase(group)) {
-                    return Role.STUDENT;
-                }
+            LdapName name = LdapUtils.newLdapName(groupDn);
+            Rdn rdn = name.getRdn(name.size() - 1);
+            if (rdn.getType().equalsIgnoreCase(attribute)) {
+                return rdn.getValue().toString().toLowerCase(Locale.ROOT);
             }
-            
-            return Role.STUDENT;
-        } catch (Exception e) {
-            return Role.STUDENT;
+            LdapName relative = LdapUtils.removeFirst(name, LdapUtils.newLdapName(ldapConfig.getBase()));
+            String value = ldapTemplate.lookup(relative, new String[] {attribute},
+                    (AttributesMapper<String>) attrs -> getAttributeValue(attrs, attribute));
+            return value == null ? "" : value.toLowerCase(Locale.ROOT);
+        } catch (RuntimeException e) {
+            log.warn("Could not resolve LDAP group {}: {}", groupDn, e.getMessage());
+            return "";
         }
     }
 
-    private String getAttributeValue(Attributes attrs, String attributeName) {
+    private List<String> searchGroupNames(String userDn) {
+        String attribute = roleAttribute();
+        try {
+            return ldapTemplate.search(searchBase(ldapConfig.getGroupSearchBase()),
+                            new EqualsFilter("member", userDn).encode(),
+                            (AttributesMapper<String>) attrs -> getAttributeValue(attrs, attribute))
+                    .stream()
+                    .filter(Objects::nonNull)
+                    .map(group -> group.toLowerCase(Locale.ROOT))
+                    .toList();
+        } catch (RuntimeException e) {
+            log.warn("LDAP group search failed for {}: {}", userDn, e.getMessage());
+            return List.of();
+        }
+    }
+
+    private String roleAttribute() {
+        String attribute = ldapConfig.getGroupRoleAttribute();
+        return attribute == null || attribute.isBlank() ? "cn" : attribute;
+    }
+
+    private String absoluteBase(String relative) {
+        String base = searchBase(relative);
+        return base.isEmpty() ? ldapConfig.getBase() : base + "," + ldapConfig.getBase();
+    }
+
+    /**
+     * The form emails of directory users are stored and matched in: trimmed and lower-cased.
+     */
+    static String canonicalEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    static String searchBase(String base) {
+        return base == null || base.trim().isEmpty() ? "" : base;  // Empty searches from the root
+    }
+
+    static String getAttributeValue(Attributes attrs, String attributeName) {
         try {
             Attribute attr = attrs.get(attributeName);
             return attr != null ? (String) attr.get() : null;
-        } catch (Exception e) {
+        } catch (NamingException e) {
             return null;
         }
     }
-}
\ No newline at end of file
+
+    static List<String> getAttributeValues(Attributes attrs, String attributeName) {
+        Attribute attr = attrs.get(attributeName);
+        if (attr == null) {
+            return List.of();
+        }
+        List<String> values = new ArrayList<>(attr.size());
+        try {
+            NamingEnumeration<?> all = attr.getAll();
+            while (all.hasMore()) {
+                values.add(String.valueOf(all.next()));
+            }
+        } catch (NamingException e) {
+            log.debug("Could not read {}: {}", attributeName, e.getMessage());
+        }
+        return values;
+    }
+
+    private record DirectoryUser(String distinguishedName, String userPrincipalName, String displayName, String givenName,
+                                 String surname, String samAccountName, List<String> memberOf) {
+    }
+}
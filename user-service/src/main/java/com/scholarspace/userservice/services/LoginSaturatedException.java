@@ -0,0 +1,19 @@
+package com.scholarspace.userservice.services;
+
+/**
+ * Too many logins are already waiting for a password check; the caller should answer
+ * 503 with a Retry-After header rather than queue behind them.
+ */
+public class LoginSaturatedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public LoginSaturatedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,150 @@
+package com.scholarspace.userservice.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Sliding-window limits on login attempts per account and per client IP, checked before
+ * any user lookup, password hash or LDAP bind. Each key keeps counts for the current and
+ * previous fixed window; the sliding count is the current count plus the previous count
+ * weighted by how much of the previous window still overlaps.
+ *
+ * <p>Counters live in a bounded Caffeine map (a striped concurrent hash table) and are
+ * evicted once idle for two windows. Each counter is updated under its own lock.
+ */
+@Component
+public class LoginThrottle {
+
+    private final long windowMillis;
+    private final int maxPerAccount;
+    private final int maxPerIp;
+    private final Cache<String, Window> windows;
+    private final Counter accountRejections;
+    private final Counter ipRejections;
+    private final Counter allowed;
+
+    public LoginThrottle(MeterRegistry meterRegistry,
+                         @Value("${app.login-throttle.window-seconds:300}") long windowSeconds,
+                         @Value("${app.login-throttle.max-per-account:10}") int maxPerAccount,
+                         @Value("${app.login-throttle.max-per-ip:100}") int maxPerIp,
+                         @Value("${app.login-throttle.max-tracked-keys:100000}") long maxTrackedKeys) {
+        this.windowMillis = Duration.ofSeconds(windowSeconds).toMillis();
+        this.maxPerAccount = maxPerAccount;
+        this.maxPerIp = maxPerIp;
+        this.windows = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMillis(windowMillis * 2))
+                .maximumSize(maxTrackedKeys)
+                .build();
+
+        this.allowed = Counter.builder("auth.login.throttle.allowed").register(meterRegistry);
+        this.accountRejections = Counter.builder("auth.login.throttle.rejected")
+                .tag("scope", "account")
+                .register(meterRegistry);
+        this.ipRejections = Counter.builder("auth.login.throttle.rejected")
+                .tag("scope", "ip")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.throttle.keys", windows, Cache::estimatedSize)
+                .description("Accounts and IPs with a live login counter")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Counts a login attempt and returns 0 if it may proceed, or the number of seconds
+     * the caller should wait if the account or IP is over its limit. Rejected attempts
+     * are not counted against either limit.
+     */
+    public long tryAcquire(String email, String clientIp) {
+        return tryAcquire(email, clientIp, System.currentTimeMillis());
+    }
+
+    long tryAcquire(String email, String clientIp, long now) {
+        Window ipWindow = clientIp == null ? null : windows.get("ip:" + clientIp, key -> new Window(now));
+        if (ipWindow != null) {
+            long wait = ipWindow.retryAfter(now, maxPerIp);
+            if (wait > 0) {
+                ipRejections.increment();
+                return wait;
+            }
+        }
+        if (email != null && !email.isBlank()) {
+            long wait = windows.get(accountKey(email), key -> new Window(now)).tryAcquire(now, maxPerAccount);
+            if (wait > 0) {
+                accountRejections.increment();
+                return wait;
+            }
+        }
+        if (ipWindow != null) {
+            // Only counted once the account has room, so a locked account does not use up its address's attempts
+            long wait = ipWindow.tryAcquire(now, maxPerIp);
+            if (wait > 0) {
+                ipRejections.increment();
+                return wait;
+            }
+        }
+        allowed.increment();
+        return 0;
+    }
+
+    /**
+     * Clears the account's counter after a successful login.
+     */
+    public void reset(String email) {
+        if (email != null) {
+            windows.invalidate(accountKey(email));
+        }
+    }
+
+    private static String accountKey(String email) {
+        return "account:" + email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private final class Window {
+        private long currentStart;
+        private int current;
+        private int previous;
+
+        Window(long now) {
+            this.currentStart = now;
+        }
+
+        synchronized long tryAcquire(long now, int limit) {
+            long wait = retryAfter(now, limit);
+            if (wait == 0) {
+                current++;
+            }
+            return wait;
+        }
+
+        /**
+         * Seconds until an attempt fits under the limit, or 0 if one fits now.
+         */
+        synchronized long retryAfter(long now, int limit) {
+            long elapsed = now - currentStart;
+            if (elapsed >= windowMillis * 2) {
+                previous = 0;
+                current = 0;
+                currentStart = now;
+                elapsed = 0;
+            } else if (elapsed >= windowMillis) {
+                previous = current;
+                current = 0;
+                currentStart += windowMillis;
+                elapsed -= windowMillis;
+            }
+            double overlap = 1.0 - (double) elapsed / windowMillis;
+            if (previous * overlap + current >= limit) {
+                // Wait until the current window closes; the previous one then stops counting
+                return Math.max(1, (windowMillis - elapsed + 999) / 1000);
+            }
+            return 0;
+        }
+    }
+}
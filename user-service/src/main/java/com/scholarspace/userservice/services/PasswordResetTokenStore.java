@@ -0,0 +1,135 @@
+package com.scholarspace.userservice.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.scholarspace.userservice.models.PasswordResetToken;
+import com.scholarspace.userservice.models.User;
+import com.scholarspace.userservice.repositories.PasswordResetTokenRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password reset tokens, written through to {@code password_reset_tokens} and cached in
+ * memory until they expire. Each cache entry expires at its token's own expiry time, and
+ * the cache is bounded in size. A token issued by another replica is loaded from the
+ * database on first use. The cache only saves loading the token's user: whether a cached
+ * token is still unused is checked in the database, since another replica may have
+ * redeemed it. Redeeming a token is a conditional update in the database, so each token
+ * works once across all replicas.
+ */
+@Component
+@Slf4j
+public class PasswordResetTokenStore {
+
+    private final PasswordResetTokenRepository passwordResetTokenRepository;
+    private final Duration tokenTtl;
+    private final Cache<String, ResetToken> tokens;
+    private final ScheduledExecutorService purger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "reset-token-purge");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PasswordResetTokenStore(PasswordResetTokenRepository passwordResetTokenRepository,
+                                   @Value("${app.reset-tokens.ttl-hours:24}") long ttlHours,
+                                   @Value("${app.reset-tokens.max-cached:10000}") long maxCached) {
+        this.passwordResetTokenRepository = passwordResetTokenRepository;
+        this.tokenTtl = Duration.ofHours(ttlHours);
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(maxCached)
+                .expireAfter(new Expiry<String, ResetToken>() {
+                    @Override
+                    public long expireAfterCreate(String token, ResetToken value, long currentTime) {
+                        return Math.max(0, Duration.between(LocalDateTime.now(), value.expiresAt()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String token, ResetToken value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(token, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String token, ResetToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+        purger.scheduleWithFixedDelay(this::purgeQuietly, 1, 1, TimeUnit.HOURS);
+    }
+
+    /**
+     * Issues a new token for the user and returns it.
+     */
+    public String issue(User user) {
+        LocalDateTime now = LocalDateTime.now();
+        String token = UUID.randomUUID().toString();
+        PasswordResetToken entity = new PasswordResetToken(token, user, now, now.plus(tokenTtl));
+        passwordResetTokenRepository.save(entity);
+        tokens.put(token, new ResetToken(user.getUserId(), user.getEmail(), entity.getExpiresAt()));
+        return token;
+    }
+
+    /**
+     * The unexpired, unused token, from memory or else from the database.
+     */
+    public Optional<ResetToken> find(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        ResetToken cached = tokens.getIfPresent(token);
+        if (cached != null) {
+            if (passwordResetTokenRepository.isRedeemable(token, LocalDateTime.now())) {
+                return Optional.of(cached);
+            }
+            tokens.invalidate(token);
+            return Optional.empty();
+        }
+        return passwordResetTokenRepository.findByToken(token)
+                .filter(PasswordResetToken::isValid)
+                .map(entity -> {
+                    ResetToken loaded = new ResetToken(entity.getUser().getUserId(), entity.getUser().getEmail(),
+                            entity.getExpiresAt());
+                    tokens.put(token, loaded);
+                    return loaded;
+                });
+    }
+
+    /**
+     * Marks the token used. Returns false if it was already used, has expired or does not exist.
+     * Joins the caller's transaction, so the token stays usable if the caller rolls back.
+     */
+    public boolean redeem(String token) {
+        tokens.invalidate(token);
+        return passwordResetTokenRepository.markUsed(token, LocalDateTime.now()) == 1;
+    }
+
+    private void purgeQuietly() {
+        try {
+            int purged = passwordResetTokenRepository.deleteExpiredOrUsed(LocalDateTime.now());
+            if (purged > 0) {
+                log.debug("Purged {} expired or used password reset tokens", purged);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to purge password reset tokens: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        purger.shutdownNow();
+    }
+
+    public record ResetToken(Long userId, String email, LocalDateTime expiresAt) {
+    }
+}
@@ -0,0 +1,165 @@
+package com.scholarspace.userservice.services;
+
+import com.scholarspace.userservice.config.PasswordHashCalibration;
+import com.scholarspace.userservice.repositories.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Checks login passwords on a CPU-sized pool instead of the request thread, so a burst
+ * of logins cannot occupy every Tomcat thread with BCrypt. Only a few request threads
+ * may wait for a check at once (a small multiple of the pool size, well below the
+ * Tomcat thread count), and each check has a deadline; a login beyond that limit or
+ * past its deadline is rejected right away and the caller should retry.
+ *
+ * <p>After a successful check, a hash made with an outdated cost is replaced on the same
+ * pool, but only while the pool has no queued work.
+ */
+@Component
+@Slf4j
+public class PasswordVerifier {
+
+    private static final String BUSY_MESSAGE = "Login service is busy, please try again shortly";
+
+    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashCalibration passwordHashCalibration;
+    private final UserRepository userRepository;
+    private final ThreadPoolExecutor pool;
+    // Request threads allowed to hand a check to the pool and wait for it
+    private final Semaphore waiting;
+    private final long deadlineNanos;
+    private final Timer hashTimer;
+    private final Counter saturatedCounter;
+    private final Counter deadlineCounter;
+    private final Counter rehashCounter;
+
+    public PasswordVerifier(PasswordEncoder passwordEncoder,
+                            PasswordHashCalibration passwordHashCalibration,
+                            UserRepository userRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.auth.verify-threads:0}") int threads,
+                            @Value("${app.auth.verify-max-waiting:0}") int maxWaiting,
+                            @Value("${app.auth.verify-deadline-ms:2000}") long deadlineMs) {
+        this.passwordEncoder = passwordEncoder;
+        this.passwordHashCalibration = passwordHashCalibration;
+        this.userRepository = userRepository;
+        this.deadlineNanos = TimeUnit.MILLISECONDS.toNanos(deadlineMs);
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.waiting = new Semaphore(maxWaiting > 0 ? maxWaiting : poolSize * 4);
+        AtomicInteger threadCount = new AtomicInteger();
+        // Unbounded, but only waiting callers and idle-time rehashes add to it
+        this.pool = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "password-verify-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("auth.password.verify.queue", pool, executor -> executor.getQueue().size())
+                .description("Password checks waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.verify.active", pool, ThreadPoolExecutor::getActiveCount)
+                .description("Password checks being hashed")
+                .register(meterRegistry);
+        this.hashTimer = Timer.builder("auth.password.verify.time")
+                .description("Time spent hashing a login password")
+                .register(meterRegistry);
+        this.saturatedCounter = Counter.builder("auth.password.verify.rejected")
+                .tag("reason", "saturated")
+                .register(meterRegistry);
+        this.deadlineCounter = Counter.builder("auth.password.verify.rejected")
+                .tag("reason", "deadline")
+                .register(meterRegistry);
+        this.rehashCounter = Counter.builder("auth.password.rehash")
+                .description("Stored hashes replaced with the current cost")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether {@code rawPassword} matches the stored hash.
+     *
+     * @throws LoginSaturatedException when too many checks are waiting or this one misses its deadline
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        if (!waiting.tryAcquire()) {
+            saturatedCounter.increment();
+            throw new LoginSaturatedException(BUSY_MESSAGE, 1);
+        }
+        try {
+            long deadline = System.nanoTime() + deadlineNanos;
+            Future<Boolean> result;
+            try {
+                result = pool.submit(() -> {
+                    // The caller has already given up; don't spend a hash on it
+                    if (System.nanoTime() - deadline > 0) {
+                        return false;
+                    }
+                    return hashTimer.record(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+                });
+            } catch (RejectedExecutionException e) {
+                saturatedCounter.increment();
+                throw new LoginSaturatedException(BUSY_MESSAGE, 1);
+            }
+
+            try {
+                return result.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                result.cancel(false);
+                deadlineCounter.increment();
+                throw new LoginSaturatedException(BUSY_MESSAGE, 1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new LoginSaturatedException(BUSY_MESSAGE, 1);
+            } catch (ExecutionException e) {
+                throw new RuntimeException("Could not verify password", e.getCause());
+            }
+        } finally {
+            waiting.release();
+        }
+    }
+
+    /**
+     * Replaces the stored hash in the background if it was made with a different cost.
+     * Call only after {@code rawPassword} has been verified against it.
+     */
+    public void rehashIfNeeded(Long userId, String rawPassword, String encodedPassword) {
+        if (!passwordHashCalibration.needsRehash(encodedPassword) || !pool.getQueue().isEmpty()) {
+            return;
+        }
+        try {
+            pool.execute(() -> {
+                try {
+                    if (userRepository.replacePasswordHash(userId, encodedPassword, passwordEncoder.encode(rawPassword)) == 1) {
+                        rehashCounter.increment();
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("Failed to rehash password for user {}: {}", userId, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Busy; the next login will try again
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+}
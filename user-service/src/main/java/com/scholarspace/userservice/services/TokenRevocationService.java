@@ -0,0 +1,137 @@
+package com.scholarspace.userservice.services;
+
+import com.scholarspace.userservice.config.JwtProperties;
+import com.scholarspace.userservice.dto.TokenRevocationDelta;
+import com.scholarspace.userservice.models.TokenRevocation;
+import com.scholarspace.userservice.repositories.TokenRevocationRepository;
+import com.scholarspace.userservice.security.TokenRevocationSet;
+import com.scholarspace.userservice.security.TokenRevocationSet.Revocation;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes revoked users and tokens. Revocations are stored in {@code token_revocations},
+ * whose ids act as versions; other services pull everything above the version they hold
+ * from {@code /internal/revocations} and check tokens against an in-memory copy. This
+ * service keeps the same copy for its own filter, refreshed from the table so that
+ * revocations made through other replicas are seen too. Until the first refresh succeeds
+ * every token is treated as revoked.
+ */
+@Component
+@Slf4j
+public class TokenRevocationService {
+
+    // Rows this recent are re-sent on every pull, in case an earlier id committed late
+    private static final Duration RESEND_WINDOW = Duration.ofSeconds(30);
+
+    private final TokenRevocationRepository tokenRevocationRepository;
+    private final Duration tokenLifetime;
+    private final Object refreshLock = new Object();
+    private volatile TokenRevocationSet revocations = TokenRevocationSet.EMPTY;
+    private volatile boolean loaded;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "token-revocation-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public TokenRevocationService(TokenRevocationRepository tokenRevocationRepository,
+                                  JwtProperties jwtProperties,
+                                  @Value("${app.revocations.refresh-seconds:10}") long refreshSeconds) {
+        this.tokenRevocationRepository = tokenRevocationRepository;
+        this.tokenLifetime = Duration.ofMillis(jwtProperties.getExpiration());
+        scheduler.scheduleWithFixedDelay(this::refreshQuietly, 0, refreshSeconds, TimeUnit.SECONDS);
+        scheduler.scheduleWithFixedDelay(this::purgeQuietly, 1, 1, TimeUnit.HOURS);
+    }
+
+    /**
+     * Rejects every token issued to the user so far. Tokens issued afterwards, for example
+     * after the user is reactivated, are unaffected.
+     */
+    public void revokeUser(Long userId) {
+        Instant now = Instant.now();
+        tokenRevocationRepository.save(new TokenRevocation(Revocation.USER, userId.toString(), now, now.plus(tokenLifetime)));
+        refresh();
+    }
+
+    public void revokeUsers(Collection<Long> userIds) {
+        Instant now = Instant.now();
+        tokenRevocationRepository.saveAll(userIds.stream()
+                .map(userId -> new TokenRevocation(Revocation.USER, userId.toString(), now, now.plus(tokenLifetime)))
+                .toList());
+        refresh();
+    }
+
+    /**
+     * Rejects a single token until it expires.
+     */
+    public void revokeToken(String tokenId, Date expiresAt) {
+        tokenRevocationRepository.save(new TokenRevocation(Revocation.TOKEN, tokenId, Instant.now(), expiresAt.toInstant()));
+        refresh();
+    }
+
+    public boolean isRevoked(Long userId, String tokenId, Date issuedAt) {
+        return !loaded || revocations.isRevoked(userId, tokenId, issuedAt);
+    }
+
+    /**
+     * Unexpired revocations above {@code since}, plus any made in the last few seconds.
+     */
+    public TokenRevocationDelta getChangesSince(long since) {
+        Instant now = Instant.now();
+        List<TokenRevocation> rows = tokenRevocationRepository.findChangesSince(since, now.minus(RESEND_WINDOW), now);
+        long version = since;
+        for (TokenRevocation row : rows) {
+            version = Math.max(version, row.getId());
+        }
+        return new TokenRevocationDelta(version, rows.stream().map(TokenRevocationService::toRevocation).toList());
+    }
+
+    private void refresh() {
+        synchronized (refreshLock) {
+            TokenRevocationDelta delta = getChangesSince(revocations.version());
+            revocations = revocations.with(delta.version(), delta.revocations());
+            loaded = true;
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh token revocations: {}", e.getMessage());
+        }
+    }
+
+    private void purgeQuietly() {
+        try {
+            int purged = tokenRevocationRepository.deleteExpired(Instant.now());
+            if (purged > 0) {
+                log.debug("Purged {} expired token revocations", purged);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to purge token revocations: {}", e.getMessage());
+        }
+    }
+
+    private static Revocation toRevocation(TokenRevocation row) {
+        return new Revocation(row.getType(), row.getSubject(),
+                row.getRevokedAt().toEpochMilli(), row.getExpiresAt().toEpochMilli());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,64 @@
+package com.scholarspace.userservice.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.scholarspace.userservice.models.User;
+import com.scholarspace.userservice.repositories.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes large user lists straight from a database cursor to the response, one row
+ * at a time, so memory use does not grow with the number of users.
+ */
+@Service
+public class UserExportService {
+
+    private static final int FLUSH_EVERY = 500;
+
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter rowWriter;
+
+    public UserExportService(UserRepository userRepository, EntityManager entityManager, ObjectMapper objectMapper) {
+        this.userRepository = userRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        // Flushing is batched below instead of after every row
+        this.rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Stream all users as a JSON array
+     *
+     * @param out The response body stream
+     */
+    @Transactional(readOnly = true)
+    public void writeAllUsers(OutputStream out) throws IOException {
+        try (Stream<User> users = userRepository.streamAll();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartArray();
+            Iterator<User> iterator = users.iterator();
+            int written = 0;
+            while (iterator.hasNext()) {
+                User user = iterator.next();
+                rowWriter.writeValue(generator, user);
+                if (++written % FLUSH_EVERY == 0) {
+                    generator.flush();
+                    // Keep the persistence context from accumulating every row read
+                    entityManager.clear();
+                }
+            }
+            generator.writeEndArray();
+        }
+    }
+}
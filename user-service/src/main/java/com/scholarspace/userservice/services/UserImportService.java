@@ -0,0 +1,313 @@
+package com.scholarspace.userservice.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scholarspace.userservice.dto.UserImportResult;
+import com.scholarspace.userservice.dto.UserImportRow;
+import com.scholarspace.userservice.models.Role;
+import com.scholarspace.userservice.repositories.UserBatchRepository;
+import com.scholarspace.userservice.repositories.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bulk user import from CSV or JSON lines. The upload is parsed as it streams in and
+ * handled in chunks: one query finds the chunk's emails that are already taken,
+ * passwords are hashed on a bounded worker pool, and the chunk is inserted as one JDBC
+ * batch. If the batch fails, its rows are retried one at a time so a single bad row
+ * is reported instead of failing the chunk.
+ */
+@Service
+@Slf4j
+public class UserImportService {
+
+    public enum Format { CSV, JSON_LINES }
+
+    private final UserRepository userRepository;
+    private final UserBatchRepository userBatchRepository;
+    private final UserSearchIndex userSearchIndex;
+    private final PasswordEncoder passwordEncoder;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final ThreadPoolExecutor hashPool;
+
+    public UserImportService(UserRepository userRepository,
+                             UserBatchRepository userBatchRepository,
+                             UserSearchIndex userSearchIndex,
+                             PasswordEncoder passwordEncoder,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.import.chunk-size:500}") int chunkSize,
+                             @Value("${app.import.hash-threads:0}") int hashThreads) {
+        this.userRepository = userRepository;
+        this.userBatchRepository = userBatchRepository;
+        this.userSearchIndex = userSearchIndex;
+        this.passwordEncoder = passwordEncoder;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        // Bounded queue; when it is full the importing request thread hashes the row itself
+        this.hashPool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(chunkSize), runnable -> {
+                    Thread thread = new Thread(runnable, "user-import-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    public UserImportResult importUsers(InputStream input, Format format) throws IOException {
+        Import state = new Import();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            int lineNumber = 0;
+            Map<String, Integer> columns = null;
+            if (format == Format.CSV) {
+                String header = reader.readLine();
+                lineNumber++;
+                if (header == null) {
+                    throw new RuntimeException("CSV file is empty");
+                }
+                columns = parseHeader(header);
+            }
+
+            List<UserImportRow> chunk = new ArrayList<>(chunkSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    chunk.add(format == Format.CSV
+                            ? parseCsvRow(line, lineNumber, columns)
+                            : parseJsonRow(line, lineNumber));
+                } catch (RuntimeException e) {
+                    state.fail(lineNumber, null, e.getMessage());
+                }
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, state);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(chunk, state);
+            }
+        }
+        log.info("User import finished: {} imported, {} failed", state.imported, state.errors.size());
+        return new UserImportResult(state.imported, state.errors.size(), state.errors);
+    }
+
+    private void importChunk(List<UserImportRow> chunk, Import state) {
+        List<UserImportRow> candidates = new ArrayList<>(chunk.size());
+        for (UserImportRow row : chunk) {
+            if (!state.seenEmails.add(row.email().toLowerCase(Locale.ROOT))) {
+                state.fail(row.line(), row.email(), "Duplicate email in file");
+            } else {
+                candidates.add(row);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        // Emails are compared case-insensitively, as they are for duplicates within the file
+        Set<String> existing = new HashSet<>(userRepository.findExistingEmails(
+                candidates.stream().map(row -> row.email().toLowerCase(Locale.ROOT)).toList()));
+        List<UserImportRow> rows = new ArrayList<>(candidates.size());
+        List<Future<String>> pending = new ArrayList<>(candidates.size());
+        for (UserImportRow row : candidates) {
+            if (existing.contains(row.email().toLowerCase(Locale.ROOT))) {
+                state.fail(row.line(), row.email(), "Email is already in use");
+            } else {
+                rows.add(row);
+                pending.add(hashPool.submit(() -> passwordEncoder.encode(row.password())));
+            }
+        }
+
+        List<UserImportRow> hashedRows = new ArrayList<>(rows.size());
+        List<String> hashes = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            try {
+                hashes.add(pending.get(i).get());
+                hashedRows.add(rows.get(i));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Import interrupted");
+            } catch (ExecutionException e) {
+                state.fail(rows.get(i).line(), rows.get(i).email(), "Could not hash password");
+            }
+        }
+        if (hashedRows.isEmpty()) {
+            return;
+        }
+
+        List<String> inserted = new ArrayList<>(hashedRows.size());
+        try {
+            transactionTemplate.executeWithoutResult(status -> userBatchRepository.insertUsers(hashedRows, hashes));
+            hashedRows.forEach(row -> inserted.add(row.email()));
+        } catch (DataAccessException e) {
+            log.debug("Batch insert failed, retrying {} rows one by one: {}", hashedRows.size(), e.getMessage());
+            for (int i = 0; i < hashedRows.size(); i++) {
+                UserImportRow row = hashedRows.get(i);
+                String hash = hashes.get(i);
+                try {
+                    transactionTemplate.executeWithoutResult(status ->
+                            userBatchRepository.insertUsers(List.of(row), List.of(hash)));
+                    inserted.add(row.email());
+                } catch (DataAccessException rowError) {
+                    state.fail(row.line(), row.email(), "Could not insert: " + rowError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+        state.imported += inserted.size();
+        if (!inserted.isEmpty()) {
+            userRepository.findSummariesByEmailIn(inserted).forEach(userSearchIndex::index);
+        }
+    }
+
+    private static Map<String, Integer> parseHeader(String header) {
+        List<String> names = splitCsv(header);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of("name", "email", "password")) {
+            if (!columns.containsKey(required)) {
+                throw new RuntimeException("CSV header is missing the " + required + " column");
+            }
+        }
+        return columns;
+    }
+
+    private static UserImportRow parseCsvRow(String line, int lineNumber, Map<String, Integer> columns) {
+        List<String> fields = splitCsv(line);
+        return toRow(lineNumber,
+                column(fields, columns, "name"),
+                column(fields, columns, "email"),
+                column(fields, columns, "password"),
+                column(fields, columns, "role"),
+                column(fields, columns, "departmentid"),
+                column(fields, columns, "active"));
+    }
+
+    private UserImportRow parseJsonRow(String line, int lineNumber) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (IOException e) {
+            throw new RuntimeException("Invalid JSON");
+        }
+        return toRow(lineNumber, text(node, "name"), text(node, "email"), text(node, "password"),
+                text(node, "role"), text(node, "departmentId"), text(node, "active"));
+    }
+
+    private static UserImportRow toRow(int lineNumber, String name, String email, String password,
+                                       String role, String departmentId, String active) {
+        if (name == null || name.isBlank()) {
+            throw new RuntimeException("Name is required");
+        }
+        if (email == null || !email.contains("@")) {
+            throw new RuntimeException("A valid email is required");
+        }
+        if (password == null || password.isEmpty()) {
+            throw new RuntimeException("Password is required");
+        }
+        Role parsedRole;
+        try {
+            parsedRole = role == null || role.isBlank() ? Role.STUDENT : Role.valueOf(role.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid role: " + role);
+        }
+        Long parsedDepartmentId;
+        try {
+            parsedDepartmentId = departmentId == null || departmentId.isBlank() ? null : Long.parseLong(departmentId.trim());
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid departmentId: " + departmentId);
+        }
+        boolean isActive = active == null || active.isBlank() || Boolean.parseBoolean(active.trim());
+        return new UserImportRow(lineNumber, name.trim(), email.trim(), password, parsedRole, parsedDepartmentId, isActive);
+    }
+
+    private static String column(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        return index == null || index >= fields.size() ? null : fields.get(index);
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    /**
+     * Splits one CSV line, honouring double-quoted fields and doubled quotes inside them.
+     */
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashPool.shutdownNow();
+    }
+
+    private static final class Import {
+        final Set<String> seenEmails = new HashSet<>();
+        final List<UserImportResult.RowError> errors = new ArrayList<>();
+        int imported;
+
+        void fail(int line, String email, String error) {
+            errors.add(new UserImportResult.RowError(line, email, error));
+        }
+    }
+}
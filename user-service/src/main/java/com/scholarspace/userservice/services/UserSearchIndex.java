@@ -0,0 +1,360 @@
+package com.scholarspace.userservice.services;
+
+import com.scholarspace.userservice.dto.UserSummary;
+import com.scholarspace.userservice.models.Role;
+import com.scholarspace.userservice.models.User;
+import com.scholarspace.userservice.repositories.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over user names and emails for fuzzy search. Words are
+ * padded and cut into trigrams the way PostgreSQL's pg_trgm does, and a user matches
+ * when enough of the query's trigrams appear in its name or email, so typos and
+ * partial words still find the user.
+ *
+ * <p>Users are stored under dense document numbers with postings as sorted int
+ * arrays. An update gives the user a new document and tombstones the old one; the
+ * index is compacted by a rebuild once tombstones pile up. Built at startup, kept in
+ * sync by {@link UserService} writes, and rebuilt periodically to pick up users
+ * written through other instances. Changes made here while a rebuild reads the
+ * repository are replayed onto the new index before it is swapped in.
+ */
+@Component
+@Slf4j
+public class UserSearchIndex {
+
+    /** Minimum share of the query's trigrams a user must contain to match. */
+    public static final double DEFAULT_SIMILARITY = 0.3;
+    private static final long NO_DEPARTMENT = Long.MIN_VALUE;
+
+    private final UserRepository userRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Documents documents = new Documents(16);
+    private Map<Long, IntList> postings = new HashMap<>();
+    // Changes made during a rebuild, by user id; null marks a removal. Guarded by lock.
+    private Map<Long, UserSummary> changesDuringRebuild;
+    private volatile boolean loaded;
+    private final AtomicBoolean compactionScheduled = new AtomicBoolean(false);
+    private final ScheduledExecutorService rebuilder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "user-search-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public UserSearchIndex(UserRepository userRepository,
+                           @Value("${app.user-search.rebuild-minutes:5}") long rebuildMinutes) {
+        this.userRepository = userRepository;
+        rebuilder.scheduleWithFixedDelay(this::rebuildQuietly, rebuildMinutes, rebuildMinutes, TimeUnit.MINUTES);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<UserSummary> users;
+        try {
+            users = userRepository.findAllSummaries();
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+        Documents newDocuments = new Documents(users.size() + 16);
+        Map<Long, IntList> newPostings = new HashMap<>();
+        for (UserSummary user : users) {
+            addDocument(newDocuments, newPostings, user);
+        }
+
+        int replayed;
+        lock.writeLock().lock();
+        try {
+            replayed = changesDuringRebuild.size();
+            changesDuringRebuild.forEach((userId, summary) -> {
+                newDocuments.tombstone(userId);
+                if (summary != null) {
+                    addDocument(newDocuments, newPostings, summary);
+                }
+            });
+            changesDuringRebuild = null;
+            documents = newDocuments;
+            postings = newPostings;
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("User search index built with {} users and {} trigrams ({} concurrent changes replayed)",
+                users.size(), newPostings.size(), replayed);
+    }
+
+    public void index(User user) {
+        index(new UserSummary(user.getUserId(), user.getName(), user.getEmail(),
+                user.getRole(), user.isActive(), user.getDepartmentId()));
+    }
+
+    public void index(UserSummary summary) {
+        boolean compact;
+        lock.writeLock().lock();
+        try {
+            documents.tombstone(summary.userId());
+            addDocument(documents, postings, summary);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.put(summary.userId(), summary);
+            }
+            compact = documents.needsCompaction();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        // Compact in the background rather than on the writing request
+        if (compact && compactionScheduled.compareAndSet(false, true)) {
+            rebuilder.execute(() -> {
+                compactionScheduled.set(false);
+                rebuildQuietly();
+            });
+        }
+    }
+
+    public void remove(Long userId) {
+        lock.writeLock().lock();
+        try {
+            documents.tombstone(userId);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.put(userId, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Users whose name or email fuzzily matches {@code query}, best match first and
+     * then by user id. {@code after} is the (score, userId) position of the previous
+     * page's last result, or null for the first page.
+     */
+    public List<Hit> search(String query, Role role, Boolean active, Long departmentId, Hit after, int limit) {
+        Set<Long> queryTrigrams = trigrams(query);
+        if (queryTrigrams.isEmpty()) {
+            return List.of();
+        }
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    rebuild();
+                }
+            }
+        }
+
+        lock.readLock().lock();
+        try {
+            int size = documents.size;
+            short[] counts = new short[size];
+            for (Long trigram : queryTrigrams) {
+                IntList posting = postings.get(trigram);
+                if (posting != null) {
+                    for (int i = 0; i < posting.size; i++) {
+                        counts[posting.values[i]]++;
+                    }
+                }
+            }
+
+            // Keep the best `limit` hits; the head of the queue is the worst one kept
+            int required = Math.max(1, (int) Math.ceil(DEFAULT_SIMILARITY * queryTrigrams.size()));
+            PriorityQueue<Hit> top = new PriorityQueue<>(Comparator.reverseOrder());
+            for (int doc = 0; doc < size; doc++) {
+                int count = counts[doc];
+                if (count < required || !documents.matches(doc, role, active, departmentId)) {
+                    continue;
+                }
+                Hit hit = new Hit(count, documents.userIds[doc], doc);
+                if ((after != null && !hit.isAfter(after)) || (top.size() == limit && hit.compareTo(top.peek()) > 0)) {
+                    continue;
+                }
+                top.offer(hit);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            List<Hit> result = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                Hit hit = top.poll();
+                result.add(hit.withSummary(documents.summary(hit.document)));
+            }
+            return result.reversed();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Failed to rebuild user search index: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    private static void addDocument(Documents documents, Map<Long, IntList> postings, UserSummary user) {
+        int doc = documents.add(user);
+        Set<Long> trigrams = trigrams(user.name());
+        trigrams.addAll(trigrams(user.email()));
+        for (Long trigram : trigrams) {
+            postings.computeIfAbsent(trigram, t -> new IntList()).add(doc);
+        }
+    }
+
+    /**
+     * pg_trgm-style trigrams: each lower-cased alphanumeric word padded with two
+     * spaces in front and one behind, packed three chars to a long.
+     */
+    static Set<Long> trigrams(String text) {
+        Set<Long> trigrams = new HashSet<>();
+        if (text == null) {
+            return trigrams;
+        }
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2));
+            }
+        }
+        return trigrams;
+    }
+
+    /**
+     * A search result with its position in the ranking; also used as the page cursor.
+     */
+    public record Hit(int score, long userId, int document, UserSummary user) implements Comparable<Hit> {
+
+        Hit(int score, long userId, int document) {
+            this(score, userId, document, null);
+        }
+
+        Hit withSummary(UserSummary summary) {
+            return new Hit(score, userId, document, summary);
+        }
+
+        boolean isAfter(Hit cursor) {
+            return score < cursor.score || (score == cursor.score && userId > cursor.userId);
+        }
+
+        @Override
+        public int compareTo(Hit other) {
+            int byScore = Integer.compare(other.score, score);
+            return byScore != 0 ? byScore : Long.compare(userId, other.userId);
+        }
+    }
+
+    private static final class Documents {
+        long[] userIds;
+        String[] names;
+        String[] emails;
+        Role[] roles;
+        long[] departmentIds;
+        final BitSet active = new BitSet();
+        final BitSet deleted = new BitSet();
+        final Map<Long, Integer> byUserId = new HashMap<>();
+        int size;
+
+        Documents(int capacity) {
+            userIds = new long[capacity];
+            names = new String[capacity];
+            emails = new String[capacity];
+            roles = new Role[capacity];
+            departmentIds = new long[capacity];
+        }
+
+        int add(UserSummary user) {
+            if (size == userIds.length) {
+                int capacity = size * 2;
+                userIds = Arrays.copyOf(userIds, capacity);
+                names = Arrays.copyOf(names, capacity);
+                emails = Arrays.copyOf(emails, capacity);
+                roles = Arrays.copyOf(roles, capacity);
+                departmentIds = Arrays.copyOf(departmentIds, capacity);
+            }
+            int doc = size++;
+            userIds[doc] = user.userId();
+            names[doc] = user.name();
+            emails[doc] = user.email();
+            roles[doc] = user.role();
+            departmentIds[doc] = user.departmentId() == null ? NO_DEPARTMENT : user.departmentId();
+            active.set(doc, user.isActive());
+            byUserId.put(user.userId(), doc);
+            return doc;
+        }
+
+        void tombstone(Long userId) {
+            Integer doc = byUserId.remove(userId);
+            if (doc != null) {
+                deleted.set(doc);
+            }
+        }
+
+        boolean needsCompaction() {
+            return size > 1024 && deleted.cardinality() > size / 4;
+        }
+
+        boolean matches(int doc, Role role, Boolean isActive, Long departmentId) {
+            return !deleted.get(doc)
+                    && (role == null || roles[doc] == role)
+                    && (isActive == null || active.get(doc) == isActive)
+                    && (departmentId == null || departmentIds[doc] == departmentId);
+        }
+
+        UserSummary summary(int doc) {
+            long department = departmentIds[doc];
+            return new UserSummary(userIds[doc], names[doc], emails[doc], roles[doc], active.get(doc),
+                    department == NO_DEPARTMENT ? null : department);
+        }
+    }
+
+    private static final class IntList {
+        int[] values = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
@@ -1,8 +1,13 @@
 package com.scholarspace.userservice.services;
 
+import com.scholarspace.userservice.dto.MonthlyCount;
+import com.scholarspace.userservice.dto.UserCounts;
+import com.scholarspace.userservice.dto.UserSearchPage;
+import com.scholarspace.userservice.dto.UserSummary;
 import com.scholarspace.userservice.models.Role;
 import com.scholarspace.userservice.models.User;
 import com.scholarspace.userservice.repositories.UserRepository;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -15,10 +20,18 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserSearchIndex userSearchIndex;
+    private final LastLoginBuffer lastLoginBuffer;
+    private final TokenRevocationService tokenRevocationService;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                       UserSearchIndex userSearchIndex, LastLoginBuffer lastLoginBuffer,
+                       TokenRevocationService tokenRevocationService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.userSearchIndex = userSearchIndex;
+        this.lastLoginBuffer = lastLoginBuffer;
+        this.tokenRevocationService = tokenRevocationService;
     }
     
     /**
@@ -47,7 +60,7 @@ public class UserService {
         user.setFirstLogin(role == Role.INSTRUCTOR); // Only instructors need first-time password change
         user.setCreatedAt(LocalDateTime.now());
 
-        return userRepository.save(user);
+        return save(user);
     }
 
     public User registerUserWithDetails(String name, String email, String password, Role role, 
@@ -70,7 +83,7 @@ public class UserService {
         user.setFirstLogin(role == Role.INSTRUCTOR); // Only instructors need first-time password change
         user.setCreatedAt(LocalDateTime.now());
 
-        return userRepository.save(user);
+        return save(user);
     }
 
     public Optional<User> getUserById(Long id) {
@@ -93,27 +106,107 @@ public class UserService {
         return userRepository.findByRoleAndIsActiveTrue(role);
     }
 
+    /**
+     * Pages through users matching the filters. With a query, users are matched fuzzily on
+     * name and email and ranked by similarity; without one, they are listed by id.
+     *
+     * @param cursor the {@code nextCursor} of the previous page, or null for the first page
+     */
+    public UserSearchPage searchUsers(String query, Role role, Boolean active, Long departmentId,
+                                      String cursor, int limit) {
+        if (query == null || query.isBlank()) {
+            long afterId = cursor == null ? 0 : parseCursor(cursor)[0];
+            List<UserSummary> rows = userRepository.findSummariesAfter(afterId, role, active, departmentId,
+                    PageRequest.of(0, limit + 1));
+            if (rows.size() <= limit) {
+                return new UserSearchPage(rows, null);
+            }
+            List<UserSummary> items = rows.subList(0, limit);
+            return new UserSearchPage(List.copyOf(items), String.valueOf(items.get(limit - 1).userId()));
+        }
+
+        UserSearchIndex.Hit after = null;
+        if (cursor != null) {
+            long[] position = parseCursor(cursor);
+            if (position.length != 2) {
+                throw new RuntimeException("Invalid cursor");
+            }
+            after = new UserSearchIndex.Hit((int) position[0], position[1], -1);
+        }
+        List<UserSearchIndex.Hit> hits = userSearchIndex.search(query, role, active, departmentId, after, limit + 1);
+        List<UserSearchIndex.Hit> page = hits.size() > limit ? hits.subList(0, limit) : hits;
+        List<UserSummary> items = page.stream().map(UserSearchIndex.Hit::user).toList();
+        String nextCursor = null;
+        if (hits.size() > limit) {
+            UserSearchIndex.Hit last = page.get(limit - 1);
+            nextCursor = last.score() + ":" + last.userId();
+        }
+        return new UserSearchPage(items, nextCursor);
+    }
+
+    private static long[] parseCursor(String cursor) {
+        try {
+            String[] parts = cursor.split(":");
+            long[] values = new long[parts.length];
+            for (int i = 0; i < parts.length; i++) {
+                values[i] = Long.parseLong(parts[i]);
+            }
+            return values;
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+
+    public UserCounts getUserCounts() {
+        return UserCounts.from(userRepository.countGroupByRoleAndActive());
+    }
+
+    public List<MonthlyCount> getMonthlyRegistrations(LocalDateTime since) {
+        return userRepository.countRegistrationsByMonthSince(since);
+    }
+
+    public long countUsersCreatedAfter(LocalDateTime since) {
+        return userRepository.countByCreatedAtAfter(since);
+    }
+
     public User updateUser(User user) {
-        return userRepository.save(user);
+        User saved = save(user);
+        if (!saved.isActive()) {
+            // Updates can deactivate too; tokens already issued must stop working everywhere
+            tokenRevocationService.revokeUser(saved.getUserId());
+        }
+        return saved;
     }
 
     public void deactivateUser(Long userId) {
         userRepository.findById(userId).ifPresent(user -> {
             user.setActive(false);
-            userRepository.save(user);
+            save(user);
+            tokenRevocationService.revokeUser(userId);
         });
     }
 
     public void activateUser(Long userId) {
         userRepository.findById(userId).ifPresent(user -> {
             user.setActive(true);
-            userRepository.save(user);
+            save(user);
         });
     }
 
+    // Saves and refreshes the user's search entry; use for any change to name, email, role, status or department
+    private User save(User user) {
+        User saved = userRepository.save(user);
+        userSearchIndex.index(saved);
+        return saved;
+    }
+
+    /**
+     * Stamps the login on the given user and queues the database write; see {@link LastLoginBuffer}.
+     */
     public void updateLastLogin(User user) {
-        user.setLastLogin(LocalDateTime.now());
-        userRepository.save(user);
+        LocalDateTime now = LocalDateTime.now();
+        user.setLastLogin(now);
+        lastLoginBuffer.record(user.getUserId(), now);
     }
     
     public void changePassword(String email, String newPassword) {
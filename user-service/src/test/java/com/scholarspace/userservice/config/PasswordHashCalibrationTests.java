@@ -0,0 +1,41 @@
+package com.scholarspace.userservice.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PasswordHashCalibrationTests {
+
+    @Test
+    void calibratedCostOnlyUpgradesWeakerHashes() {
+        // Cost 5 takes well under the target on any machine, so calibration settles on it
+        PasswordHashCalibration calibration = new PasswordHashCalibration(new SimpleMeterRegistry(), 0, 10_000, 5, 5);
+
+        assertThat(calibration.getStrength()).isEqualTo(5);
+        assertThat(calibration.needsRehash(BCrypt.hashpw("pw", BCrypt.gensalt(4)))).isTrue();
+        assertThat(calibration.needsRehash(BCrypt.hashpw("pw", BCrypt.gensalt(5)))).isFalse();
+        // Made by a replica that calibrated higher; left alone
+        assertThat(calibration.needsRehash(BCrypt.hashpw("pw", BCrypt.gensalt(6)))).isFalse();
+    }
+
+    @Test
+    void fixedCostMovesHashesEitherWay() {
+        PasswordHashCalibration calibration = new PasswordHashCalibration(new SimpleMeterRegistry(), 5, 250, 10, 14);
+
+        assertThat(calibration.getStrength()).isEqualTo(5);
+        assertThat(calibration.needsRehash(BCrypt.hashpw("pw", BCrypt.gensalt(4)))).isTrue();
+        assertThat(calibration.needsRehash(BCrypt.hashpw("pw", BCrypt.gensalt(5)))).isFalse();
+        assertThat(calibration.needsRehash(BCrypt.hashpw("pw", BCrypt.gensalt(6)))).isTrue();
+    }
+
+    @Test
+    void valuesThatAreNotBcryptHashesAreLeftAlone() {
+        PasswordHashCalibration calibration = new PasswordHashCalibration(new SimpleMeterRegistry(), 5, 250, 10, 14);
+
+        assertThat(calibration.needsRehash(null)).isFalse();
+        assertThat(calibration.needsRehash("")).isFalse();
+        assertThat(calibration.needsRehash("{noop}secret")).isFalse();
+    }
+}
@@ -0,0 +1,147 @@
+package com.scholarspace.userservice.repositories;
+
+import com.scholarspace.userservice.dto.UserCounts;
+import com.scholarspace.userservice.models.Role;
+import com.scholarspace.userservice.models.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the user statistics computed the old way, by loading every user with
+ * {@code findAll()} and counting in Java, with the SQL aggregates that replaced it, on
+ * 200,000 users. Logs the users loaded, the bytes allocated and the elapsed time of each.
+ */
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class UserStatsBenchmarkTests {
+
+    private static final Logger log = LoggerFactory.getLogger(UserStatsBenchmarkTests.class);
+
+    private static final int USERS = 200_000;
+    private static final int BATCH = 5_000;
+    private static final int RUNS = 3;
+    private static final LocalDateTime RECENT_SINCE = LocalDateTime.of(2025, 8, 1, 0, 0);
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        // Plain JDBC batches; persisting 200k entities one IDENTITY insert at a time would dominate the run
+        for (int start = 0; start < USERS; start += BATCH) {
+            List<Object[]> rows = new ArrayList<>(BATCH);
+            for (int i = start; i < start + BATCH; i++) {
+                rows.add(new Object[] {"User " + i, "user" + i + "@uni.edu", "hash", Role.values()[i % 3].name(),
+                        i % 4 != 0, false, Timestamp.valueOf(LocalDateTime.of(2025, 1 + i % 8, 10, 12, 0))});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO users (name, email, password, role, is_active, is_first_login, created_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+        }
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void aggregatesLoadNoUsersAndAllocateAFractionOfFindAll() {
+        Run streamed = measure("findAll() and streams", this::countByStreaming);
+        Run aggregated = measure("SQL aggregates", this::countByAggregates);
+
+        assertThat(aggregated.stats()).isEqualTo(streamed.stats());
+        assertThat(streamed.stats()).containsEntry("totalUsers", (long) USERS);
+        assertThat(streamed.usersLoaded()).isEqualTo(USERS);
+        assertThat(aggregated.usersLoaded()).isZero();
+        assertThat(aggregated.allocatedBytes()).isLessThan(streamed.allocatedBytes() / 100);
+        assertThat(aggregated.millis()).isLessThan(streamed.millis());
+    }
+
+    /**
+     * What the stats endpoint did before the aggregates: load every user, then count in Java.
+     */
+    private Map<String, Object> countByStreaming() {
+        List<User> allUsers = userRepository.findAll();
+        return Map.of(
+                "totalUsers", (long) allUsers.size(),
+                "totalInstructors", allUsers.stream().filter(u -> u.getRole() == Role.INSTRUCTOR).count(),
+                "totalStudents", allUsers.stream().filter(u -> u.getRole() == Role.STUDENT).count(),
+                "activeUsers", allUsers.stream().filter(User::isActive).count(),
+                "recentUsers", allUsers.stream()
+                        .filter(u -> u.getCreatedAt() != null && u.getCreatedAt().isAfter(RECENT_SINCE))
+                        .count());
+    }
+
+    private Map<String, Object> countByAggregates() {
+        UserCounts counts = UserCounts.from(userRepository.countGroupByRoleAndActive());
+        return Map.of(
+                "totalUsers", counts.total(),
+                "totalInstructors", counts.countByRole(Role.INSTRUCTOR),
+                "totalStudents", counts.countByRole(Role.STUDENT),
+                "activeUsers", counts.active(),
+                "recentUsers", userRepository.countByCreatedAtAfter(RECENT_SINCE));
+    }
+
+    /**
+     * Runs the computation once to warm up, then {@link #RUNS} times from an empty
+     * persistence context, and keeps the fastest run.
+     */
+    private Run measure(String name, Supplier<Map<String, Object>> computation) {
+        entityManager.clear();
+        computation.get();
+        Run best = null;
+        for (int i = 0; i < RUNS; i++) {
+            entityManager.clear();
+            statistics.clear();
+            long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+
+            Map<String, Object> stats = computation.get();
+
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            Run run = new Run(stats, statistics.getEntityLoadCount(),
+                    THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore, millis);
+            if (best == null || run.millis() < best.millis()) {
+                best = run;
+            }
+        }
+        log.info("{} over {} users: {} users loaded, {} KiB allocated, {} ms",
+                name, USERS, best.usersLoaded(), best.allocatedBytes() / 1024, best.millis());
+        return best;
+    }
+
+    private record Run(Map<String, Object> stats, long usersLoaded, long allocatedBytes, long millis) {
+    }
+}
@@ -0,0 +1,103 @@
+package com.scholarspace.userservice.repositories;
+
+import com.scholarspace.userservice.dto.MonthlyCount;
+import com.scholarspace.userservice.dto.UserCounts;
+import com.scholarspace.userservice.models.Role;
+import com.scholarspace.userservice.models.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the user statistics aggregates against a population large enough that loading
+ * it would show: every figure must come from one SQL statement that loads no users.
+ */
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class UserStatsQueryTests {
+
+    // Spread evenly over January to August 2025, the 10th of each month
+    private static final int USERS = 10_000;
+    private static final int MONTHS = 8;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < USERS; i++) {
+            User user = new User("User " + i, "user" + i + "@uni.edu", "hash", Role.values()[i % 3]);
+            user.setActive(i % 4 != 0);
+            user.setCreatedAt(LocalDateTime.of(2025, 1 + i % MONTHS, 10, 12, 0));
+            entityManager.persist(user);
+            if (i % 500 == 499) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void roleAndStatusCountsComeFromOneGroupedQuery() {
+        UserCounts counts = UserCounts.from(inOneStatement(userRepository::countGroupByRoleAndActive));
+
+        assertThat(counts.total()).isEqualTo(USERS);
+        assertThat(counts.active()).isEqualTo(USERS * 3 / 4);
+        assertThat(counts.countByRole(Role.ADMIN)).isEqualTo(3334);
+        assertThat(counts.countByRole(Role.INSTRUCTOR)).isEqualTo(3333);
+        assertThat(counts.countByRole(Role.STUDENT)).isEqualTo(3333);
+    }
+
+    @Test
+    void monthlyRegistrationsAreBucketedInTheDatabase() {
+        List<MonthlyCount> months = inOneStatement(
+                () -> userRepository.countRegistrationsByMonthSince(LocalDateTime.of(2025, 3, 1, 0, 0)));
+
+        assertThat(months).extracting(MonthlyCount::label)
+                .containsExactly("2025-03", "2025-04", "2025-05", "2025-06", "2025-07", "2025-08");
+        assertThat(months).extracting(MonthlyCount::count).containsOnly((long) USERS / MONTHS);
+    }
+
+    @Test
+    void recentSignupsAreCountedInTheDatabase() {
+        long recent = inOneStatement(() -> userRepository.countByCreatedAtAfter(LocalDateTime.of(2025, 7, 1, 0, 0)));
+
+        assertThat(recent).isEqualTo(2L * USERS / MONTHS);
+    }
+
+    private <T> T inOneStatement(Supplier<T> query) {
+        entityManager.clear();
+        statistics.clear();
+
+        T result = query.get();
+
+        assertThat(statistics.getPrepareStatementCount()).as("SQL statements issued").isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).as("users loaded").isZero();
+        return result;
+    }
+}
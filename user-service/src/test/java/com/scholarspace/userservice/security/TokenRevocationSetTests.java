@@ -0,0 +1,90 @@
+package com.scholarspace.userservice.security;
+
+import com.scholarspace.userservice.security.TokenRevocationSet.Revocation;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenRevocationSetTests {
+
+    private static final long HOUR = 3_600_000;
+
+    private final long now = System.currentTimeMillis();
+
+    @Test
+    void userRevocationRejectsTokensIssuedUpToTheRevocation() {
+        TokenRevocationSet set = TokenRevocationSet.EMPTY.with(1, List.of(user(7, now, now + HOUR)));
+
+        assertThat(set.isRevoked(7L, "t1", new Date(now - HOUR))).isTrue();
+        assertThat(set.isRevoked(7L, "t1", new Date(now))).isTrue();
+        assertThat(set.isRevoked(7L, "t1", null)).isTrue();
+        // Issued after the revocation, e.g. once the user was reactivated
+        assertThat(set.isRevoked(7L, "t2", new Date(now + 1))).isFalse();
+        assertThat(set.isRevoked(8L, "t1", new Date(now - HOUR))).isFalse();
+    }
+
+    @Test
+    void tokenRevocationRejectsOnlyThatToken() {
+        TokenRevocationSet set = TokenRevocationSet.EMPTY.with(1, List.of(token("abc", now + HOUR)));
+
+        assertThat(set.isRevoked(7L, "abc", new Date(now))).isTrue();
+        assertThat(set.isRevoked(null, "abc", null)).isTrue();
+        assertThat(set.isRevoked(7L, "abd", new Date(now))).isFalse();
+        assertThat(set.isRevoked(7L, null, new Date(now))).isFalse();
+    }
+
+    @Test
+    void mergingKeepsTheHighestVersionAndTheLatestRevocation() {
+        TokenRevocationSet first = TokenRevocationSet.EMPTY.with(5, List.of(user(7, now - HOUR, now + HOUR)));
+        TokenRevocationSet second = first.with(3, List.of(user(7, now, now + 2 * HOUR), token("abc", now + HOUR)));
+
+        assertThat(first.version()).isEqualTo(5);
+        assertThat(second.version()).isEqualTo(5);
+        assertThat(second.size()).isEqualTo(2);
+        // The later revocation of user 7 wins, so tokens issued between the two are rejected too
+        assertThat(second.isRevoked(7L, "t", new Date(now - 1))).isTrue();
+        // The original set is unchanged
+        assertThat(first.size()).isEqualTo(1);
+        assertThat(first.isRevoked(7L, "t", new Date(now - 1))).isFalse();
+    }
+
+    @Test
+    void expiredRevocationsAreDroppedWhenMerging() {
+        TokenRevocationSet set = TokenRevocationSet.EMPTY.with(1, List.of(
+                token("old", now - 1), token("live", now + HOUR)));
+
+        assertThat(set.size()).isEqualTo(1);
+        assertThat(set.isRevoked(null, "old", null)).isFalse();
+        assertThat(set.isRevoked(null, "live", null)).isTrue();
+    }
+
+    @Test
+    void bloomFilterNeverHidesARevocationNorInventsOne() {
+        List<Revocation> revoked = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            revoked.add(token("revoked-" + i, now + HOUR));
+        }
+        TokenRevocationSet set = TokenRevocationSet.EMPTY.with(1, revoked);
+
+        for (Revocation revocation : revoked) {
+            assertThat(set.isRevoked(null, revocation.id(), null)).isTrue();
+        }
+        // A filter false positive only costs a map lookup; the answer is still exact
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(set.isRevoked((long) i, UUID.randomUUID().toString(), new Date(now))).isFalse();
+        }
+    }
+
+    private static Revocation user(long userId, long revokedAt, long expiresAt) {
+        return new Revocation(Revocation.USER, Long.toString(userId), revokedAt, expiresAt);
+    }
+
+    private static Revocation token(String tokenId, long expiresAt) {
+        return new Revocation(Revocation.TOKEN, tokenId, 0, expiresAt);
+    }
+}
@@ -0,0 +1,259 @@
+package com.scholarspace.userservice.services;
+
+import com.scholarspace.userservice.config.LdapConfig;
+import com.scholarspace.userservice.dto.DirectoryUser;
+import com.scholarspace.userservice.dto.UserSummary;
+import com.scholarspace.userservice.models.Role;
+import com.scholarspace.userservice.repositories.UserBatchRepository;
+import com.scholarspace.userservice.repositories.UserRepository;
+import com.unboundid.ldap.listener.InMemoryDirectoryServer;
+import com.unboundid.ldap.listener.InMemoryDirectoryServerConfig;
+import com.unboundid.ldap.listener.InMemoryDirectoryServerSnapshot;
+import com.unboundid.ldap.listener.interceptor.InMemoryInterceptedSearchRequest;
+import com.unboundid.ldap.listener.interceptor.InMemoryOperationInterceptor;
+import com.unboundid.ldap.sdk.Attribute;
+import com.unboundid.ldap.sdk.Entry;
+import com.unboundid.ldap.sdk.Modification;
+import com.unboundid.ldap.sdk.ModificationType;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Syncs an in-memory directory of 50,000 users shaped like the ScholarSpace OU, with the
+ * database side mocked, and checks what each pass reads and writes.
+ */
+class DirectorySyncServiceTests {
+
+    private static final String BASE = "DC=mylab,DC=local";
+    private static final String OU = "OU=ScholarSpace," + BASE;
+    private static final String SERVICE_DN = "CN=svc," + BASE;
+    private static final String ADMINS = "CN=scholarspace-admins," + OU;
+    private static final String INSTRUCTORS = "CN=scholarspace-instructors," + OU;
+    private static final String STUDENTS = "CN=scholarspace-students," + OU;
+    private static final String CHESS_CLUB = "CN=chess-club," + OU;
+
+    private static final int USERS = 50_000;
+    private static final int PAGE_SIZE = 500;
+    // Six digits throughout: without a schema the server compares uSNChanged as a string
+    private static final long FIRST_USN = 100_000;
+    private static final long GROUP_USN = 200_000;
+
+    private static final AtomicInteger searches = new AtomicInteger();
+    private static InMemoryDirectoryServer server;
+    private static InMemoryDirectoryServerSnapshot seeded;
+
+    private final List<Integer> pageSizes = new CopyOnWriteArrayList<>();
+    private final List<DirectoryUser> upserted = new CopyOnWriteArrayList<>();
+    private UserRepository userRepository;
+    private UserBatchRepository userBatchRepository;
+    private TokenRevocationService tokenRevocationService;
+    private DirectorySyncService directorySyncService;
+
+    /**
+     * User {@code i} is an admin (and a student) when i % 1000 == 0, an instructor when
+     * i % 10 == 0, only in an unrelated group when i % 10 == 5 and a student otherwise.
+     * Every seventh user's principal name is in mixed case.
+     */
+    @BeforeAll
+    static void startDirectory() throws Exception {
+        InMemoryDirectoryServerConfig config = new InMemoryDirectoryServerConfig(BASE);
+        // Active Directory attributes such as memberOf and userPrincipalName are not in the default schema
+        config.setSchema(null);
+        config.addAdditionalBindCredentials(SERVICE_DN, "service-secret");
+        config.addInMemoryOperationInterceptor(new InMemoryOperationInterceptor() {
+            @Override
+            public void processSearchRequest(InMemoryInterceptedSearchRequest request) {
+                searches.incrementAndGet();
+            }
+        });
+        server = new InMemoryDirectoryServer(config);
+        server.add("dn: " + BASE, "objectClass: domain", "dc: mylab");
+        server.add("dn: " + OU, "objectClass: organizationalUnit", "ou: ScholarSpace");
+        for (String group : List.of(ADMINS, INSTRUCTORS, STUDENTS, CHESS_CLUB)) {
+            String cn = group.substring(3, group.indexOf(','));
+            server.add("dn: " + group, "objectClass: group", "cn: " + cn, "uSNChanged: " + GROUP_USN);
+        }
+        for (int i = 0; i < USERS; i++) {
+            server.add(user(i, FIRST_USN + i));
+        }
+        server.startListening();
+        seeded = server.createSnapshot();
+    }
+
+    @AfterAll
+    static void stopDirectory() {
+        server.shutDown(true);
+    }
+
+    @BeforeEach
+    void setUp() {
+        server.restoreSnapshot(seeded);
+        searches.set(0);
+
+        LdapConfig ldapConfig = new LdapConfig();
+        ldapConfig.setUrl("ldap://localhost:" + server.getListenPort());
+        ldapConfig.setBase(BASE);
+        ldapConfig.setUsername(SERVICE_DN);
+        ldapConfig.setPassword("service-secret");
+        ldapConfig.setUserSearchBase("OU=ScholarSpace");
+        ldapConfig.setGroupSearchBase("OU=ScholarSpace");
+        ldapConfig.setGroupRoleAttribute("cn");
+
+        userRepository = mock(UserRepository.class);
+        userBatchRepository = mock(UserBatchRepository.class);
+        tokenRevocationService = mock(TokenRevocationService.class);
+        doAnswer(invocation -> {
+            List<DirectoryUser> page = invocation.getArgument(0);
+            pageSizes.add(page.size());
+            upserted.addAll(page);
+            return null;
+        }).when(userBatchRepository).upsertDirectoryUsers(anyList());
+
+        directorySyncService = new DirectorySyncService(ldapConfig.ldapTemplate(), ldapConfig,
+                new LdapAuthenticationService(ldapConfig.ldapTemplate(), ldapConfig),
+                userRepository, userBatchRepository, mock(UserSearchIndex.class), tokenRevocationService,
+                mock(PlatformTransactionManager.class), false, 15, 24, PAGE_SIZE);
+    }
+
+    @Test
+    void fullSyncReadsEveryUserInPages() {
+        directorySyncService.sync(true);
+
+        assertThat(upserted).hasSize(USERS);
+        assertThat(upserted.stream().map(DirectoryUser::email).distinct()).hasSize(USERS);
+        assertThat(pageSizes).hasSize(USERS / PAGE_SIZE).allMatch(size -> size <= PAGE_SIZE);
+        assertThat(searches.get()).isGreaterThanOrEqualTo(USERS / PAGE_SIZE);
+        // Every page is reconciled before it is upserted
+        verify(userBatchRepository, times(USERS / PAGE_SIZE)).reconcileDirectoryEmails(anyList());
+        assertThat(directorySyncService.isSynced()).isTrue();
+    }
+
+    @Test
+    void rolesComeFromTheThreeGroupsAndEmailsAreLowerCased() {
+        directorySyncService.sync(true);
+
+        Map<String, DirectoryUser> byEmail = upserted.stream()
+                .collect(Collectors.toMap(DirectoryUser::email, Function.identity()));
+        // Admin wins over the student group the same user is in
+        assertThat(byEmail.get("user0@mylab.local").role()).isEqualTo(Role.ADMIN);
+        assertThat(byEmail.get("user10@mylab.local").role()).isEqualTo(Role.INSTRUCTOR);
+        assertThat(byEmail.get("user11@mylab.local").role()).isEqualTo(Role.STUDENT);
+        // Groups that grant no role leave the default
+        assertThat(byEmail.get("user15@mylab.local").role()).isEqualTo(Role.STUDENT);
+        assertThat(byEmail.get("user7@mylab.local"))
+                .isEqualTo(new DirectoryUser("user7@mylab.local", "user7", "User 7", Role.STUDENT));
+        assertThat(byEmail).doesNotContainKey("User7@MyLab.local");
+
+        Map<Role, Long> roles = upserted.stream()
+                .collect(Collectors.groupingBy(DirectoryUser::role, Collectors.counting()));
+        assertThat(roles).containsEntry(Role.ADMIN, 50L)
+                .containsEntry(Role.INSTRUCTOR, 4_950L)
+                .containsEntry(Role.STUDENT, 45_000L);
+    }
+
+    @Test
+    void incrementalSyncReadsOnlyEntriesChangedSinceTheLastSync() throws Exception {
+        directorySyncService.sync(true);
+        upserted.clear();
+
+        long usn = FIRST_USN + USERS;
+        server.modify(dn(42), new Modification(ModificationType.REPLACE, "displayName", "Renamed"),
+                new Modification(ModificationType.REPLACE, "uSNChanged", String.valueOf(usn + 1)));
+        server.modify(dn(43), new Modification(ModificationType.REPLACE, "memberOf", ADMINS),
+                new Modification(ModificationType.REPLACE, "uSNChanged", String.valueOf(usn + 2)));
+        // Mixed-case principal name, lower-cased like the rest
+        server.add(user(USERS + 1, usn + 3));
+
+        directorySyncService.sync(false);
+
+        assertThat(upserted).containsExactlyInAnyOrder(
+                new DirectoryUser("user42@mylab.local", "user42", "Renamed", Role.STUDENT),
+                new DirectoryUser("user43@mylab.local", "user43", "User 43", Role.ADMIN),
+                new DirectoryUser("user50001@mylab.local", "user50001", "User 50001", Role.STUDENT));
+
+        upserted.clear();
+        directorySyncService.sync(false);
+
+        assertThat(upserted).isEmpty();
+        verify(userBatchRepository, never()).deactivateUsers(anyList());
+    }
+
+    @Test
+    void fullSyncDeactivatesDirectoryUsersNoLongerInTheDirectory() {
+        List<String> missing = List.of("gone@mylab.local", "left@mylab.local");
+        // user7 was stored before emails were lower-cased; the repository lower-cases it
+        when(userRepository.findActiveDirectoryUserEmails())
+                .thenReturn(List.of("user1@mylab.local", "user7@mylab.local", missing.get(0), missing.get(1)));
+        when(userRepository.findSummariesByLowerEmailIn(anyCollection())).thenReturn(List.of());
+        when(userRepository.findSummariesByLowerEmailIn(missing)).thenReturn(List.of(
+                new UserSummary(901L, "Gone", missing.get(0), Role.STUDENT, false, null),
+                new UserSummary(902L, "Left", missing.get(1), Role.INSTRUCTOR, false, null)));
+
+        directorySyncService.sync(true);
+
+        verify(userBatchRepository).deactivateUsers(missing);
+        verify(tokenRevocationService).revokeUsers(List.of(901L, 902L));
+    }
+
+    @Test
+    void roleGroupChangeForcesAFullSync() throws Exception {
+        directorySyncService.syncQuietly();
+        assertThat(upserted).hasSize(USERS);
+        upserted.clear();
+
+        // Nothing changed: the next pass is incremental and reads nothing
+        directorySyncService.syncQuietly();
+        assertThat(upserted).isEmpty();
+
+        // Membership changes bump the group's uSNChanged but not the member's
+        server.modify(ADMINS, new Modification(ModificationType.REPLACE, "uSNChanged", String.valueOf(GROUP_USN + 1)));
+        server.modify(dn(44), new Modification(ModificationType.REPLACE, "memberOf", ADMINS));
+
+        directorySyncService.syncQuietly();
+
+        assertThat(upserted).hasSize(USERS)
+                .contains(new DirectoryUser("user44@mylab.local", "user44", "User 44", Role.ADMIN));
+        verify(userBatchRepository, times(1)).createLowerEmailIndex();
+    }
+
+    private static Entry user(int i, long usn) {
+        String upn = i % 7 == 0 ? "User" + i + "@MyLab.local" : "user" + i + "@mylab.local";
+        List<String> groups = i % 1000 == 0 ? List.of(ADMINS, STUDENTS)
+                : i % 10 == 0 ? List.of(INSTRUCTORS)
+                : i % 10 == 5 ? List.of(CHESS_CLUB)
+                : List.of(STUDENTS);
+        return new Entry(dn(i),
+                new Attribute("objectClass", "user"),
+                new Attribute("objectCategory", "person"),
+                new Attribute("distinguishedName", dn(i)),
+                new Attribute("userPrincipalName", upn),
+                new Attribute("sAMAccountName", "user" + i),
+                new Attribute("displayName", "User " + i),
+                new Attribute("memberOf", groups),
+                new Attribute("uSNChanged", String.valueOf(usn)));
+    }
+
+    private static String dn(int i) {
+        return "CN=user" + i + "," + OU;
+    }
+}
@@ -0,0 +1,144 @@
+package com.scholarspace.userservice.services;
+
+import com.scholarspace.userservice.repositories.UserBatchRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class LastLoginBufferTests {
+
+    private static final LocalDateTime MORNING = LocalDateTime.of(2025, 10, 6, 9, 0);
+    private static final LocalDateTime NOON = MORNING.plusHours(3);
+
+    private final List<Map<Long, LocalDateTime>> writes = Collections.synchronizedList(new ArrayList<>());
+    private UserBatchRepository userBatchRepository;
+    private LastLoginBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        userBatchRepository = mock(UserBatchRepository.class);
+        doAnswer(this::recordWrite).when(userBatchRepository).updateLastLogins(anyList());
+    }
+
+    @AfterEach
+    void tearDown() {
+        buffer.shutdown();
+    }
+
+    @Test
+    void repeatedLoginsAreMergedKeepingTheLatest() {
+        buffer = buffer(100);
+
+        buffer.record(1L, NOON);
+        buffer.record(1L, MORNING);
+        buffer.record(2L, MORNING);
+        buffer.record(2L, NOON);
+        buffer.flush();
+
+        assertThat(writes).containsExactly(Map.of(1L, NOON, 2L, NOON));
+    }
+
+    @Test
+    void flushWritesOneBatchAndEmptiesTheBuffer() {
+        buffer = buffer(100);
+        for (long userId = 1; userId <= 50; userId++) {
+            buffer.record(userId, MORNING);
+        }
+
+        buffer.flush();
+        buffer.flush();
+
+        assertThat(writes).hasSize(1);
+        assertThat(writes.get(0)).hasSize(50);
+    }
+
+    @Test
+    void fullBufferWritesNewUsersDirectlyAndFlushesInTheBackground() {
+        buffer = buffer(2);
+        buffer.record(1L, MORNING);
+        buffer.record(2L, MORNING);
+
+        // Already buffered users still merge in memory
+        buffer.record(2L, NOON);
+        buffer.record(3L, NOON);
+
+        verify(userBatchRepository, timeout(5_000).times(2)).updateLastLogins(anyList());
+        buffer.shutdown();
+        assertThat(writes).containsExactlyInAnyOrder(Map.of(3L, NOON), Map.of(1L, MORNING, 2L, NOON));
+    }
+
+    @Test
+    void failedFlushKeepsTheUpdatesForTheNextOne() {
+        buffer = buffer(100);
+        doAnswer(invocation -> {
+            throw new DataAccessResourceFailureException("connection refused");
+        }).doAnswer(this::recordWrite).when(userBatchRepository).updateLastLogins(anyList());
+
+        buffer.record(1L, MORNING);
+        buffer.flush();
+        buffer.record(2L, NOON);
+        buffer.flush();
+
+        verify(userBatchRepository, times(2)).updateLastLogins(anyList());
+        assertThat(writes).containsExactly(Map.of(1L, MORNING, 2L, NOON));
+    }
+
+    @Test
+    void loginDuringAFlushIsKeptForTheNextOne() {
+        buffer = buffer(100);
+        doAnswer(invocation -> {
+            recordWrite(invocation);
+            if (writes.size() == 1) {
+                buffer.record(1L, NOON);
+            }
+            return null;
+        }).when(userBatchRepository).updateLastLogins(anyList());
+
+        buffer.record(1L, MORNING);
+        buffer.flush();
+        buffer.flush();
+
+        assertThat(writes).containsExactly(Map.of(1L, MORNING), Map.of(1L, NOON));
+    }
+
+    @Test
+    void shutdownWritesWhatIsStillBuffered() {
+        buffer = buffer(100);
+        buffer.record(1L, MORNING);
+
+        buffer.shutdown();
+
+        assertThat(writes).containsExactly(Map.of(1L, MORNING));
+    }
+
+    private Object recordWrite(InvocationOnMock invocation) {
+        List<Map.Entry<Long, LocalDateTime>> lastLogins = invocation.getArgument(0);
+        Map<Long, LocalDateTime> write = new HashMap<>();
+        lastLogins.forEach(entry -> write.put(entry.getKey(), entry.getValue()));
+        writes.add(write);
+        return null;
+    }
+
+    private LastLoginBuffer buffer(int capacity) {
+        // Flushes are triggered by the tests, never by the schedule
+        return new LastLoginBuffer(userBatchRepository, mock(PlatformTransactionManager.class), capacity, 3_600_000);
+    }
+}
@@ -0,0 +1,173 @@
+package com.scholarspace.userservice.services;
+
+import com.scholarspace.userservice.config.LdapConfig;
+import com.scholarspace.userservice.models.Role;
+import com.unboundid.ldap.listener.InMemoryDirectoryServer;
+import com.unboundid.ldap.listener.InMemoryDirectoryServerConfig;
+import com.unboundid.ldap.listener.interceptor.InMemoryInterceptedSearchRequest;
+import com.unboundid.ldap.listener.interceptor.InMemoryInterceptedSimpleBindRequest;
+import com.unboundid.ldap.listener.interceptor.InMemoryOperationInterceptor;
+import com.unboundid.ldap.sdk.Modification;
+import com.unboundid.ldap.sdk.ModificationType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs AD logins against an in-memory directory and counts the round trips each one makes.
+ */
+class LdapAuthenticationServiceTests {
+
+    private static final String BASE = "DC=mylab,DC=local";
+    private static final String OU = "OU=ScholarSpace," + BASE;
+    private static final String SERVICE_DN = "CN=svc," + BASE;
+    private static final String ADA_DN = "CN=Ada Lovelace," + OU;
+    private static final String ALAN_DN = "CN=Alan Turing," + OU;
+
+    private final List<String> binds = new CopyOnWriteArrayList<>();
+    private final AtomicInteger searches = new AtomicInteger();
+    private InMemoryDirectoryServer server;
+    private LdapAuthenticationService ldapAuthenticationService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        InMemoryDirectoryServerConfig config = new InMemoryDirectoryServerConfig(BASE);
+        // Active Directory attributes such as memberOf and userPrincipalName are not in the default schema
+        config.setSchema(null);
+        config.addAdditionalBindCredentials(SERVICE_DN, "service-secret");
+        config.addInMemoryOperationInterceptor(new InMemoryOperationInterceptor() {
+            @Override
+            public void processSimpleBindRequest(InMemoryInterceptedSimpleBindRequest request) {
+                binds.add(request.getRequest().getBindDN());
+            }
+
+            @Override
+            public void processSearchRequest(InMemoryInterceptedSearchRequest request) {
+                searches.incrementAndGet();
+            }
+        });
+        server = new InMemoryDirectoryServer(config);
+        server.add("dn: " + BASE, "objectClass: domain", "dc: mylab");
+        server.add("dn: " + OU, "objectClass: organizationalUnit", "ou: ScholarSpace");
+        server.add("dn: CN=scholarspace-instructors," + OU, "objectClass: group",
+                "cn: scholarspace-instructors", "member: " + ADA_DN, "uSNChanged: 120");
+        server.add("dn: CN=scholarspace-admins," + OU, "objectClass: group",
+                "cn: scholarspace-admins", "member: " + ALAN_DN, "uSNChanged: 110");
+        server.add("dn: CN=chess-club," + OU, "objectClass: group", "cn: chess-club", "uSNChanged: 900");
+        server.add("dn: " + ADA_DN, "objectClass: user",
+                "distinguishedName: " + ADA_DN,
+                "userPrincipalName: ada@mylab.local",
+                "sAMAccountName: ada",
+                "displayName: Ada Lovelace",
+                "givenName: Ada",
+                "sn: Lovelace",
+                "memberOf: CN=scholarspace-instructors," + OU,
+                "userPassword: Analytical1!");
+        // No memberOf, as in directories without the overlay: groups are searched by member instead
+        server.add("dn: " + ALAN_DN, "objectClass: user",
+                "distinguishedName: " + ALAN_DN,
+                "userPrincipalName: alan@mylab.local",
+                "sAMAccountName: alan",
+                "givenName: Alan",
+                "sn: Turing",
+                "userPassword: Enigma1!");
+        server.startListening();
+
+        LdapConfig ldapConfig = new LdapConfig();
+        ldapConfig.setUrl("ldap://localhost:" + server.getListenPort());
+        ldapConfig.setBase(BASE);
+        ldapConfig.setUsername(SERVICE_DN);
+        ldapConfig.setPassword("service-secret");
+        ldapConfig.setUserSearchBase("OU=ScholarSpace");
+        ldapConfig.setGroupSearchBase("OU=ScholarSpace");
+        ldapConfig.setGroupRoleAttribute("cn");
+        ldapAuthenticationService = new LdapAuthenticationService(ldapConfig.ldapTemplate(), ldapConfig);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.shutDown(true);
+    }
+
+    @Test
+    void loginIsOneSearchAndOneUserBind() {
+        for (int i = 0; i < 3; i++) {
+            Map<String, Object> user = ldapAuthenticationService.authenticate("ada@mylab.local", "Analytical1!");
+
+            assertThat(user).containsEntry("name", "Ada Lovelace")
+                    .containsEntry("distinguishedName", ADA_DN)
+                    .containsEntry("role", Role.INSTRUCTOR);
+        }
+
+        assertThat(searches).hasValue(3);
+        // Every login binds as the user; only the service account's connection is reused
+        assertThat(userBinds(ADA_DN)).isEqualTo(3);
+        assertThat(userBinds(SERVICE_DN)).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    void wrongPasswordIsRejectedByTheDirectory() {
+        assertThat(ldapAuthenticationService.authenticate("ada", "Analytical1!")).isNotNull();
+
+        assertThat(ldapAuthenticationService.authenticate("ada", "wrong")).isNull();
+        assertThat(ldapAuthenticationService.authenticate("nobody@mylab.local", "wrong")).isNull();
+
+        assertThat(userBinds(ADA_DN)).isEqualTo(2);
+    }
+
+    @Test
+    void passwordChangedInTheDirectoryTakesEffectOnTheNextLogin() throws Exception {
+        assertThat(ldapAuthenticationService.authenticate("ada@mylab.local", "Analytical1!")).isNotNull();
+
+        server.modify(ADA_DN, new Modification(ModificationType.REPLACE, "userPassword", "Engine2!"));
+
+        assertThat(ldapAuthenticationService.authenticate("ada@mylab.local", "Analytical1!")).isNull();
+        assertThat(ldapAuthenticationService.authenticate("ada@mylab.local", "Engine2!")).isNotNull();
+    }
+
+    @Test
+    void groupsAreSearchedByMemberWhenTheEntryHasNoMemberOf() {
+        Map<String, Object> user = ldapAuthenticationService.authenticate("alan", "Enigma1!");
+
+        assertThat(user).containsEntry("name", "Alan Turing").containsEntry("role", Role.ADMIN);
+        assertThat(searches).hasValue(2);
+        assertThat(userBinds(ALAN_DN)).isEqualTo(1);
+    }
+
+    @Test
+    void mirroredUserBindReadsTheCurrentGroupsOnTheSameConnection() throws Exception {
+        assertThat(ldapAuthenticationService.bindAndResolveRole(ADA_DN, "Analytical1!"))
+                .isEqualTo(Role.INSTRUCTOR);
+
+        server.modify(ADA_DN, new Modification(ModificationType.REPLACE, "memberOf", "CN=scholarspace-admins," + OU));
+
+        assertThat(ldapAuthenticationService.bindAndResolveRole(ADA_DN, "Analytical1!"))
+                .isEqualTo(Role.ADMIN);
+        assertThat(ldapAuthenticationService.bindAndResolveRole(ADA_DN, "wrong")).isNull();
+        // The entry is read over the user's own connection; no service-account connection is needed
+        assertThat(userBinds(ADA_DN)).isEqualTo(3);
+        assertThat(userBinds(SERVICE_DN)).isZero();
+    }
+
+    @Test
+    void highestRoleGroupUsnIgnoresGroupsThatGrantNoRole() throws Exception {
+        assertThat(ldapAuthenticationService.highestRoleGroupUsn()).isEqualTo(120);
+
+        server.modify("CN=scholarspace-admins," + OU,
+                new Modification(ModificationType.ADD, "member", ADA_DN),
+                new Modification(ModificationType.REPLACE, "uSNChanged", "130"));
+
+        assertThat(ldapAuthenticationService.highestRoleGroupUsn()).isEqualTo(130);
+    }
+
+    private long userBinds(String dn) {
+        return binds.stream().filter(dn::equalsIgnoreCase).count();
+    }
+}
@@ -0,0 +1,94 @@
+package com.scholarspace.userservice.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginThrottleTests {
+
+    private static final long WINDOW_MS = 60_000;
+    private static final long T0 = 1_000_000;
+
+    private LoginThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        // 60 second windows, 3 attempts per account and 5 per address
+        throttle = new LoginThrottle(new SimpleMeterRegistry(), 60, 3, 5, 1_000);
+    }
+
+    @Test
+    void accountIsLimitedWithinTheWindowIgnoringEmailCase() {
+        assertThat(throttle.tryAcquire("ada@uni.edu", "10.0.0.1", T0)).isZero();
+        assertThat(throttle.tryAcquire("ADA@uni.edu", "10.0.0.2", T0 + 1)).isZero();
+        assertThat(throttle.tryAcquire(" ada@uni.edu", "10.0.0.3", T0 + 2)).isZero();
+
+        assertThat(throttle.tryAcquire("ada@uni.edu", "10.0.0.4", T0 + 3)).isEqualTo(60);
+        assertThat(throttle.tryAcquire("alan@uni.edu", "10.0.0.4", T0 + 4)).isZero();
+    }
+
+    @Test
+    void previousWindowCountsInProportionToItsOverlap() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(throttle.tryAcquire("ada@uni.edu", null, T0)).isZero();
+        }
+
+        // A quarter into the next window, 3 * 0.75 = 2.25 earlier attempts still count
+        long quarterIn = T0 + WINDOW_MS + WINDOW_MS / 4;
+        assertThat(throttle.tryAcquire("ada@uni.edu", null, quarterIn)).isZero();
+        assertThat(throttle.tryAcquire("ada@uni.edu", null, quarterIn)).isEqualTo(45);
+
+        // Halfway, 1.5 plus the attempt just made count, leaving room for one more
+        long halfway = T0 + WINDOW_MS + WINDOW_MS / 2;
+        assertThat(throttle.tryAcquire("ada@uni.edu", null, halfway)).isZero();
+        assertThat(throttle.tryAcquire("ada@uni.edu", null, halfway)).isEqualTo(30);
+
+        // Two windows later nothing from before counts
+        long later = T0 + 4 * WINDOW_MS;
+        for (int i = 0; i < 3; i++) {
+            assertThat(throttle.tryAcquire("ada@uni.edu", null, later)).isZero();
+        }
+    }
+
+    @Test
+    void addressIsLimitedAcrossAccounts() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(throttle.tryAcquire("user" + i + "@uni.edu", "10.0.0.1", T0 + i)).isZero();
+        }
+
+        assertThat(throttle.tryAcquire("other@uni.edu", "10.0.0.1", T0 + 10)).isEqualTo(60);
+        assertThat(throttle.tryAcquire("other@uni.edu", "10.0.0.2", T0 + 11)).isZero();
+    }
+
+    @Test
+    void attemptRejectedForItsAccountDoesNotUseUpTheAddress() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(throttle.tryAcquire("ada@uni.edu", "10.0.0.9", T0)).isZero();
+        }
+        for (int i = 0; i < 10; i++) {
+            assertThat(throttle.tryAcquire("ada@uni.edu", "10.0.0.1", T0)).isPositive();
+        }
+
+        // All five of the address's attempts are still available to other accounts
+        for (int i = 0; i < 5; i++) {
+            assertThat(throttle.tryAcquire("user" + i + "@uni.edu", "10.0.0.1", T0)).isZero();
+        }
+    }
+
+    @Test
+    void successfulLoginResetsTheAccountButNotTheAddress() {
+        for (int i = 0; i < 3; i++) {
+            throttle.tryAcquire("ada@uni.edu", "10.0.0.1", T0);
+        }
+        assertThat(throttle.tryAcquire("ada@uni.edu", "10.0.0.1", T0)).isPositive();
+
+        throttle.reset("Ada@Uni.edu");
+
+        assertThat(throttle.tryAcquire("ada@uni.edu", "10.0.0.1", T0)).isZero();
+        assertThat(throttle.tryAcquire("ada@uni.edu", "10.0.0.1", T0)).isZero();
+        // The address has now made five counted attempts
+        assertThat(throttle.tryAcquire("alan@uni.edu", "10.0.0.1", T0)).isEqualTo(60);
+    }
+}
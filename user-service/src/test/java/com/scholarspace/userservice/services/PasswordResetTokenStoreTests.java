@@ -0,0 +1,104 @@
+package com.scholarspace.userservice.services;
+
+import com.scholarspace.userservice.models.PasswordResetToken;
+import com.scholarspace.userservice.models.Role;
+import com.scholarspace.userservice.models.User;
+import com.scholarspace.userservice.repositories.PasswordResetTokenRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PasswordResetTokenStoreTests {
+
+    private PasswordResetTokenRepository repository;
+    private PasswordResetTokenStore store;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(PasswordResetTokenRepository.class);
+        store = new PasswordResetTokenStore(repository, 24, 100);
+        user = new User("Ada", "ada@uni.edu", "hash", Role.STUDENT);
+        user.setUserId(7L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.shutdown();
+    }
+
+    @Test
+    void issuedTokenIsServedFromTheCacheAfterCheckingItIsUnused() {
+        when(repository.isRedeemable(anyString(), any())).thenReturn(true);
+
+        String token = store.issue(user);
+
+        assertThat(store.find(token)).hasValueSatisfying(found -> {
+            assertThat(found.userId()).isEqualTo(7L);
+            assertThat(found.email()).isEqualTo("ada@uni.edu");
+        });
+        verify(repository).isRedeemable(eq(token), any());
+        verify(repository, never()).findByToken(token);
+    }
+
+    @Test
+    void cachedTokenRedeemedThroughAnotherReplicaIsRejected() {
+        String token = store.issue(user);
+        when(repository.isRedeemable(eq(token), any())).thenReturn(false);
+
+        assertThat(store.find(token)).isEmpty();
+        // Dropped from the cache, so the next lookup goes to the database
+        assertThat(store.find(token)).isEmpty();
+        verify(repository).findByToken(token);
+    }
+
+    @Test
+    void tokenIssuedByAnotherReplicaIsLoadedOnceAndCached() {
+        LocalDateTime now = LocalDateTime.now();
+        when(repository.findByToken("elsewhere"))
+                .thenReturn(Optional.of(new PasswordResetToken("elsewhere", user, now, now.plusHours(1))));
+        when(repository.isRedeemable(eq("elsewhere"), any())).thenReturn(true);
+
+        assertThat(store.find("elsewhere")).isPresent();
+        assertThat(store.find("elsewhere")).isPresent();
+
+        verify(repository, times(1)).findByToken("elsewhere");
+    }
+
+    @Test
+    void usedOrExpiredTokensInTheDatabaseAreRejected() {
+        LocalDateTime now = LocalDateTime.now();
+        PasswordResetToken used = new PasswordResetToken("used", user, now, now.plusHours(1));
+        used.setUsed(true);
+        when(repository.findByToken("used")).thenReturn(Optional.of(used));
+        when(repository.findByToken("expired"))
+                .thenReturn(Optional.of(new PasswordResetToken("expired", user, now.minusHours(2), now.minusHours(1))));
+
+        assertThat(store.find("used")).isEmpty();
+        assertThat(store.find("expired")).isEmpty();
+        assertThat(store.find("unknown")).isEmpty();
+        assertThat(store.find(null)).isEmpty();
+    }
+
+    @Test
+    void redeemingIsDecidedByTheConditionalUpdate() {
+        String token = store.issue(user);
+        when(repository.markUsed(eq(token), any())).thenReturn(1, 0);
+
+        assertThat(store.redeem(token)).isTrue();
+        assertThat(store.redeem(token)).isFalse();
+    }
+}
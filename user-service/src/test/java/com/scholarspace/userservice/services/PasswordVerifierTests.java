@@ -0,0 +1,137 @@
+package com.scholarspace.userservice.services;
+
+import com.scholarspace.userservice.config.PasswordHashCalibration;
+import com.scholarspace.userservice.repositories.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PasswordVerifierTests {
+
+    private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+    private PasswordVerifier verifier;
+
+    @AfterEach
+    void tearDown() {
+        verifier.shutdown();
+    }
+
+    @Test
+    void callerBeyondTheWaitingLimitIsRejectedImmediately() throws Exception {
+        CountDownLatch hashing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(passwordEncoder.matches(anyString(), anyString())).thenAnswer(invocation -> {
+            hashing.countDown();
+            release.await();
+            return true;
+        });
+        verifier = verifier(1, 1, 5_000);
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        try {
+            Future<Boolean> first = caller.submit(() -> verifier.matches("pw", "hash"));
+            assertThat(hashing.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(() -> verifier.matches("pw", "hash"))
+                    .isInstanceOf(LoginSaturatedException.class)
+                    .satisfies(e -> assertThat(((LoginSaturatedException) e).getRetryAfterSeconds()).isEqualTo(1));
+
+            release.countDown();
+            assertThat(first.get(5, TimeUnit.SECONDS)).isTrue();
+            // The permit is returned, so the next login is checked again
+            assertThat(verifier.matches("pw", "hash")).isTrue();
+        } finally {
+            caller.shutdownNow();
+        }
+    }
+
+    @Test
+    void checkMissingItsDeadlineIsRejected() {
+        when(passwordEncoder.matches(anyString(), anyString())).thenAnswer(invocation -> {
+            Thread.sleep(500);
+            return true;
+        });
+        verifier = verifier(1, 4, 50);
+
+        assertThatThrownBy(() -> verifier.matches("pw", "hash")).isInstanceOf(LoginSaturatedException.class);
+    }
+
+    /**
+     * A login storm on a simulated Tomcat pool: most logins are turned away at once, so the
+     * request threads stay free and other requests arriving meanwhile are served promptly.
+     */
+    @Test
+    void otherRequestsStayResponsiveDuringALoginStorm() throws Exception {
+        int requestThreads = 50;
+        int logins = 2_000;
+        AtomicInteger hashingNow = new AtomicInteger();
+        AtomicInteger peakHashing = new AtomicInteger();
+        when(passwordEncoder.matches(anyString(), anyString())).thenAnswer(invocation -> {
+            peakHashing.accumulateAndGet(hashingNow.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+                return true;
+            } finally {
+                hashingNow.decrementAndGet();
+            }
+        });
+        verifier = verifier(2, 8, 2_000);
+
+        ExecutorService tomcat = Executors.newFixedThreadPool(requestThreads);
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        try {
+            List<Future<?>> storm = new ArrayList<>(logins);
+            for (int i = 0; i < logins; i++) {
+                storm.add(tomcat.submit(() -> {
+                    try {
+                        if (verifier.matches("pw", "hash")) {
+                            accepted.incrementAndGet();
+                        }
+                    } catch (LoginSaturatedException e) {
+                        rejected.incrementAndGet();
+                    }
+                }));
+            }
+
+            long slowestProbeMs = 0;
+            for (int i = 0; i < 20; i++) {
+                long start = System.nanoTime();
+                tomcat.submit(() -> "UP").get(5, TimeUnit.SECONDS);
+                slowestProbeMs = Math.max(slowestProbeMs, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                Thread.sleep(10);
+            }
+            for (Future<?> login : storm) {
+                login.get(30, TimeUnit.SECONDS);
+            }
+
+            assertThat(slowestProbeMs).as("slowest other request, ms").isLessThan(1_000);
+            assertThat(accepted.get() + rejected.get()).isEqualTo(logins);
+            assertThat(accepted.get()).isPositive();
+            assertThat(rejected.get()).isPositive();
+            assertThat(peakHashing.get()).as("concurrent hashes").isLessThanOrEqualTo(2);
+        } finally {
+            tomcat.shutdownNow();
+        }
+    }
+
+    private PasswordVerifier verifier(int threads, int maxWaiting, long deadlineMs) {
+        return new PasswordVerifier(passwordEncoder, mock(PasswordHashCalibration.class), mock(UserRepository.class),
+                new SimpleMeterRegistry(), threads, maxWaiting, deadlineMs);
+    }
+}
@@ -0,0 +1,86 @@
+package com.scholarspace.userservice.services;
+
+import com.scholarspace.userservice.models.Role;
+import com.scholarspace.userservice.models.User;
+import com.scholarspace.userservice.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the student filter's patterns through the query, checking that LIKE wildcards in
+ * the search text match only themselves.
+ */
+@DataJpaTest(properties = "spring.cloud.config.enabled=false")
+class StudentFilterTests {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        student("Ann Lee", "ann_lee@uni.edu", true);
+        student("Annelise Ward", "annxlee@uni.edu", true);
+        student("Bo 100% Chen", "bo@uni.edu", true);
+        student("Bo 1000 Chen", "bo1000@uni.edu", false);
+        student("Cy Wow!", "cy@uni.edu", true);
+        entityManager.persist(new User("Ann Lee", "ann.staff@uni.edu", "hash", Role.INSTRUCTOR));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void blankSearchMatchesEveryStudent() {
+        assertThat(DashboardService.containsPattern(null)).isNull();
+        assertThat(DashboardService.containsPattern("  ")).isNull();
+        assertThat(names(null, null)).hasSize(5);
+        assertThat(names(null, false)).containsExactly("Bo 1000 Chen");
+    }
+
+    @Test
+    void searchIsCaseInsensitiveOnNameAndEmail() {
+        assertThat(names(" ANN ", null)).containsExactly("Ann Lee", "Annelise Ward");
+        assertThat(names("BO1000@", null)).containsExactly("Bo 1000 Chen");
+    }
+
+    @Test
+    void underscoreMatchesOnlyAnUnderscore() {
+        assertThat(DashboardService.containsPattern("ann_lee")).isEqualTo("%ann!_lee%");
+        assertThat(names("ann_lee", null)).containsExactly("Ann Lee");
+    }
+
+    @Test
+    void percentMatchesOnlyAPercentSign() {
+        assertThat(DashboardService.containsPattern("100%")).isEqualTo("%100!%%");
+        assertThat(names("100%", null)).containsExactly("Bo 100% Chen");
+        assertThat(names("%", true)).containsExactly("Bo 100% Chen");
+    }
+
+    @Test
+    void escapeCharacterIsItselfEscaped() {
+        assertThat(DashboardService.containsPattern("wow!")).isEqualTo("%wow!!%");
+        assertThat(names("wow!", null)).containsExactly("Cy Wow!");
+    }
+
+    private List<String> names(String search, Boolean active) {
+        return userRepository.findByRoleMatching(Role.STUDENT, active, DashboardService.containsPattern(search))
+                .stream()
+                .map(User::getName)
+                .toList();
+    }
+
+    private void student(String name, String email, boolean active) {
+        User user = new User(name, email, "hash", Role.STUDENT);
+        user.setActive(active);
+        entityManager.persist(user);
+    }
+}
@@ -0,0 +1,188 @@
+package com.scholarspace.userservice.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scholarspace.userservice.dto.UserImportResult;
+import com.scholarspace.userservice.dto.UserImportRow;
+import com.scholarspace.userservice.models.Role;
+import com.scholarspace.userservice.repositories.UserBatchRepository;
+import com.scholarspace.userservice.repositories.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserImportServiceTests {
+
+    private static final String HEADER = "name,email,password,role,departmentId,active";
+
+    private final List<UserImportRow> inserted = new ArrayList<>();
+    private final List<String> insertedHashes = new ArrayList<>();
+    private final List<Collection<String>> existenceChecks = new ArrayList<>();
+    private UserBatchRepository userBatchRepository;
+    private UserImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        UserRepository userRepository = mock(UserRepository.class);
+        userBatchRepository = mock(UserBatchRepository.class);
+        PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+        Set<String> existingEmails = Set.of("Taken@Uni.edu");
+
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> "hashed:" + invocation.getArgument(0));
+        when(userRepository.findExistingEmails(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> emails = invocation.getArgument(0);
+            existenceChecks.add(List.copyOf(emails));
+            return existingEmails.stream()
+                    .map(email -> email.toLowerCase(Locale.ROOT))
+                    .filter(emails::contains)
+                    .toList();
+        });
+        when(userRepository.findSummariesByEmailIn(anyCollection())).thenReturn(List.of());
+        doAnswer(invocation -> {
+            inserted.addAll(invocation.getArgument(0));
+            insertedHashes.addAll(invocation.getArgument(1));
+            return null;
+        }).when(userBatchRepository).insertUsers(anyList(), anyList());
+
+        importService = new UserImportService(userRepository, userBatchRepository, mock(UserSearchIndex.class),
+                passwordEncoder, new ObjectMapper(), mock(PlatformTransactionManager.class), 2, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        importService.shutdown();
+    }
+
+    @Test
+    void splitCsvHandlesQuotesAndEmptyFields() {
+        assertThat(UserImportService.splitCsv("a,b,c")).containsExactly("a", "b", "c");
+        assertThat(UserImportService.splitCsv("\"Smith, John\",x")).containsExactly("Smith, John", "x");
+        assertThat(UserImportService.splitCsv("\"say \"\"hi\"\"\",\"\"")).containsExactly("say \"hi\"", "");
+        assertThat(UserImportService.splitCsv(",a,")).containsExactly("", "a", "");
+        assertThat(UserImportService.splitCsv("")).containsExactly("");
+    }
+
+    @Test
+    void csvRowsAreParsedByHeaderNameAcrossChunks() throws IOException {
+        UserImportResult result = importCsv(
+                "Email , NAME,Password,Active,DepartmentId,Role",
+                "ada@uni.edu,Ada Lovelace,pw1,,12,instructor",
+                "alan@uni.edu,\"Turing, Alan\",pw2,false,,",
+                "",
+                "grace@uni.edu,Grace Hopper,pw3");
+
+        assertThat(result.imported()).isEqualTo(3);
+        assertThat(result.errors()).isEmpty();
+        assertThat(inserted).containsExactly(
+                new UserImportRow(2, "Ada Lovelace", "ada@uni.edu", "pw1", Role.INSTRUCTOR, 12L, true),
+                new UserImportRow(3, "Turing, Alan", "alan@uni.edu", "pw2", Role.STUDENT, null, false),
+                new UserImportRow(5, "Grace Hopper", "grace@uni.edu", "pw3", Role.STUDENT, null, true));
+        assertThat(insertedHashes).containsExactly("hashed:pw1", "hashed:pw2", "hashed:pw3");
+    }
+
+    @Test
+    void invalidRowsAreReportedWithTheirLineNumbers() throws IOException {
+        UserImportResult result = importCsv(HEADER,
+                ",nobody@uni.edu,pw,,,",
+                "No Email,not-an-email,pw,,,",
+                "No Password,np@uni.edu,,,,",
+                "Bad Role,br@uni.edu,pw,JANITOR,,",
+                "Bad Department,bd@uni.edu,pw,,abc,",
+                "Valid,valid@uni.edu,pw,,,");
+
+        assertThat(result.imported()).isEqualTo(1);
+        assertThat(result.errors()).extracting(UserImportResult.RowError::line).containsExactly(2, 3, 4, 5, 6);
+        assertThat(result.errors()).extracting(UserImportResult.RowError::error).containsExactly(
+                "Name is required",
+                "A valid email is required",
+                "Password is required",
+                "Invalid role: JANITOR",
+                "Invalid departmentId: abc");
+    }
+
+    @Test
+    void missingRequiredColumnRejectsTheFile() {
+        assertThatThrownBy(() -> importCsv("name,email", "Ada,ada@uni.edu"))
+                .hasMessage("CSV header is missing the password column");
+        assertThatThrownBy(() -> importCsv())
+                .hasMessage("CSV file is empty");
+    }
+
+    @Test
+    void existingAndRepeatedEmailsAreMatchedIgnoringCase() throws IOException {
+        UserImportResult result = importCsv(HEADER,
+                "Someone,taken@UNI.EDU,pw,,,",
+                "First,new@uni.edu,pw,,,",
+                "Second,NEW@uni.edu,pw,,,");
+
+        assertThat(inserted).extracting(UserImportRow::email).containsExactly("new@uni.edu");
+        assertThat(result.errors()).extracting(UserImportResult.RowError::error)
+                .containsExactly("Email is already in use", "Duplicate email in file");
+        assertThat(existenceChecks).allSatisfy(emails ->
+                assertThat(emails).allMatch(email -> email.equals(email.toLowerCase(Locale.ROOT))));
+    }
+
+    @Test
+    void jsonLinesAreParsed() throws IOException {
+        UserImportResult result = importService.importUsers(input(
+                "{\"name\":\"Ada\",\"email\":\"ada@uni.edu\",\"password\":\"pw\",\"departmentId\":7,\"active\":false}",
+                "{\"name\":\"Broken\"",
+                "{\"name\":\"Alan\",\"email\":\"alan@uni.edu\",\"password\":\"pw\",\"role\":\"ADMIN\"}"),
+                UserImportService.Format.JSON_LINES);
+
+        assertThat(inserted).containsExactly(
+                new UserImportRow(1, "Ada", "ada@uni.edu", "pw", Role.STUDENT, 7L, false),
+                new UserImportRow(3, "Alan", "alan@uni.edu", "pw", Role.ADMIN, null, true));
+        assertThat(result.errors()).extracting(UserImportResult.RowError::error).containsExactly("Invalid JSON");
+    }
+
+    @Test
+    void failedBatchIsRetriedRowByRow() throws IOException {
+        doAnswer(invocation -> {
+            List<UserImportRow> rows = invocation.getArgument(0);
+            if (rows.size() > 1 || rows.get(0).email().equals("bad@uni.edu")) {
+                throw new DataIntegrityViolationException("value too long");
+            }
+            inserted.addAll(rows);
+            return null;
+        }).when(userBatchRepository).insertUsers(anyList(), anyList());
+
+        UserImportResult result = importCsv(HEADER, "Good,good@uni.edu,pw,,,", "Bad,bad@uni.edu,pw,,,");
+
+        assertThat(result.imported()).isEqualTo(1);
+        assertThat(inserted).extracting(UserImportRow::email).containsExactly("good@uni.edu");
+        assertThat(result.errors()).singleElement().satisfies(error -> {
+            assertThat(error.line()).isEqualTo(3);
+            assertThat(error.error()).isEqualTo("Could not insert: value too long");
+        });
+    }
+
+    private UserImportResult importCsv(String... lines) throws IOException {
+        return importService.importUsers(input(lines), UserImportService.Format.CSV);
+    }
+
+    private static ByteArrayInputStream input(String... lines) {
+        String text = lines.length == 0 ? "" : String.join("\n", lines) + "\n";
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
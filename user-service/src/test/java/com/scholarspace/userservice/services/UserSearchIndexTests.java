@@ -0,0 +1,161 @@
+package com.scholarspace.userservice.services;
+
+import com.scholarspace.userservice.dto.UserSearchPage;
+import com.scholarspace.userservice.dto.UserSummary;
+import com.scholarspace.userservice.models.Role;
+import com.scholarspace.userservice.repositories.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserSearchIndexTests {
+
+    private UserRepository userRepository;
+    private UserSearchIndex index;
+    private final List<UserSummary> users = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        when(userRepository.findAllSummaries()).thenAnswer(invocation -> new ArrayList<>(users));
+        index = new UserSearchIndex(userRepository, 60);
+
+        users.add(user(1L, "John Smith", "john.smith@uni.edu", Role.STUDENT, true, 10L));
+        users.add(user(2L, "Jon Smythe", "jon.smythe@uni.edu", Role.INSTRUCTOR, true, 20L));
+        users.add(user(3L, "Maria Garcia", "maria.garcia@uni.edu", Role.STUDENT, false, 10L));
+        users.add(user(4L, "Johanna Berg", "johanna.berg@uni.edu", Role.STUDENT, true, null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        index.shutdown();
+    }
+
+    @Test
+    void trigramsArePaddedLikePgTrgm() {
+        assertThat(UserSearchIndex.trigrams("ab")).containsExactlyInAnyOrder(
+                trigram("  a"), trigram(" ab"), trigram("ab "));
+        assertThat(UserSearchIndex.trigrams("a")).containsExactlyInAnyOrder(trigram("  a"), trigram(" a "));
+    }
+
+    @Test
+    void trigramsIgnoreCaseAndPunctuation() {
+        assertThat(UserSearchIndex.trigrams("John.SMITH@Uni.edu"))
+                .isEqualTo(UserSearchIndex.trigrams("john smith uni edu"));
+        assertThat(UserSearchIndex.trigrams("a-b")).containsExactlyInAnyOrder(
+                trigram("  a"), trigram(" a "), trigram("  b"), trigram(" b "));
+        assertThat(UserSearchIndex.trigrams("Élan")).contains(trigram(" él"));
+        assertThat(UserSearchIndex.trigrams(" -- ")).isEmpty();
+        assertThat(UserSearchIndex.trigrams(null)).isEmpty();
+    }
+
+    @Test
+    void closerMatchesRankFirstAndTyposStillMatch() {
+        index.rebuild();
+
+        assertThat(ids(index.search("smith", null, null, null, null, 10))).containsExactly(1L, 2L);
+        assertThat(ids(index.search("smiht", null, null, null, null, 10))).containsExactly(1L, 2L);
+        assertThat(index.search("zzz", null, null, null, null, 10)).isEmpty();
+    }
+
+    @Test
+    void filtersApplyToMatches() {
+        index.rebuild();
+
+        assertThat(ids(index.search("uni", Role.STUDENT, null, null, null, 10))).containsExactly(1L, 3L, 4L);
+        assertThat(ids(index.search("uni", null, true, null, null, 10))).containsExactly(1L, 2L, 4L);
+        assertThat(ids(index.search("uni", null, null, 10L, null, 10))).containsExactly(1L, 3L);
+        assertThat(ids(index.search("uni", Role.STUDENT, true, 10L, null, 10))).containsExactly(1L);
+    }
+
+    @Test
+    void pagingFromEachLastHitVisitsEveryMatchOnce() {
+        index.rebuild();
+        // Scores are 10, 6, 4, 4: ties are ordered by user id
+        List<Long> visited = new ArrayList<>();
+        UserSearchIndex.Hit after = null;
+        List<UserSearchIndex.Hit> page;
+        while (!(page = index.search("smith uni", null, null, null, after, 1)).isEmpty()) {
+            visited.add(page.get(0).userId());
+            after = page.get(0);
+        }
+
+        assertThat(visited).containsExactly(1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    void serviceCursorResumesAfterTheLastReturnedUser() {
+        index.rebuild();
+        UserService userService = new UserService(userRepository, mock(PasswordEncoder.class), index,
+                mock(LastLoginBuffer.class), mock(TokenRevocationService.class));
+
+        UserSearchPage first = userService.searchUsers("smith uni", null, null, null, null, 2);
+        assertThat(first.items()).extracting(UserSummary::userId).containsExactly(1L, 2L);
+        assertThat(first.nextCursor()).isEqualTo("6:2");
+
+        UserSearchPage second = userService.searchUsers("smith uni", null, null, null, first.nextCursor(), 2);
+        assertThat(second.items()).extracting(UserSummary::userId).containsExactly(3L, 4L);
+        assertThat(second.nextCursor()).isNull();
+
+        assertThatThrownBy(() -> userService.searchUsers("smith uni", null, null, null, "6", 2))
+                .hasMessage("Invalid cursor");
+        assertThatThrownBy(() -> userService.searchUsers("smith uni", null, null, null, "x:2", 2))
+                .hasMessage("Invalid cursor");
+    }
+
+    @Test
+    void firstSearchBuildsTheIndex() {
+        assertThat(ids(index.search("maria", null, null, null, null, 10))).containsExactly(3L);
+    }
+
+    @Test
+    void updatesAndRemovalsApplyImmediately() {
+        index.rebuild();
+
+        index.index(user(3L, "Maria Lopez", "maria.lopez@uni.edu", Role.STUDENT, true, 10L));
+        index.remove(4L);
+
+        assertThat(index.search("garcia", null, null, null, null, 10)).isEmpty();
+        assertThat(ids(index.search("lopez", null, true, null, null, 10))).containsExactly(3L);
+        assertThat(index.search("berg", null, null, null, null, 10)).isEmpty();
+    }
+
+    @Test
+    void changesMadeWhileRebuildingAreReplayed() {
+        // The repository is read before these changes commit, so the snapshot misses them
+        when(userRepository.findAllSummaries()).thenAnswer(invocation -> {
+            List<UserSummary> snapshot = new ArrayList<>(users);
+            index.index(user(5L, "Priya Patel", "priya.patel@uni.edu", Role.STUDENT, true, 10L));
+            index.index(user(1L, "John Smith", "john.smith@uni.edu", Role.STUDENT, false, 10L));
+            index.remove(2L);
+            return snapshot;
+        });
+
+        index.rebuild();
+
+        assertThat(ids(index.search("patel", null, null, null, null, 10))).containsExactly(5L);
+        assertThat(ids(index.search("smith", null, true, null, null, 10))).isEmpty();
+        assertThat(ids(index.search("smith", null, false, null, null, 10))).containsExactly(1L);
+    }
+
+    private static List<Long> ids(List<UserSearchIndex.Hit> hits) {
+        return hits.stream().map(UserSearchIndex.Hit::userId).toList();
+    }
+
+    private static long trigram(String chars) {
+        return ((long) chars.charAt(0) << 32) | ((long) chars.charAt(1) << 16) | chars.charAt(2);
+    }
+
+    private static UserSummary user(Long id, String name, String email, Role role, boolean active, Long departmentId) {
+        return new UserSummary(id, name, email, role, active, departmentId);
+    }
+}